@@ -0,0 +1,97 @@
+package com.game.core;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.game.model.*;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+
+/** Configs the benchmarks run over: the shipped config.json and generated large ones. */
+final class BenchmarkConfigs {
+    private static final String CONFIG_PROPERTY = "scratch.config";
+
+    private BenchmarkConfigs() {}
+
+    static GameConfig named(String name) throws IOException {
+        return switch (name) {
+            case "shipped" -> shipped();
+            case "large" -> large(7, 7, 32, 300);
+            default -> throw new IllegalArgumentException("Unknown benchmark config: " + name);
+        };
+    }
+
+    /** The shipped config; override the location with {@code -Dscratch.config=path}. */
+    static GameConfig shipped() throws IOException {
+        var path = Path.of(System.getProperty(CONFIG_PROPERTY, "../config.json"));
+        if (!path.toFile().exists()) {
+            path = Path.of("config.json");
+        }
+        return new ObjectMapper().readValue(path.toFile(), GameConfig.class);
+    }
+
+    /**
+     * A board of {@code rows x columns} with {@code symbolCount} standard symbols, same symbol
+     * combinations for every count, the straight lines and {@code paylines} random left-to-right paylines.
+     */
+    static GameConfig large(int rows, int columns, int symbolCount, int paylines) {
+        var random = new Random(rows * 31L + columns);
+        var symbols = new LinkedHashMap<String, Symbol>();
+        var weights = new LinkedHashMap<String, Integer>();
+        for (int i = 0; i < symbolCount; i++) {
+            var name = "S" + i;
+            symbols.put(name, new Symbol(1.0 + i * 0.25, "standard", null, null));
+            weights.put(name, 1 + random.nextInt(20));
+        }
+        symbols.put("10x", new Symbol(10.0, "bonus", "multiply_reward", null));
+        symbols.put("5x", new Symbol(5.0, "bonus", "multiply_reward", null));
+        symbols.put("+1000", new Symbol(0.0, "bonus", "extra_bonus", 1000.0));
+        symbols.put("MISS", new Symbol(0.0, "bonus", "miss", null));
+
+        var cells = new ArrayList<StandardSymbolProbability>();
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < columns; col++) {
+                cells.add(new StandardSymbolProbability(col, row, weights));
+            }
+        }
+        var bonus = new BonusSymbolProbability(Map.of("10x", 1, "5x", 2, "+1000", 3, "MISS", 5));
+
+        var combinations = new LinkedHashMap<String, WinCombination>();
+        for (int count = 3; count <= rows * columns; count++) {
+            combinations.put("same_symbol_" + count + "_times",
+                    new WinCombination(count / 3.0, "same_symbols", count, "same_symbols", null));
+        }
+
+        var horizontal = new ArrayList<List<String>>();
+        var vertical = new ArrayList<List<String>>();
+        for (int i = 0; i < Math.max(rows, columns); i++) {
+            var across = new ArrayList<String>();
+            var down = new ArrayList<String>();
+            for (int j = 0; j < columns && i < rows; j++) {
+                across.add(i + ":" + j);
+            }
+            for (int j = 0; j < rows && i < columns; j++) {
+                down.add(j + ":" + i);
+            }
+            if (!across.isEmpty()) horizontal.add(across);
+            if (!down.isEmpty()) vertical.add(down);
+        }
+        combinations.put("same_symbols_horizontally",
+                new WinCombination(2, "linear_symbols", null, "horizontally_linear_symbols", horizontal));
+        combinations.put("same_symbols_vertically",
+                new WinCombination(2, "linear_symbols", null, "vertically_linear_symbols", vertical));
+
+        for (int line = 0; line < paylines; line++) {
+            var area = new ArrayList<String>();
+            int row = random.nextInt(rows);
+            for (int col = 0; col < columns; col++) {
+                area.add(row + ":" + col);
+                row = Math.max(0, Math.min(rows - 1, row + random.nextInt(3) - 1));
+            }
+            combinations.put("payline_" + line,
+                    new WinCombination(1.5 + random.nextInt(10), "linear_symbols", null,
+                            "payline_" + line, List.of(area)));
+        }
+
+        return new GameConfig(columns, rows, symbols, new Probabilities(cells, bonus), combinations);
+    }
+}
@@ -0,0 +1,141 @@
+package com.game.core;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.game.io.NdjsonResultWriter;
+import com.game.model.GameResult;
+import org.openjdk.jmh.annotations.*;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the spin hot path. Run with the GC profiler ({@link BenchmarkRunner} enables it)
+ * to get bytes allocated per operation next to ops/s.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GameBenchmark {
+    private static final double BET = 100.0;
+    private static final double[] STAKES = {1.0, 5.0, 20.0, 100.0};
+
+    @Param({"shipped", "large"})
+    public String config;
+
+    private Game game;
+    private SpinEngine engine;
+    private SpinEngine cachedEngine;
+    private SpinEngine vectorEngine;
+    private SpinEngine ringEngine;
+    private SpinRing.Consumer ringConsumer;
+    private SpinListener ringHandler;
+    private double ringRewards;
+    private final double[] stakeRewards = new double[STAKES.length];
+    private FixedPointRewards rewards;
+    private String[][] matrix;
+    private Map<String, List<String>> winningCombinations;
+    private String bonusSymbol;
+    private GameResult result;
+    private ObjectWriter writer;
+    private NdjsonResultWriter ndjson;
+
+    @Setup
+    public void setUp() throws Exception {
+        game = new Game(BenchmarkConfigs.named(config), RandomSource.seeded(42));
+        engine = game.newEngine();
+        // Boards too large to key fall back to the plain engine
+        if (OutcomeCache.supports(game.plan())) {
+            game.outcomeCache(OutcomeCache.DEFAULT_CAPACITY);
+        }
+        cachedEngine = game.newEngine();
+        game.outcomeCache(0);
+        // Scalar unless the fork runs with the vector module, as vectorEngineSpin's does
+        vectorEngine = new SpinEngine(BoardEvaluator.vectorized(game.plan()), RandomSource.seeded(42).generator(),
+                SpinMetrics.NOOP, SpinListener.NONE);
+        var ring = new SpinRing(game.plan(), SpinRing.DEFAULT_CAPACITY, 1);
+        ringEngine = new SpinEngine(game.plan(), RandomSource.seeded(42).generator(), SpinMetrics.NOOP, ring);
+        ringConsumer = ring.consumer(0);
+        ringHandler = (seed, bet, spin) -> ringRewards += spin.reward();
+        rewards = FixedPointRewards.of(game.plan(), 2);
+        result = game.play(BET);
+        matrix = result.matrix();
+        winningCombinations = game.findWinningCombinations(matrix);
+        bonusSymbol = game.findBonusSymbol(matrix);
+        writer = new ObjectMapper().writerFor(GameResult.class);
+        ndjson = new NdjsonResultWriter(OutputStream.nullOutputStream());
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        ndjson.close();
+    }
+
+    @Benchmark
+    public GameResult play() {
+        return game.play(BET);
+    }
+
+    @Benchmark
+    public SpinResult engineSpin() {
+        return engine.spin(BET);
+    }
+
+    @Benchmark
+    public SpinResult cachedEngineSpin() {
+        return cachedEngine.spin(BET);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+    public SpinResult vectorEngineSpin() {
+        return vectorEngine.spin(BET);
+    }
+
+    @Benchmark
+    public double ringHandOff() {
+        ringEngine.spin(BET);
+        ringConsumer.poll(ringHandler);
+        return ringRewards;
+    }
+
+    @Benchmark
+    public double[] stakesSpin() {
+        engine.spin(STAKES, stakeRewards);
+        return stakeRewards;
+    }
+
+    @Benchmark
+    public SpinResult fixedPointSpin() {
+        return engine.spin(100_00L, rewards);
+    }
+
+    @Benchmark
+    public String[][] generateMatrix() {
+        return game.generateMatrix();
+    }
+
+    @Benchmark
+    public Map<String, List<String>> findWinningCombinations() {
+        return game.findWinningCombinations(matrix);
+    }
+
+    @Benchmark
+    public double calculateReward() {
+        return game.calculateReward(BET, winningCombinations, bonusSymbol);
+    }
+
+    @Benchmark
+    public byte[] serializeResult() throws Exception {
+        return writer.writeValueAsBytes(result);
+    }
+
+    @Benchmark
+    public void streamSpinResult() throws Exception {
+        ndjson.write(engine.spin(BET));
+    }
+}
@@ -1,20 +1,76 @@
 package com.game;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.game.model.GameConfig;
+import com.game.audit.AuditLogWriter;
+import com.game.audit.AuditReplay;
+import com.game.audit.ReplayReport;
+import com.game.book.PrizePoolGenerator;
+import com.game.book.TicketBookWriter;
+import com.game.config.ConfigLoader;
+import com.game.config.ConfigRegistry;
+import com.game.config.ConfigSnapshot;
+import com.game.core.CompiledConfig;
+import com.game.io.NdjsonResultWriter;
+import com.game.metrics.GameMetrics;
 import com.game.core.Game;
+import com.game.core.FixedPointRewards;
+import com.game.core.OutcomeCache;
+import com.game.core.RandomSource;
+import com.game.core.SpinEngine;
+import com.game.core.SpinResult;
+import com.game.core.SpinRing;
 import com.game.model.GameResult;
+import com.game.server.SpinServer;
+import com.game.simulation.ExactRtpCalculator;
+import com.game.simulation.ExactRtpReport;
+import com.game.simulation.SimulationReport;
+import com.game.simulation.Simulator;
 
+import java.math.BigDecimal;
 import java.nio.file.Path;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class Main {
+    private static final int MAX_PORT = 65535;
+
     // Make record public for testing
-    public static record CLIConfig(String configPath, double bettingAmount) {}
+    public static record CLIConfig(String configPath, double bettingAmount,
+                                   long simulations, int threads, Long seed, boolean exact,
+                                   String bookPath, long tickets,
+                                   int port, Map<String, String> games, boolean secure, boolean watch,
+                                   boolean metrics,
+                                   long stream, String auditPath, String replayPath,
+                                   int outcomeCache, Integer moneyDecimals, String snapshotPath,
+                                   Map<Double, Long> prizes, boolean nearMisses, boolean vectorized,
+                                   boolean pipeline) {}
 
     public static void main(String[] args) {
         try {
-            run(args);
+            var config = parseArguments(args);
+            if (config.port() > 0) {
+                serve(args);
+            } else if (config.replayPath() != null) {
+                replay(args);
+            } else if (config.snapshotPath() != null) {
+                snapshot(args);
+            } else if (config.bookPath() != null) {
+                writeBook(args);
+            } else if (config.exact()) {
+                exact(args);
+            } else if (config.stream() > 0) {
+                stream(args);
+            } else if (config.simulations() > 0) {
+                simulate(args);
+            } else {
+                run(args);
+            }
         } catch (Exception e) {
             System.err.println("Error: " + e.getMessage());
             e.printStackTrace();
@@ -23,25 +79,252 @@ public class Main {
     }
 
     static GameResult run(String[] args) throws IOException {
+        var config = parseArguments(args);
+        var game = new Game(loadPlan(config.configPath()), RandomSource.secure());
+        GameResult result;
+        try (var audit = openAudit(config, game)) {
+            if (config.moneyDecimals() != null) {
+                var rewards = FixedPointRewards.of(game.plan(), config.moneyDecimals());
+                result = game.newEngine().spin(betMinor(config, rewards), rewards).toGameResult();
+            } else {
+                result = game.play(config.bettingAmount());
+            }
+        }
+
+        var writer = new NdjsonResultWriter(System.out);
+        writer.write(result);
+        writer.flush();
+        return result;
+    }
+
+    static void stream(String[] args) throws IOException {
+        var config = parseArguments(args);
+        var random = config.seed() != null ? RandomSource.seeded(config.seed()) : RandomSource.secure();
+        var game = new Game(loadPlan(config.configPath()), random);
+        game.outcomeCache(config.outcomeCache());
+
+        var rewards = config.moneyDecimals() != null
+                ? FixedPointRewards.of(game.plan(), config.moneyDecimals()) : null;
+        long betMinor = rewards != null ? betMinor(config, rewards) : 0;
+        try (var audit = openAudit(config, game)) {
+            var writer = new NdjsonResultWriter(System.out);
+            if (config.pipeline()) {
+                pipeline(config, game, rewards, betMinor, writer, audit);
+            } else {
+                var engine = game.newEngine();
+                for (long spin = 0; spin < config.stream(); spin++) {
+                    writer.write(spin(config, engine, rewards, betMinor));
+                }
+            }
+            writer.flush();
+        }
+    }
+
+    // Spins on this thread; serializing and auditing run as ring consumers on threads of their own
+    private static void pipeline(CLIConfig config, Game game, FixedPointRewards rewards, long betMinor,
+                                 NdjsonResultWriter writer, AuditLogWriter audit) throws IOException {
+        var ring = new SpinRing(game.plan(), SpinRing.DEFAULT_CAPACITY, audit != null ? 2 : 1);
+        game.listener(ring);
+        var stages = Executors.newFixedThreadPool(ring.consumers());
+        var results = new ArrayList<Future<Long>>();
+        results.add(stages.submit(() -> ring.consumer(0).drain((seed, bet, result) -> {
+            try {
+                writer.write(result);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        })));
+        if (audit != null) {
+            results.add(stages.submit(() -> ring.consumer(1).drain(audit)));
+        }
+        try (ring) {
+            var engine = game.newEngine();
+            for (long spin = 0; spin < config.stream(); spin++) {
+                spin(config, engine, rewards, betMinor);
+            }
+        } finally {
+            stages.shutdown();
+            for (var result : results) {
+                try {
+                    result.get();
+                } catch (ExecutionException e) {
+                    throw e.getCause() instanceof UncheckedIOException io ? io.getCause()
+                            : new IOException("Spin pipeline stage failed", e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted waiting for the spin pipeline", e);
+                }
+            }
+        }
+    }
+
+    private static SpinResult spin(CLIConfig config, SpinEngine engine, FixedPointRewards rewards, long betMinor) {
+        return rewards != null ? engine.spin(betMinor, rewards) : engine.spin(config.bettingAmount());
+    }
+
+    static ReplayReport replay(String[] args) throws IOException {
         var config = parseArguments(args);
         var mapper = new ObjectMapper();
-        var configFile = Path.of(config.configPath()).toFile();
+        var game = new Game(loadPlan(config.configPath()), RandomSource.secure());
+        var report = AuditReplay.verify(Path.of(config.replayPath()), game.plan());
+
+        System.out.println(mapper.writeValueAsString(report));
+        return report;
+    }
+
+    private static long betMinor(CLIConfig config, FixedPointRewards rewards) {
+        return rewards.toMinor(BigDecimal.valueOf(config.bettingAmount()));
+    }
 
-        if (!configFile.exists()) {
-            throw new IllegalArgumentException("Config file not found: " + config.configPath());
+    /** Logs every spin of {@code game} when {@code --audit} was given; closing flushes the log. */
+    private static AuditLogWriter openAudit(CLIConfig config, Game game) throws IOException {
+        if (config.auditPath() == null) {
+            return null;
         }
+        var audit = new AuditLogWriter(Path.of(config.auditPath()), true);
+        game.listener(audit);
+        return audit;
+    }
 
-        var gameConfig = mapper.readValue(configFile, GameConfig.class);
-        var game = new Game(gameConfig);
-        var result = game.play(config.bettingAmount());
+    static SimulationReport simulate(String[] args) throws IOException {
+        var config = parseArguments(args);
+        var mapper = new ObjectMapper();
+        var game = new Game(loadPlan(config.configPath()), RandomSource.secure());
+        var simulator = config.seed() != null
+                ? new Simulator(game.plan(), config.threads(), config.seed())
+                : new Simulator(game.plan(), config.threads());
+        if (config.outcomeCache() > 0) {
+            simulator.outcomeCache(OutcomeCache.of(game.plan(), config.outcomeCache()));
+        }
+        simulator.nearMisses(config.nearMisses());
+        simulator.vectorized(config.vectorized());
+        var report = simulator.report(simulator.run(config.simulations(), config.bettingAmount()));
 
-        System.out.println(mapper.writeValueAsString(result));
-        return result;
+        System.out.println(mapper.writeValueAsString(report));
+        return report;
+    }
+
+    static ExactRtpReport exact(String[] args) throws IOException {
+        var config = parseArguments(args);
+        var mapper = new ObjectMapper();
+        var game = new Game(loadPlan(config.configPath()), RandomSource.secure());
+        var report = new ExactRtpCalculator(game.plan()).calculate(config.bettingAmount());
+
+        System.out.println(mapper.writeValueAsString(report));
+        return report;
+    }
+
+    static void writeBook(String[] args) throws IOException {
+        var config = parseArguments(args);
+        if (!config.prizes().isEmpty()) {
+            writePrizePool(config);
+            return;
+        }
+        var random = config.seed() != null ? RandomSource.seeded(config.seed()) : RandomSource.secure();
+        var game = new Game(loadPlan(config.configPath()), random);
+        game.outcomeCache(config.outcomeCache());
+
+        TicketBookWriter.generate(Path.of(config.bookPath()), game, config.bettingAmount(), config.tickets());
+        System.out.println("Wrote " + config.tickets() + " tickets to " + config.bookPath());
+    }
+
+    private static void writePrizePool(CLIConfig config) throws IOException {
+        var plan = loadPlan(config.configPath());
+        var generator = config.seed() != null
+                ? new PrizePoolGenerator(plan, config.threads(), config.seed())
+                : new PrizePoolGenerator(plan, config.threads());
+        var report = generator.generate(Path.of(config.bookPath()), config.bettingAmount(), config.prizes());
+        System.out.println(new ObjectMapper().writeValueAsString(report));
+    }
+
+    static SpinServer serve(String[] args) throws IOException {
+        var config = parseArguments(args);
+        var paths = new LinkedHashMap<>(config.games());
+        if (config.configPath() != null) {
+            paths.putIfAbsent("default", config.configPath());
+        }
+        var random = config.secure() ? RandomSource.secure() : RandomSource.perThread();
+        var registry = new ConfigRegistry(random);
+        for (var entry : paths.entrySet()) {
+            registry.register(entry.getKey(), Path.of(entry.getValue()));
+        }
+        var games = registry.games();
+        games.values().forEach(game -> game.outcomeCache(config.outcomeCache()));
+        if (config.metrics()) {
+            games.forEach((name, game) -> {
+                var metrics = new GameMetrics();
+                metrics.register(name);
+                game.metrics(metrics);
+            });
+        }
+        if (config.watch()) {
+            registry.watch(new ConfigRegistry.Listener() {
+                @Override
+                public void reloaded(String name, Game game) {
+                    System.out.println("Reloaded " + name);
+                }
+
+                @Override
+                public void rejected(String name, Exception error) {
+                    System.err.println("Kept previous " + name + " config: " + error.getMessage());
+                }
+            });
+        }
+
+        if (config.auditPath() != null) {
+            var audit = new AuditLogWriter(Path.of(config.auditPath()), true);
+            games.values().forEach(game -> game.listener(audit));
+            // Entries still buffered at shutdown are written out before the JVM exits
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    audit.close();
+                } catch (IOException e) {
+                    System.err.println("Error closing audit log: " + e.getMessage());
+                }
+            }));
+        }
+
+        var server = new SpinServer(config.port(), games, config.threads());
+        server.start();
+        System.out.println("Serving " + games.keySet() + " on port " + server.port());
+        return server;
+    }
+
+    static void snapshot(String[] args) throws IOException {
+        var config = parseArguments(args);
+        ConfigSnapshot.write(ConfigLoader.read(Path.of(config.configPath())), Path.of(config.snapshotPath()));
+        System.out.println("Wrote config snapshot to " + config.snapshotPath());
+    }
+
+    // JSON configs and snapshots alike, validated before any game is built
+    private static CompiledConfig loadPlan(String configPath) throws IOException {
+        return ConfigLoader.load(Path.of(configPath));
     }
 
     static CLIConfig parseArguments(String[] args) {
         String configPath = null;
         double bettingAmount = 0;
+        long simulations = 0;
+        int threads = Runtime.getRuntime().availableProcessors();
+        Long seed = null;
+        boolean exact = false;
+        String bookPath = null;
+        long tickets = 0;
+        int port = 0;
+        var games = new LinkedHashMap<String, String>();
+        boolean secure = false;
+        boolean watch = false;
+        boolean metrics = false;
+        long stream = 0;
+        String auditPath = null;
+        String replayPath = null;
+        int outcomeCache = 0;
+        Integer moneyDecimals = null;
+        String snapshotPath = null;
+        var prizes = new LinkedHashMap<Double, Long>();
+        boolean nearMisses = false;
+        boolean vectorized = false;
+        boolean pipeline = false;
 
         for (int i = 0; i < args.length; i++) {
             switch (args[i]) {
@@ -57,16 +340,127 @@ public class Main {
                         }
                     }
                 }
+                case "--simulate" -> {
+                    if (i + 1 < args.length) simulations = parseLong(args[++i], "spin count");
+                }
+                case "--threads" -> {
+                    if (i + 1 < args.length) threads = parseInt(args[++i], "thread count");
+                }
+                case "--exact" -> exact = true;
+                case "--book" -> {
+                    if (i + 1 < args.length) bookPath = args[++i];
+                }
+                case "--serve" -> {
+                    if (i + 1 < args.length) port = parseInt(args[++i], "port");
+                }
+                case "--game" -> {
+                    if (i + 1 < args.length) {
+                        var game = args[++i].split("=", 2);
+                        if (game.length != 2 || game[0].isBlank()) {
+                            throw new IllegalArgumentException("Invalid game, expected name=path: " + args[i]);
+                        }
+                        games.put(game[0], game[1]);
+                    }
+                }
+                case "--secure" -> secure = true;
+                case "--watch" -> watch = true;
+                case "--metrics" -> metrics = true;
+                case "--near-miss" -> nearMisses = true;
+                case "--vector" -> vectorized = true;
+                case "--pipeline" -> pipeline = true;
+                case "--stream" -> {
+                    if (i + 1 < args.length) stream = parseLong(args[++i], "spin count");
+                }
+                case "--audit" -> {
+                    if (i + 1 < args.length) auditPath = args[++i];
+                }
+                case "--replay" -> {
+                    if (i + 1 < args.length) replayPath = args[++i];
+                }
+                case "--outcome-cache" -> {
+                    if (i + 1 < args.length) outcomeCache = parseInt(args[++i], "cache capacity");
+                }
+                case "--money-decimals" -> {
+                    if (i + 1 < args.length) moneyDecimals = parseInt(args[++i], "money decimals");
+                }
+                case "--snapshot" -> {
+                    if (i + 1 < args.length) snapshotPath = args[++i];
+                }
+                case "--prizes" -> {
+                    if (i + 1 < args.length) parsePrizes(args[++i], prizes);
+                }
+                case "--tickets" -> {
+                    if (i + 1 < args.length) tickets = parseLong(args[++i], "ticket count");
+                }
+                case "--seed" -> {
+                    if (i + 1 < args.length) seed = parseLong(args[++i], "seed");
+                }
             }
         }
 
-        if (configPath == null || bettingAmount <= 0) {
+        boolean serving = port > 0 && (configPath != null || !games.isEmpty());
+        boolean playing = configPath != null && bettingAmount > 0;
+        boolean replaying = configPath != null && replayPath != null;
+        boolean snapshotting = configPath != null && snapshotPath != null;
+        if (!(serving || playing || replaying || snapshotting)
+                || port < 0 || port > MAX_PORT || simulations < 0 || stream < 0 || threads <= 0
+                || outcomeCache < 0 || (bookPath != null && tickets <= 0 && prizes.isEmpty())
+                || (bookPath == null && !prizes.isEmpty())) {
             throw new IllegalArgumentException("""
                 Invalid arguments.
-                Usage: java -jar scratch-game.jar --config config.json --betting-amount 100
+                Usage: java -jar scratch-game.jar --config config.json --betting-amount 100 [--money-decimals 2]
+                       java -jar scratch-game.jar --config config.json --betting-amount 1 \\
+                            --simulate 1000000 [--threads 8] [--seed 42] [--outcome-cache 65536] [--near-miss] \\
+                            [--vector]   (built with -Pvector, run with java --add-modules jdk.incubator.vector)
+                       java -jar scratch-game.jar --config config.json --betting-amount 1 --exact
+                       java -jar scratch-game.jar --config config.json --betting-amount 1 \\
+                            --book tickets.book --tickets 10000000 [--seed 42]
+                       java -jar scratch-game.jar --config config.json --betting-amount 1 \\
+                            --book tickets.book --prizes 5=9000000,10=900000,100=99990,10000=10 [--seed 42]
+                       java -jar scratch-game.jar --config config.json --betting-amount 1 \\
+                            --stream 1000000 [--seed 42] [--audit spins.audit] [--pipeline] > results.ndjson
+                       java -jar scratch-game.jar --config config.json --replay spins.audit
+                       java -jar scratch-game.jar --config config.json --snapshot config.snapshot
+                       java -jar scratch-game.jar --serve 8080 [--config config.json] \\
+                            [--game name=config.json ...] [--threads 16] [--secure] [--watch] [--metrics] \\
+                            [--audit spins.audit]
                 """);
         }
 
-        return new CLIConfig(configPath, bettingAmount);
+        return new CLIConfig(configPath, bettingAmount, simulations, threads, seed, exact, bookPath, tickets,
+                port, games, secure, watch, metrics, stream, auditPath, replayPath,
+                outcomeCache, moneyDecimals, snapshotPath, prizes, nearMisses, vectorized, pipeline);
+    }
+
+    // reward=count pairs separated by commas, e.g. 0=900,5=90,100=10
+    private static void parsePrizes(String value, Map<Double, Long> prizes) {
+        for (var tier : value.split(",")) {
+            var parts = tier.split("=", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid prize tier, expected reward=count: " + tier);
+            }
+            try {
+                prizes.merge(Double.parseDouble(parts[0]), parseLong(parts[1], "ticket count"), Long::sum);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid prize reward: " + parts[0]);
+            }
+        }
+    }
+
+    // Rejects values outside the int range instead of letting a cast wrap them
+    private static int parseInt(String value, String name) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value);
+        }
+    }
+
+    private static long parseLong(String value, String name) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value);
+        }
     }
 }
\ No newline at end of file
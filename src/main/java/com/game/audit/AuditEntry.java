@@ -0,0 +1,25 @@
+package com.game.audit;
+
+import com.game.core.SpinResult;
+
+/**
+ * One logged spin; {@code board} and {@code bonusSymbol} hold symbol ids of the plan with {@code fingerprint}.
+ * Spins played in money mode carry their exact {@code betMinor} and {@code rewardMinor} at
+ * {@code moneyDecimals}; for other spins {@code moneyDecimals} is {@link SpinResult#NO_MONEY} and both are 0.
+ */
+public record AuditEntry(
+        long sequence,
+        long fingerprint,
+        long seed,
+        double betAmount,
+        double reward,
+        int moneyDecimals,
+        long betMinor,
+        long rewardMinor,
+        int bonusSymbol,
+        int[] board
+) {
+    public boolean isMoney() {
+        return moneyDecimals != SpinResult.NO_MONEY;
+    }
+}
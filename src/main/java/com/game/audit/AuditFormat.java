@@ -0,0 +1,33 @@
+package com.game.audit;
+
+/**
+ * Binary layout of an audit log, big-endian throughout.
+ *
+ * <pre>
+ * header  magic (int) | version (int)
+ * entry   size (short) | sequence (long) | config fingerprint (long) | seed (long) | bet (double or long)
+ *         | reward (double or long) | money decimals (short) | bonus symbol (short) | cell count (short)
+ *         | cells x symbol id (short)
+ * </pre>
+ *
+ * Spins played in money mode store their bet and reward as exact minor units at the logged money
+ * decimals; other spins store doubles and money decimals of -1. Symbol ids are stored shifted by one
+ * so that NO_SYMBOL encodes as 0. Entries carry their own size
+ * and fingerprint, so one log can span config reloads and board size changes.
+ *
+ * <p>Version 2 logs are replayed with the per-spin seeding of {@code SpinEngine} and rewards priced
+ * once from the base multiplier. Version 1 logs were drawn and priced differently, so their spins
+ * would not reproduce; they are refused rather than reported as tampered.
+ */
+final class AuditFormat {
+    static final int MAGIC = 0x5343414C; // "SCAL"
+    static final int VERSION = 2;
+    static final int HEADER = 8;
+    static final int FIXED_ENTRY = 2 + 8 * 5 + 2 + 2 + 2;
+
+    private AuditFormat() {}
+
+    static int entrySize(int cells) {
+        return FIXED_ENTRY + cells * 2;
+    }
+}
@@ -0,0 +1,90 @@
+package com.game.audit;
+
+import com.game.core.FixedPointRewards;
+import com.game.core.SpinResult;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/** Sequential reader for logs written by {@link AuditLogWriter}. A torn final entry is ignored. */
+public final class AuditLogReader {
+    private AuditLogReader() {}
+
+    public static void forEach(Path path, Consumer<AuditEntry> action) throws IOException {
+        try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16))) {
+            if (in.readInt() != AuditFormat.MAGIC) {
+                throw new IllegalArgumentException("Not an audit log: " + path);
+            }
+            int version = in.readInt();
+            if (version < AuditFormat.VERSION) {
+                throw new IllegalArgumentException("Audit log version " + version
+                        + " predates the current spin seeding and reward pricing and cannot be replayed: " + path);
+            }
+            if (version != AuditFormat.VERSION) {
+                throw new IllegalArgumentException("Unsupported audit log version " + version + ": " + path);
+            }
+            while (true) {
+                var entry = readEntry(in);
+                if (entry == null) {
+                    return;
+                }
+                action.accept(entry);
+            }
+        }
+    }
+
+    public static List<AuditEntry> read(Path path) throws IOException {
+        var entries = new ArrayList<AuditEntry>();
+        forEach(path, entries::add);
+        return entries;
+    }
+
+    /** Last complete entry's sequence (-1 if none) and the length of the log up to its end. */
+    record Tail(long sequence, long length) {}
+
+    static Tail tail(Path path) throws IOException {
+        var tail = new long[]{-1, AuditFormat.HEADER};
+        forEach(path, entry -> {
+            tail[0] = entry.sequence();
+            tail[1] += AuditFormat.entrySize(entry.board().length);
+        });
+        return new Tail(tail[0], tail[1]);
+    }
+
+    private static AuditEntry readEntry(DataInputStream in) throws IOException {
+        try {
+            int size = in.readUnsignedShort();
+            long sequence = in.readLong();
+            long fingerprint = in.readLong();
+            long seed = in.readLong();
+            long bet = in.readLong();
+            long reward = in.readLong();
+            int moneyDecimals = in.readShort();
+            int bonus = in.readShort() - 1;
+            var board = new int[in.readUnsignedShort()];
+            if (size != AuditFormat.entrySize(board.length) || moneyDecimals < SpinResult.NO_MONEY
+                    || moneyDecimals > FixedPointRewards.MAX_DECIMALS) {
+                throw new IllegalArgumentException("Corrupt audit entry " + sequence);
+            }
+            for (int cell = 0; cell < board.length; cell++) {
+                board[cell] = in.readShort() - 1;
+            }
+            if (moneyDecimals == SpinResult.NO_MONEY) {
+                return new AuditEntry(sequence, fingerprint, seed, Double.longBitsToDouble(bet),
+                        Double.longBitsToDouble(reward), moneyDecimals, 0, 0, bonus, board);
+            }
+            return new AuditEntry(sequence, fingerprint, seed, BigDecimal.valueOf(bet, moneyDecimals).doubleValue(),
+                    BigDecimal.valueOf(reward, moneyDecimals).doubleValue(), moneyDecimals, bet, reward, bonus, board);
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.game.audit;
+
+import com.game.core.SpinListener;
+import com.game.core.SpinResult;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * Append-only audit log fed by {@link SpinListener#onSpin}. Spinning threads only copy an entry into
+ * an in-memory buffer; full buffers go to a background thread that writes whatever has queued up in
+ * one call and then, when {@code sync} is set, forces it to disk once for the whole group.
+ *
+ * <p>Buffers are recycled through a small pool, so the spin path allocates nothing. If the disk falls
+ * behind for long enough to use up the pool, spinning threads wait for a buffer rather than drop entries;
+ * they wait outside the lock that orders appends, which is only ever held to copy one entry.
+ * A partially filled buffer is handed off at least every {@value #MAX_DELAY_MILLIS} ms.
+ */
+public class AuditLogWriter implements SpinListener, AutoCloseable {
+    static final int BUFFER_SIZE = 1 << 16;
+    static final int BUFFERS = 16;
+    static final long MAX_DELAY_MILLIS = 10;
+
+    private final FileChannel channel;
+    private final boolean sync;
+    private final BlockingQueue<ByteBuffer> free = new ArrayBlockingQueue<>(BUFFERS);
+    private final BlockingQueue<ByteBuffer> full = new ArrayBlockingQueue<>(BUFFERS);
+    private final Thread writerThread;
+    private ByteBuffer current;
+    private long sequence;
+    private boolean closed;
+    private volatile IOException failure;
+
+    /**
+     * Appends to {@code path}, writing the header when the file is new. A torn entry left by a crash
+     * is cut off first, and sequence numbers continue after the last complete entry.
+     */
+    public AuditLogWriter(Path path, boolean sync) throws IOException {
+        this.channel = FileChannel.open(path, CREATE, WRITE, APPEND);
+        this.sync = sync;
+        if (channel.size() == 0) {
+            channel.write(ByteBuffer.allocate(AuditFormat.HEADER)
+                    .putInt(AuditFormat.MAGIC).putInt(AuditFormat.VERSION).flip());
+        } else {
+            AuditLogReader.Tail tail;
+            try {
+                tail = AuditLogReader.tail(path);
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+            channel.truncate(tail.length());
+            this.sequence = tail.sequence() + 1;
+        }
+        for (int i = 0; i < BUFFERS - 1; i++) {
+            free.add(ByteBuffer.allocate(BUFFER_SIZE));
+        }
+        this.current = ByteBuffer.allocate(BUFFER_SIZE);
+        this.writerThread = new Thread(this::writeLoop, "audit-log-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @Override
+    public void onSpin(long seed, double betAmount, SpinResult result) {
+        int size = AuditFormat.entrySize(result.board().length);
+        while (!tryAppend(seed, betAmount, result, size)) {
+            // The pool is used up: wait for the writer without holding the lock, so other spinning
+            // threads and the writer's own flushes are not stuck behind this one
+            ByteBuffer next;
+            try {
+                next = free.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted waiting for the audit log", e);
+            }
+            synchronized (this) {
+                if (current.remaining() < size) {
+                    full.add(current.flip());
+                    current = next;
+                } else {
+                    // Another thread already swapped in a buffer
+                    free.add(next);
+                }
+            }
+        }
+    }
+
+    // Appends under the lock unless the current buffer is full and no free one is left
+    private synchronized boolean tryAppend(long seed, double betAmount, SpinResult result, int size) {
+        if (closed) {
+            throw new IllegalStateException("Audit log is closed");
+        }
+        if (failure != null) {
+            throw new IllegalStateException("Audit log is failing: " + failure.getMessage(), failure);
+        }
+        if (current.remaining() < size && !handOff()) {
+            return false;
+        }
+        var board = result.board();
+        current.putShort((short) size)
+                .putLong(sequence++)
+                .putLong(result.plan().fingerprint())
+                .putLong(seed);
+        if (result.moneyDecimals() == SpinResult.NO_MONEY) {
+            current.putDouble(betAmount).putDouble(result.reward());
+        } else {
+            current.putLong(result.betMinor()).putLong(result.rewardMinor());
+        }
+        current.putShort((short) result.moneyDecimals())
+                .putShort((short) (result.bonusSymbol() + 1))
+                .putShort((short) board.length);
+        for (var symbol : board) {
+            current.putShort((short) (symbol + 1));
+        }
+        return true;
+    }
+
+    /** Entries appended so far, including those not yet on disk. */
+    public synchronized long sequence() {
+        return sequence;
+    }
+
+    // Caller holds the lock; never waits, and returns false when no free buffer is left
+    private boolean handOff() {
+        var next = free.poll();
+        if (next == null) {
+            return false;
+        }
+        full.add(current.flip());
+        current = next;
+        return true;
+    }
+
+    private void writeLoop() {
+        var batch = new ArrayList<ByteBuffer>(BUFFERS);
+        try {
+            while (true) {
+                var first = full.poll(MAX_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    synchronized (this) {
+                        if (closed) {
+                            return;
+                        }
+                        if (current.position() > 0) {
+                            handOff();
+                        }
+                    }
+                    continue;
+                }
+                // Group commit: everything queued so far goes out in one write and one force
+                batch.add(first);
+                full.drainTo(batch);
+                write(batch);
+                for (var buffer : batch) {
+                    free.add(buffer.clear());
+                }
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void write(List<ByteBuffer> batch) {
+        try {
+            var buffers = batch.toArray(ByteBuffer[]::new);
+            while (buffers[buffers.length - 1].hasRemaining()) {
+                channel.write(buffers);
+            }
+            if (sync) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            failure = e;
+        }
+    }
+
+    /** Writes out every entry appended so far, then closes the file. */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (current.position() > 0) {
+                full.add(current.flip());
+            }
+        }
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        var remaining = new ArrayList<ByteBuffer>();
+        full.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            write(remaining);
+        }
+        channel.force(false);
+        channel.close();
+        if (failure != null) {
+            throw new IOException("Audit log write failed", failure);
+        }
+    }
+}
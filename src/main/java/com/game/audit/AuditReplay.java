@@ -0,0 +1,71 @@
+package com.game.audit;
+
+import com.game.core.CompiledConfig;
+import com.game.core.FixedPointRewards;
+import com.game.core.SpinEngine;
+import com.game.core.SpinResult;
+import com.game.core.SplitMix64;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/** Re-runs logged spins from their seeds and checks them against what was recorded. */
+public final class AuditReplay {
+    private AuditReplay() {}
+
+    /** Replays one entry on {@code plan}, which must be the config the entry was logged under. */
+    public static SpinResult replay(CompiledConfig plan, AuditEntry entry) {
+        if (plan.fingerprint() != entry.fingerprint()) {
+            throw new IllegalArgumentException("Entry " + entry.sequence() + " was logged under another config");
+        }
+        var engine = new SpinEngine(plan, new SplitMix64(0));
+        return entry.isMoney()
+                ? engine.replay(entry.seed(), entry.betMinor(), FixedPointRewards.of(plan, entry.moneyDecimals()))
+                : engine.replay(entry.seed(), entry.betAmount());
+    }
+
+    /** Compares rewards in minor units for money-mode entries and bit for bit otherwise. */
+    public static boolean matches(SpinResult result, AuditEntry entry) {
+        return Arrays.equals(result.board(), entry.board())
+                && result.bonusSymbol() == entry.bonusSymbol()
+                && result.moneyDecimals() == entry.moneyDecimals()
+                && (entry.isMoney()
+                        ? result.rewardMinor() == entry.rewardMinor()
+                        : Double.compare(result.reward(), entry.reward()) == 0);
+    }
+
+    /** Replays every entry of {@code log} that was written under {@code plan}. */
+    public static ReplayReport verify(Path log, CompiledConfig plan) throws IOException {
+        long fingerprint = plan.fingerprint();
+        var engine = new SpinEngine(plan, new SplitMix64(0));
+        // Built on first use, one per money scale found in the log
+        var rewards = new FixedPointRewards[FixedPointRewards.MAX_DECIMALS + 1];
+        var counts = new long[3];
+        var mismatches = new ArrayList<Long>();
+        AuditLogReader.forEach(log, entry -> {
+            counts[0]++;
+            if (entry.fingerprint() != fingerprint) {
+                counts[2]++;
+                return;
+            }
+            SpinResult result;
+            if (entry.isMoney()) {
+                int decimals = entry.moneyDecimals();
+                if (rewards[decimals] == null) {
+                    rewards[decimals] = FixedPointRewards.of(plan, decimals);
+                }
+                result = engine.replay(entry.seed(), entry.betMinor(), rewards[decimals]);
+            } else {
+                result = engine.replay(entry.seed(), entry.betAmount());
+            }
+            if (matches(result, entry)) {
+                counts[1]++;
+            } else {
+                mismatches.add(entry.sequence());
+            }
+        });
+        return new ReplayReport(counts[0], counts[1], counts[2], mismatches);
+    }
+}
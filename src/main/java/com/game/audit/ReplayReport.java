@@ -0,0 +1,20 @@
+package com.game.audit;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+
+public record ReplayReport(
+        long entries,
+        long verified,
+
+        // Entries logged under a different config than the one replayed
+        long skipped,
+
+        // Sequence numbers whose replayed board or reward differ from the log
+        List<Long> mismatches
+) {
+    @JsonProperty("all_verified")
+    public boolean allVerified() {
+        return mismatches.isEmpty() && skipped == 0;
+    }
+}
@@ -0,0 +1,167 @@
+package com.game.book;
+
+import com.game.core.*;
+import com.game.simulation.TierSampler;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGenerator.SplittableGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+/**
+ * Builds a ticket book with an exact number of tickets per reward tier, as a print run of a scratch-card
+ * series requires.
+ *
+ * <p>Tickets are drawn straight from the game's outcome classes by a {@link TierSampler}: every ticket is
+ * a real board evaluated by the normal rules, exactly as likely within its tier as in play, and a tier the
+ * game never pays is rejected before the book is created. Each tier's quota is split evenly across worker
+ * threads, which draw at most {@link TierSampler#CHUNK} tickets at a time. Where each ticket lands in the
+ * book comes from one Fisher–Yates shuffle of an {@code int} index, done before the workers start, so
+ * tickets stream straight into their final slots and the book needs no second pass. Apart from that index
+ * the memory a pool needs does not grow with its size. A seeded generator writes the same book for the
+ * same tiers and thread count.
+ */
+public class PrizePoolGenerator {
+    private final CompiledConfig plan;
+    private final int threads;
+    private final SplittableGenerator root;
+
+    public PrizePoolGenerator(CompiledConfig plan, int threads) {
+        this(plan, threads, (SplittableGenerator) RandomGeneratorFactory.of(RandomSource.DEFAULT_ALGORITHM).create());
+    }
+
+    public PrizePoolGenerator(CompiledConfig plan, int threads, long seed) {
+        this(plan, threads,
+                (SplittableGenerator) RandomGeneratorFactory.of(RandomSource.DEFAULT_ALGORITHM).create(seed));
+    }
+
+    private PrizePoolGenerator(CompiledConfig plan, int threads, SplittableGenerator root) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Thread count must be positive");
+        }
+        this.plan = plan;
+        this.threads = threads;
+        this.root = root;
+    }
+
+    /**
+     * Writes a book at {@code path} holding exactly {@code tiers.get(reward)} tickets of each reward. A
+     * ticket pays a tier when its reward is within {@link TierSampler#TOLERANCE} of the tier's amount.
+     *
+     * @throws IllegalArgumentException if the game never pays one of the tiers, or the config is too
+     *                                  large to enumerate by outcome class; no book is written then
+     */
+    public PrizePoolReport generate(Path path, double betAmount, Map<Double, Long> tiers) throws IOException {
+        if (betAmount <= 0) {
+            throw new IllegalArgumentException("Bet amount must be positive");
+        }
+        var rewards = new double[tiers.size()];
+        var counts = new long[tiers.size()];
+        long tickets = 0;
+        int tier = 0;
+        for (var entry : new TreeMap<>(tiers).entrySet()) {
+            if (entry.getValue() == null || entry.getValue() < 0) {
+                throw new IllegalArgumentException("Tier " + entry.getKey() + " needs a non-negative count");
+            }
+            rewards[tier] = entry.getKey();
+            counts[tier++] = entry.getValue();
+            tickets += entry.getValue();
+        }
+        if (tickets <= 0 || tickets > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Pool size must be between 1 and " + (Integer.MAX_VALUE - 8));
+        }
+
+        var sampler = new TierSampler(plan, betAmount, rewards);
+        var unreachable = new StringJoiner(", ");
+        var probabilities = new TreeMap<Double, Double>();
+        for (tier = 0; tier < rewards.length; tier++) {
+            probabilities.put(rewards[tier], sampler.probability(tier));
+            if (counts[tier] > 0 && sampler.probability(tier) == 0) {
+                unreachable.add(Double.toString(rewards[tier]));
+            }
+        }
+        if (unreachable.length() > 0) {
+            throw new IllegalArgumentException("The game never pays tiers " + unreachable + " at a bet of "
+                    + betAmount);
+        }
+
+        // Slot i of the unshuffled pool holds tier t when starts[t] <= i < starts[t + 1]
+        var positions = shuffledIndex((int) tickets, root.split());
+        int workers = (int) Math.min(threads, tickets);
+        var quotas = new long[workers][rewards.length];
+        var starts = new long[workers][rewards.length];
+        long start = 0;
+        for (tier = 0; tier < rewards.length; tier++) {
+            for (int worker = 0; worker < workers; worker++) {
+                quotas[worker][tier] = counts[tier] / workers + (worker < counts[tier] % workers ? 1 : 0);
+                starts[worker][tier] = start;
+                start += quotas[worker][tier];
+            }
+        }
+
+        try (var writer = new TicketBookWriter(path, plan, betAmount, tickets)) {
+            var tasks = new ArrayList<Callable<Void>>(workers);
+            for (int worker = 0; worker < workers; worker++) {
+                // Streams are split up front, in order, so a seeded run does not depend on scheduling
+                var random = root.split();
+                var quota = quotas[worker];
+                var next = starts[worker];
+                tasks.add(() -> {
+                    sampler.sample(quota, random, (drawn, result) ->
+                            writer.write(positions[(int) next[drawn]++], result));
+                    return null;
+                });
+            }
+            run(tasks, workers);
+        } catch (IOException | RuntimeException e) {
+            // A book missing tickets must not be mistaken for a finished print run
+            Files.deleteIfExists(path);
+            throw e;
+        }
+
+        double totalReward = 0;
+        for (tier = 0; tier < rewards.length; tier++) {
+            totalReward += rewards[tier] * counts[tier];
+        }
+        return new PrizePoolReport(tickets, betAmount, totalReward, totalReward / (betAmount * tickets),
+                new TreeMap<>(tiers), probabilities);
+    }
+
+    private static void run(List<Callable<Void>> tasks, int workers) {
+        var executor = Executors.newFixedThreadPool(workers);
+        try {
+            for (var future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Pool generation interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Pool generation failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /** Fisher–Yates over {@code 0..size-1}: a uniformly random book slot for every pool slot. */
+    static int[] shuffledIndex(int size, RandomGenerator random) {
+        var index = new int[size];
+        for (int i = 0; i < size; i++) {
+            index[i] = i;
+        }
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = index[i];
+            index[i] = index[j];
+            index[j] = swap;
+        }
+        return index;
+    }
+}
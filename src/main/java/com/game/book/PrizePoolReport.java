@@ -0,0 +1,22 @@
+package com.game.book;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.Map;
+
+public record PrizePoolReport(
+        long tickets,
+
+        @JsonProperty("bet_amount")
+        double betAmount,
+
+        @JsonProperty("total_reward")
+        double totalReward,
+
+        double rtp,
+
+        Map<Double, Long> tiers,
+
+        // Chance that one spin of the game pays each tier
+        @JsonProperty("tier_probabilities")
+        Map<Double, Double> tierProbabilities
+) {}
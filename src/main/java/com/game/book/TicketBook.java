@@ -0,0 +1,184 @@
+package com.game.book;
+
+import com.game.model.GameResult;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Read-only, memory-mapped view of a ticket book written by {@link TicketBookWriter}.
+ * Opening only maps the file and reads the header; every accessor reads ticket {@code i} straight
+ * from the mapping, and the book carries its own symbol and combination names.
+ */
+public class TicketBook implements AutoCloseable {
+    private final FileChannel channel;
+    private final TicketLayout layout;
+    private final long tickets;
+    private final double betAmount;
+    private final String[] symbolNames;
+    private final String[] combinationNames;
+    private final MappedByteBuffer[] chunks;
+    private final long ticketsPerChunk;
+
+    private TicketBook(FileChannel channel) throws IOException {
+        this.channel = channel;
+        var fixed = read(0, TicketLayout.FIXED_HEADER);
+        if (fixed.getInt() != TicketLayout.MAGIC) {
+            throw new IOException("Not a ticket book");
+        }
+        int version = fixed.getInt();
+        if (version != TicketLayout.VERSION) {
+            throw new IOException("Unsupported ticket book version: " + version);
+        }
+        int rows = fixed.getInt();
+        int columns = fixed.getInt();
+        int symbolWidth = fixed.getInt();
+        int maxWins = fixed.getInt();
+        int recordSize = fixed.getInt();
+        this.tickets = fixed.getLong();
+        this.betAmount = fixed.getDouble();
+        int dataOffset = fixed.getInt();
+        this.layout = new TicketLayout(rows, columns, symbolWidth, maxWins);
+        if (layout.recordSize != recordSize) {
+            throw new IOException("Corrupt ticket book header");
+        }
+
+        var names = read(TicketLayout.FIXED_HEADER, dataOffset - TicketLayout.FIXED_HEADER);
+        this.symbolNames = readNames(names);
+        this.combinationNames = readNames(names);
+
+        this.ticketsPerChunk = Math.max(1, TicketBookWriter.CHUNK_BYTES / recordSize);
+        int chunkCount = (int) ((tickets + ticketsPerChunk - 1) / ticketsPerChunk);
+        if (channel.size() < dataOffset + tickets * recordSize) {
+            throw new IOException("Ticket book is truncated");
+        }
+        this.chunks = new MappedByteBuffer[chunkCount];
+        for (int i = 0; i < chunkCount; i++) {
+            long first = i * ticketsPerChunk;
+            long size = Math.min(ticketsPerChunk, tickets - first) * recordSize;
+            chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, dataOffset + first * recordSize, size);
+            chunks[i].order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+
+    public static TicketBook open(Path path) throws IOException {
+        var channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new TicketBook(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private ByteBuffer read(long position, int size) throws IOException {
+        var buffer = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Ticket book is truncated");
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static String[] readNames(ByteBuffer buffer) {
+        var names = new String[buffer.getInt()];
+        for (int i = 0; i < names.length; i++) {
+            var bytes = new byte[buffer.getShort()];
+            buffer.get(bytes);
+            names[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return names;
+    }
+
+    public long size() {
+        return tickets;
+    }
+
+    public double betAmount() {
+        return betAmount;
+    }
+
+    public int rows() {
+        return layout.rows;
+    }
+
+    public int columns() {
+        return layout.columns;
+    }
+
+    public double reward(long ticket) {
+        return chunk(ticket).getDouble(base(ticket) + TicketLayout.REWARD);
+    }
+
+    /** Bonus symbol id of the ticket, or -1. */
+    public int bonusSymbol(long ticket) {
+        return chunk(ticket).getShort(base(ticket) + TicketLayout.BONUS) - 1;
+    }
+
+    /** Symbol id at {@code cell} ({@code row * columns + column}), or -1. */
+    public int symbolAt(long ticket, int cell) {
+        int at = base(ticket) + layout.cellsOffset();
+        return layout.symbolWidth == 1
+                ? (chunk(ticket).get(at + cell) & 0xFF) - 1
+                : (chunk(ticket).getShort(at + cell * 2) & 0xFFFF) - 1;
+    }
+
+    public int winCount(long ticket) {
+        return chunk(ticket).getShort(base(ticket) + TicketLayout.WIN_COUNT);
+    }
+
+    public int winSymbol(long ticket, int win) {
+        return chunk(ticket).getShort(base(ticket) + TicketLayout.WINS + win * 4);
+    }
+
+    public int winCombination(long ticket, int win) {
+        return chunk(ticket).getShort(base(ticket) + TicketLayout.WINS + win * 4 + 2);
+    }
+
+    public String symbolName(int symbol) {
+        return symbol < 0 ? null : symbolNames[symbol];
+    }
+
+    public String combinationName(int combination) {
+        return combinationNames[combination];
+    }
+
+    public GameResult toGameResult(long ticket) {
+        var matrix = new String[layout.rows][layout.columns];
+        for (int row = 0; row < layout.rows; row++) {
+            for (int col = 0; col < layout.columns; col++) {
+                matrix[row][col] = symbolName(symbolAt(ticket, row * layout.columns + col));
+            }
+        }
+        var winningCombinations = new HashMap<String, List<String>>();
+        for (int win = 0; win < winCount(ticket); win++) {
+            winningCombinations.computeIfAbsent(symbolName(winSymbol(ticket, win)), s -> new ArrayList<>())
+                    .add(combinationName(winCombination(ticket, win)));
+        }
+        return new GameResult(matrix, reward(ticket), winningCombinations, symbolName(bonusSymbol(ticket)));
+    }
+
+    private MappedByteBuffer chunk(long ticket) {
+        if (ticket < 0 || ticket >= tickets) {
+            throw new IndexOutOfBoundsException("Ticket " + ticket + " outside book of " + tickets);
+        }
+        return chunks[(int) (ticket / ticketsPerChunk)];
+    }
+
+    private int base(long ticket) {
+        return (int) (ticket % ticketsPerChunk) * layout.recordSize;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
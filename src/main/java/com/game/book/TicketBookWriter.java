@@ -0,0 +1,154 @@
+package com.game.book;
+
+import com.game.core.CompiledConfig;
+import com.game.core.Game;
+import com.game.core.SpinEngine;
+import com.game.core.SpinResult;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes a fixed-size ticket book through memory-mapped regions of the file. The file is sized up
+ * front; {@link #write(long, SpinResult)} encodes a spin into its slot, so distinct tickets may be
+ * written from different threads.
+ */
+public class TicketBookWriter implements AutoCloseable {
+    static final long CHUNK_BYTES = 1L << 30;
+
+    private final CompiledConfig plan;
+    private final TicketLayout layout;
+    private final long tickets;
+    private final FileChannel channel;
+    private final MappedByteBuffer[] chunks;
+    private final long ticketsPerChunk;
+
+    public TicketBookWriter(Path path, CompiledConfig plan, double betAmount, long tickets) throws IOException {
+        if (tickets < 0) {
+            throw new IllegalArgumentException("Ticket count must not be negative");
+        }
+        this.plan = plan;
+        this.layout = TicketLayout.of(plan);
+        this.tickets = tickets;
+
+        var header = header(betAmount);
+        long dataOffset = header.remaining();
+        this.ticketsPerChunk = Math.max(1, CHUNK_BYTES / layout.recordSize);
+
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            channel.write(header, 0);
+            int chunkCount = (int) ((tickets + ticketsPerChunk - 1) / ticketsPerChunk);
+            this.chunks = new MappedByteBuffer[chunkCount];
+            for (int i = 0; i < chunkCount; i++) {
+                long first = i * ticketsPerChunk;
+                long size = Math.min(ticketsPerChunk, tickets - first) * layout.recordSize;
+                chunks[i] = channel.map(FileChannel.MapMode.READ_WRITE, dataOffset + first * layout.recordSize, size);
+                chunks[i].order(ByteOrder.LITTLE_ENDIAN);
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /** Plays {@code tickets} spins of {@code game} into a new book at {@code path}. */
+    public static void generate(Path path, Game game, double betAmount, long tickets) throws IOException {
+        var engine = game.newEngine();
+        try (var writer = new TicketBookWriter(path, game.plan(), betAmount, tickets)) {
+            for (long ticket = 0; ticket < tickets; ticket++) {
+                writer.write(ticket, engine.spin(betAmount));
+            }
+        }
+    }
+
+    public long tickets() {
+        return tickets;
+    }
+
+    public void write(long ticket, SpinResult result) {
+        if (ticket < 0 || ticket >= tickets) {
+            throw new IndexOutOfBoundsException("Ticket " + ticket + " outside book of " + tickets);
+        }
+        if (result.plan() != plan) {
+            throw new IllegalArgumentException("Result was played on a different config");
+        }
+        var buffer = chunks[(int) (ticket / ticketsPerChunk)];
+        int base = (int) (ticket % ticketsPerChunk) * layout.recordSize;
+
+        buffer.putDouble(base + TicketLayout.REWARD, result.reward());
+        buffer.putShort(base + TicketLayout.BONUS, (short) (result.bonusSymbol() + 1));
+
+        int wins = 0;
+        for (int symbol = 0; symbol < plan.standardSymbolCount(); symbol++) {
+            for (int slot = 0; slot < result.slots(); slot++) {
+                int combination = result.combination(symbol, slot);
+                if (combination != SpinResult.NO_COMBINATION) {
+                    int at = base + TicketLayout.WINS + wins++ * 4;
+                    buffer.putShort(at, (short) symbol);
+                    buffer.putShort(at + 2, (short) combination);
+                }
+            }
+        }
+        buffer.putShort(base + TicketLayout.WIN_COUNT, (short) wins);
+
+        int cells = base + layout.cellsOffset();
+        var board = result.board();
+        for (int cell = 0; cell < board.length; cell++) {
+            if (layout.symbolWidth == 1) {
+                buffer.put(cells + cell, (byte) (board[cell] + 1));
+            } else {
+                buffer.putShort(cells + cell * 2, (short) (board[cell] + 1));
+            }
+        }
+    }
+
+    private ByteBuffer header(double betAmount) {
+        var names = new byte[plan.symbolCount() + plan.combinationCount()][];
+        int namesSize = 8;
+        for (int i = 0; i < names.length; i++) {
+            var name = i < plan.symbolCount()
+                    ? plan.symbolName(i)
+                    : plan.combinationName(i - plan.symbolCount());
+            names[i] = name.getBytes(StandardCharsets.UTF_8);
+            namesSize += 2 + names[i].length;
+        }
+        int dataOffset = (TicketLayout.FIXED_HEADER + namesSize + 63) & ~63;
+
+        var header = ByteBuffer.allocate(dataOffset).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(TicketLayout.MAGIC)
+                .putInt(TicketLayout.VERSION)
+                .putInt(layout.rows)
+                .putInt(layout.columns)
+                .putInt(layout.symbolWidth)
+                .putInt(layout.maxWins)
+                .putInt(layout.recordSize)
+                .putLong(tickets)
+                .putDouble(betAmount)
+                .putInt(dataOffset);
+        header.putInt(plan.symbolCount());
+        for (int i = 0; i < plan.symbolCount(); i++) {
+            header.putShort((short) names[i].length).put(names[i]);
+        }
+        header.putInt(plan.combinationCount());
+        for (int i = plan.symbolCount(); i < names.length; i++) {
+            header.putShort((short) names[i].length).put(names[i]);
+        }
+        return header.position(0);
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (var chunk : chunks) {
+            chunk.force();
+        }
+        channel.close();
+    }
+}
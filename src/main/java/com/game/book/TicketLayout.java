@@ -0,0 +1,58 @@
+package com.game.book;
+
+import com.game.core.CompiledConfig;
+
+/**
+ * Fixed-width record layout of a ticket book.
+ *
+ * <pre>
+ * header  magic, version, rows, columns, symbol width, max wins, record size, ticket count, bet,
+ *         data offset, then the symbol and combination names (UTF-8)
+ * record  reward (double) | bonus symbol (short) | win count (short)
+ *         | max wins x (symbol short, combination short) | cells x symbol id (byte or short)
+ *         padded to 8 bytes
+ * </pre>
+ *
+ * Records start at a 64-byte aligned data offset, so ticket {@code i} lives at
+ * {@code dataOffset + i * recordSize}.
+ */
+final class TicketLayout {
+    static final int MAGIC = 0x53435442; // "SCTB"
+    static final int VERSION = 1;
+    static final int FIXED_HEADER = 4 * 7 + 8 + 8 + 4;
+
+    static final int REWARD = 0;
+    static final int BONUS = 8;
+    static final int WIN_COUNT = 10;
+    static final int WINS = 12;
+
+    final int rows;
+    final int columns;
+    final int symbolWidth;
+    final int maxWins;
+    final int recordSize;
+
+    TicketLayout(int rows, int columns, int symbolWidth, int maxWins) {
+        this.rows = rows;
+        this.columns = columns;
+        this.symbolWidth = symbolWidth;
+        this.maxWins = maxWins;
+        int size = WINS + maxWins * 4 + rows * columns * symbolWidth;
+        this.recordSize = (size + 7) & ~7;
+    }
+
+    static TicketLayout of(CompiledConfig plan) {
+        // Symbol ids are stored shifted by one so that NO_SYMBOL encodes as 0
+        int symbolWidth = plan.symbolCount() < 0xFF ? 1 : 2;
+        int maxWins = plan.standardSymbolCount() * plan.groupCount();
+        return new TicketLayout(plan.rows(), plan.columns(), symbolWidth, maxWins);
+    }
+
+    int cells() {
+        return rows * columns;
+    }
+
+    int cellsOffset() {
+        return WINS + maxWins * 4;
+    }
+}
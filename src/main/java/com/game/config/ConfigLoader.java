@@ -0,0 +1,295 @@
+package com.game.config;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.game.core.CompiledConfig;
+import com.game.core.PlanInterner;
+import com.game.model.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Loads game configs without reflective databinding: JSON is read in one streaming pass that checks
+ * field names and value types as it goes, and {@link ConfigSnapshot binary snapshots} are recognised
+ * by their header. Every problem surfaces as an {@link IllegalArgumentException} naming the offending
+ * field and, for JSON, its line and column.
+ */
+public final class ConfigLoader {
+    private static final JsonFactory JSON = JsonFactory.builder().build();
+
+    private ConfigLoader() {}
+
+    /** Reads, validates and compiles the JSON config or snapshot at {@code path}. */
+    public static CompiledConfig load(Path path) throws IOException {
+        return load(path, new PlanInterner());
+    }
+
+    /** As {@link #load(Path)}, sharing compiled state with other plans of {@code interner}. */
+    public static CompiledConfig load(Path path, PlanInterner interner) throws IOException {
+        return ConfigValidator.compile(read(path), interner);
+    }
+
+    /** Reads the JSON config or snapshot at {@code path} without validating its contents. */
+    public static GameConfig read(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            throw new IllegalArgumentException("Config file not found: " + path);
+        }
+        var bytes = Files.readAllBytes(path);
+        return ConfigSnapshot.isSnapshot(bytes) ? ConfigSnapshot.decode(bytes) : parse(bytes);
+    }
+
+    /** Parses a JSON config, rejecting unknown fields and values of the wrong type. */
+    public static GameConfig parse(byte[] json) throws IOException {
+        try (var parser = JSON.createParser(json)) {
+            var reader = new Reader(parser);
+            try {
+                return reader.config();
+            } catch (JsonParseException e) {
+                throw reader.error(e.getOriginalMessage());
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Value<T> {
+        T read() throws IOException;
+    }
+
+    private static final class Reader {
+        private final JsonParser parser;
+        // Field names and [index] steps leading to the current value, for error messages
+        private final Deque<String> path = new ArrayDeque<>();
+
+        Reader(JsonParser parser) {
+            this.parser = parser;
+        }
+
+        GameConfig config() throws IOException {
+            parser.nextToken();
+            if (!startObject()) {
+                throw error("expected an object");
+            }
+            int columns = 0;
+            int rows = 0;
+            Map<String, Symbol> symbols = null;
+            Probabilities probabilities = null;
+            Map<String, WinCombination> winCombinations = null;
+            for (String field; (field = nextField()) != null; path.removeLast()) {
+                switch (field) {
+                    case "columns" -> columns = intValue();
+                    case "rows" -> rows = intValue();
+                    case "symbols" -> symbols = map(this::symbol);
+                    case "probabilities" -> probabilities = probabilities();
+                    case "win_combinations" -> winCombinations = map(this::winCombination);
+                    default -> throw unknownField();
+                }
+            }
+            if (parser.nextToken() != null) {
+                throw error("unexpected content after the config");
+            }
+            return new GameConfig(columns, rows, symbols, probabilities, winCombinations);
+        }
+
+        private Symbol symbol() throws IOException {
+            if (!startObject()) {
+                return null;
+            }
+            double rewardMultiplier = 0;
+            String type = null;
+            String impact = null;
+            Double extra = null;
+            for (String field; (field = nextField()) != null; path.removeLast()) {
+                switch (field) {
+                    case "reward_multiplier" -> rewardMultiplier = doubleValue();
+                    case "type" -> type = string();
+                    case "impact" -> impact = string();
+                    case "extra" -> extra = optionalDouble();
+                    default -> throw unknownField();
+                }
+            }
+            return new Symbol(rewardMultiplier, type, impact, extra);
+        }
+
+        private Probabilities probabilities() throws IOException {
+            if (!startObject()) {
+                return null;
+            }
+            List<StandardSymbolProbability> standardSymbols = null;
+            BonusSymbolProbability bonusSymbols = null;
+            for (String field; (field = nextField()) != null; path.removeLast()) {
+                switch (field) {
+                    case "standard_symbols" -> standardSymbols = list(this::cell);
+                    case "bonus_symbols" -> bonusSymbols = bonusSymbols();
+                    default -> throw unknownField();
+                }
+            }
+            return new Probabilities(standardSymbols, bonusSymbols);
+        }
+
+        private StandardSymbolProbability cell() throws IOException {
+            if (!startObject()) {
+                return null;
+            }
+            int column = 0;
+            int row = 0;
+            Map<String, Integer> symbols = null;
+            for (String field; (field = nextField()) != null; path.removeLast()) {
+                switch (field) {
+                    case "column" -> column = intValue();
+                    case "row" -> row = intValue();
+                    case "symbols" -> symbols = map(this::optionalInt);
+                    default -> throw unknownField();
+                }
+            }
+            return new StandardSymbolProbability(column, row, symbols);
+        }
+
+        private BonusSymbolProbability bonusSymbols() throws IOException {
+            if (!startObject()) {
+                return null;
+            }
+            Map<String, Integer> symbols = null;
+            for (String field; (field = nextField()) != null; path.removeLast()) {
+                if (!field.equals("symbols")) {
+                    throw unknownField();
+                }
+                symbols = map(this::optionalInt);
+            }
+            return new BonusSymbolProbability(symbols);
+        }
+
+        private WinCombination winCombination() throws IOException {
+            if (!startObject()) {
+                return null;
+            }
+            double rewardMultiplier = 0;
+            String when = null;
+            Integer count = null;
+            String group = null;
+            List<List<String>> coveredAreas = null;
+            for (String field; (field = nextField()) != null; path.removeLast()) {
+                switch (field) {
+                    case "reward_multiplier" -> rewardMultiplier = doubleValue();
+                    case "when" -> when = string();
+                    case "count" -> count = optionalInt();
+                    case "group" -> group = string();
+                    case "covered_areas" -> coveredAreas = list(() -> list(this::string));
+                    default -> throw unknownField();
+                }
+            }
+            return new WinCombination(rewardMultiplier, when, count, group, coveredAreas);
+        }
+
+        // Current token opens an object (true) or is null (false)
+        private boolean startObject() throws IOException {
+            var token = parser.currentToken();
+            if (token == JsonToken.VALUE_NULL) {
+                return false;
+            }
+            if (token != JsonToken.START_OBJECT) {
+                throw error("expected an object");
+            }
+            return true;
+        }
+
+        // Advances to the next field's value and returns its name, or null at the end of the object
+        private String nextField() throws IOException {
+            if (parser.nextToken() == JsonToken.END_OBJECT) {
+                return null;
+            }
+            var name = parser.currentName();
+            path.addLast(name);
+            parser.nextToken();
+            return name;
+        }
+
+        private <T> Map<String, T> map(Value<T> value) throws IOException {
+            if (!startObject()) {
+                return null;
+            }
+            var map = new LinkedHashMap<String, T>();
+            for (String key; (key = nextField()) != null; path.removeLast()) {
+                map.put(key, value.read());
+            }
+            return map;
+        }
+
+        private <T> List<T> list(Value<T> value) throws IOException {
+            var token = parser.currentToken();
+            if (token == JsonToken.VALUE_NULL) {
+                return null;
+            }
+            if (token != JsonToken.START_ARRAY) {
+                throw error("expected an array");
+            }
+            var list = new ArrayList<T>();
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                path.addLast("[" + list.size() + "]");
+                list.add(value.read());
+                path.removeLast();
+            }
+            return list;
+        }
+
+        private String string() throws IOException {
+            return switch (parser.currentToken()) {
+                case VALUE_NULL -> null;
+                case VALUE_STRING -> parser.getText();
+                default -> throw error("expected a string");
+            };
+        }
+
+        private int intValue() throws IOException {
+            var value = optionalInt();
+            return value != null ? value : 0;
+        }
+
+        private Integer optionalInt() throws IOException {
+            return switch (parser.currentToken()) {
+                case VALUE_NULL -> null;
+                case VALUE_NUMBER_INT -> {
+                    if (parser.getNumberType() != JsonParser.NumberType.INT) {
+                        throw error("integer out of range");
+                    }
+                    yield parser.getIntValue();
+                }
+                default -> throw error("expected an integer");
+            };
+        }
+
+        private double doubleValue() throws IOException {
+            var value = optionalDouble();
+            return value != null ? value : 0;
+        }
+
+        private Double optionalDouble() throws IOException {
+            return switch (parser.currentToken()) {
+                case VALUE_NULL -> null;
+                case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> parser.getDoubleValue();
+                default -> throw error("expected a number");
+            };
+        }
+
+        private IllegalArgumentException unknownField() {
+            return error("unknown field");
+        }
+
+        IllegalArgumentException error(String message) {
+            var where = new StringBuilder();
+            for (var step : path) {
+                if (!where.isEmpty() && !step.startsWith("[")) {
+                    where.append('.');
+                }
+                where.append(step);
+            }
+            var location = parser.currentTokenLocation();
+            return new IllegalArgumentException("Invalid config" + (where.isEmpty() ? "" : " at " + where)
+                    + " (line " + location.getLineNr() + ", column " + location.getColumnNr() + "): " + message);
+        }
+    }
+}
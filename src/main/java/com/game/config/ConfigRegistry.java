@@ -0,0 +1,160 @@
+package com.game.config;
+
+import com.game.core.Game;
+import com.game.core.PlanInterner;
+import com.game.core.RandomSource;
+import com.game.model.GameConfig;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+/**
+ * Named games backed by config files that can be reloaded without a restart.
+ *
+ * <p>A reload parses, validates and compiles the file on the caller's (or watcher's) thread and then
+ * publishes the result through {@link Game#reload}, a single volatile write. Spins never wait on a
+ * reload, and a file that fails validation is rejected while the previous version keeps serving.
+ *
+ * <p>All games compile through one {@link PlanInterner}, so variants of the same game (different
+ * weights or multipliers over the same symbols and areas) share their dictionaries, area tables and
+ * identical samplers; each extra variant costs only the state that actually differs.
+ */
+public class ConfigRegistry implements AutoCloseable {
+
+    /** Notified from the watcher thread after each reload attempt. */
+    public interface Listener {
+        default void reloaded(String name, Game game) {}
+
+        default void rejected(String name, Exception error) {}
+    }
+
+    private record Entry(Path path, Game game) {}
+
+    private final RandomSource randomSource;
+    private final PlanInterner interner = new PlanInterner();
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Game> games = Collections.synchronizedMap(new LinkedHashMap<>());
+    private WatchService watcher;
+    private Thread watchThread;
+
+    public ConfigRegistry(RandomSource randomSource) {
+        this.randomSource = Objects.requireNonNull(randomSource, "randomSource");
+    }
+
+    /** Loads and validates {@code path} as game {@code name}. */
+    public Game register(String name, Path path) throws IOException {
+        var file = path.toAbsolutePath().normalize();
+        return add(name, file, load(file));
+    }
+
+    /** Registers an in-memory config as game {@code name}; it has no file, so it is never reloaded. */
+    public Game register(String name, GameConfig config) {
+        return add(name, null, config);
+    }
+
+    private Game add(String name, Path file, GameConfig config) {
+        var game = new Game(ConfigValidator.compile(config, interner), randomSource);
+        if (entries.putIfAbsent(name, new Entry(file, game)) != null) {
+            throw new IllegalArgumentException("Game already registered: " + name);
+        }
+        games.put(name, game);
+        return game;
+    }
+
+    /** Registered games in registration order; each keeps its identity across reloads. */
+    public Map<String, Game> games() {
+        synchronized (games) {
+            return Collections.unmodifiableMap(new LinkedHashMap<>(games));
+        }
+    }
+
+    /** Re-reads the file behind {@code name} and swaps it in, or throws and keeps the current version. */
+    public Game reload(String name) throws IOException {
+        var entry = entries.get(name);
+        if (entry == null) {
+            throw new IllegalArgumentException("Unknown game: " + name);
+        }
+        if (entry.path() == null) {
+            throw new IllegalArgumentException("Game " + name + " was not registered from a file");
+        }
+        entry.game().reload(ConfigValidator.compile(load(entry.path()), interner));
+        return entry.game();
+    }
+
+    /** The interner shared by every game of this registry. */
+    public PlanInterner interner() {
+        return interner;
+    }
+
+    /** Starts a daemon thread reloading games whenever their files change. */
+    public synchronized void watch(Listener listener) throws IOException {
+        if (watcher != null) {
+            throw new IllegalStateException("Already watching");
+        }
+        watcher = FileSystems.getDefault().newWatchService();
+        var directories = new HashSet<Path>();
+        for (var entry : entries.values()) {
+            if (entry.path() != null && directories.add(entry.path().getParent())) {
+                entry.path().getParent().register(watcher, ENTRY_CREATE, ENTRY_MODIFY);
+            }
+        }
+        var service = watcher;
+        watchThread = new Thread(() -> watchLoop(service, listener), "config-watcher");
+        watchThread.setDaemon(true);
+        watchThread.start();
+    }
+
+    private void watchLoop(WatchService service, Listener listener) {
+        try {
+            while (true) {
+                var key = service.take();
+                var directory = (Path) key.watchable();
+                // Editors often emit several events per save; reload each touched game once per batch
+                var changed = new LinkedHashSet<String>();
+                for (var event : key.pollEvents()) {
+                    if (event.kind() == OVERFLOW) {
+                        entries.forEach((name, entry) -> {
+                            if (entry.path() != null) {
+                                changed.add(name);
+                            }
+                        });
+                        continue;
+                    }
+                    var file = directory.resolve((Path) event.context());
+                    entries.forEach((name, entry) -> {
+                        if (file.equals(entry.path())) {
+                            changed.add(name);
+                        }
+                    });
+                }
+                key.reset();
+                for (var name : changed) {
+                    try {
+                        listener.reloaded(name, reload(name));
+                    } catch (IOException | RuntimeException e) {
+                        listener.rejected(name, e);
+                    }
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Closed by close()
+        }
+    }
+
+    private GameConfig load(Path path) throws IOException {
+        return ConfigLoader.read(path);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (watcher != null) {
+            watcher.close();
+            watchThread.interrupt();
+            watcher = null;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.game.config;
+
+import com.game.model.*;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.zip.CRC32;
+
+/**
+ * Compact binary form of a validated {@link GameConfig}. Loading one is a single read and a linear
+ * decode, with no JSON parsing or reflection, which is what dominates cold starts of short-lived runs.
+ *
+ * <p>Layout: {@code "SCCF"}, format version, payload length and CRC-32, then the payload in
+ * {@link DataOutput} encoding. Maps keep their iteration order, so the compiled plan is identical to
+ * the one built from the JSON. Snapshots hold the config rather than the compiled tables; compiling is
+ * cheap and keeps a single path from config to plan.
+ */
+public final class ConfigSnapshot {
+    static final int MAGIC = 0x53434346; // "SCCF"
+    static final int VERSION = 1;
+    static final int HEADER = 16;
+
+    private ConfigSnapshot() {}
+
+    /** Validates {@code config} and writes it to {@code path}, replacing any previous snapshot atomically. */
+    public static void write(GameConfig config, Path path) throws IOException {
+        ConfigValidator.compile(config);
+        var bytes = encode(config);
+        var temp = Files.createTempFile(path.toAbsolutePath().getParent(), path.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, bytes);
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    static boolean isSnapshot(byte[] bytes) {
+        return bytes.length >= Integer.BYTES && ByteBuffer.wrap(bytes).getInt() == MAGIC;
+    }
+
+    static byte[] encode(GameConfig config) throws IOException {
+        var payload = new ByteArrayOutputStream();
+        var out = new DataOutputStream(payload);
+        out.writeInt(config.columns());
+        out.writeInt(config.rows());
+        writeMap(out, config.symbols(), ConfigSnapshot::writeSymbol);
+        var probabilities = config.probabilities();
+        out.writeBoolean(probabilities != null);
+        if (probabilities != null) {
+            writeList(out, probabilities.standardSymbols(), (o, cell) -> {
+                o.writeInt(cell.column());
+                o.writeInt(cell.row());
+                writeMap(o, cell.symbols(), DataOutput::writeInt);
+            });
+            var bonus = probabilities.bonusSymbols();
+            out.writeBoolean(bonus != null);
+            if (bonus != null) {
+                writeMap(out, bonus.symbols(), DataOutput::writeInt);
+            }
+        }
+        writeMap(out, config.winCombinations(), ConfigSnapshot::writeCombination);
+        out.flush();
+
+        var body = payload.toByteArray();
+        var crc = new CRC32();
+        crc.update(body);
+        return ByteBuffer.allocate(HEADER + body.length)
+                .putInt(MAGIC).putInt(VERSION).putInt(body.length).putInt((int) crc.getValue())
+                .put(body)
+                .array();
+    }
+
+    static GameConfig decode(byte[] bytes) throws IOException {
+        var buffer = ByteBuffer.wrap(bytes);
+        if (bytes.length < HEADER || buffer.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Not a config snapshot");
+        }
+        int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported config snapshot version " + version);
+        }
+        int length = buffer.getInt();
+        int checksum = buffer.getInt();
+        if (length != bytes.length - HEADER) {
+            throw new IllegalArgumentException("Truncated config snapshot");
+        }
+        var crc = new CRC32();
+        crc.update(bytes, HEADER, length);
+        if ((int) crc.getValue() != checksum) {
+            throw new IllegalArgumentException("Corrupt config snapshot: checksum mismatch");
+        }
+
+        var in = new DataInputStream(new ByteArrayInputStream(bytes, HEADER, length));
+        try {
+            int columns = in.readInt();
+            int rows = in.readInt();
+            var symbols = readMap(in, ConfigSnapshot::readSymbol);
+            Probabilities probabilities = null;
+            if (in.readBoolean()) {
+                var standard = readList(in, i -> new StandardSymbolProbability(i.readInt(), i.readInt(),
+                        readMap(i, DataInput::readInt)));
+                var bonus = in.readBoolean()
+                        ? new BonusSymbolProbability(readMap(in, DataInput::readInt)) : null;
+                probabilities = new Probabilities(standard, bonus);
+            }
+            var winCombinations = readMap(in, ConfigSnapshot::readCombination);
+            return new GameConfig(columns, rows, symbols, probabilities, winCombinations);
+        } catch (EOFException e) {
+            throw new IllegalArgumentException("Truncated config snapshot");
+        }
+    }
+
+    @FunctionalInterface
+    private interface Writer<T> {
+        void write(DataOutput out, T value) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface Reader<T> {
+        T read(DataInput in) throws IOException;
+    }
+
+    private static void writeSymbol(DataOutput out, Symbol symbol) throws IOException {
+        out.writeDouble(symbol.rewardMultiplier());
+        writeString(out, symbol.type());
+        writeString(out, symbol.impact());
+        out.writeBoolean(symbol.extra() != null);
+        if (symbol.extra() != null) {
+            out.writeDouble(symbol.extra());
+        }
+    }
+
+    private static Symbol readSymbol(DataInput in) throws IOException {
+        return new Symbol(in.readDouble(), readString(in), readString(in), in.readBoolean() ? in.readDouble() : null);
+    }
+
+    private static void writeCombination(DataOutput out, WinCombination combination) throws IOException {
+        out.writeDouble(combination.rewardMultiplier());
+        writeString(out, combination.when());
+        writeInteger(out, combination.count());
+        writeString(out, combination.group());
+        writeList(out, combination.coveredAreas(), (o, area) -> writeList(o, area, ConfigSnapshot::writeString));
+    }
+
+    private static WinCombination readCombination(DataInput in) throws IOException {
+        return new WinCombination(in.readDouble(), readString(in), readInteger(in), readString(in),
+                readList(in, i -> readList(i, ConfigSnapshot::readString)));
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeInteger(DataOutput out, Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeInt(value);
+        }
+    }
+
+    private static Integer readInteger(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readInt() : null;
+    }
+
+    // Size -1 stands for a null map or list, so absent and empty sections stay distinct
+    private static <T> void writeMap(DataOutput out, Map<String, T> map, Writer<T> values) throws IOException {
+        out.writeInt(map != null ? map.size() : -1);
+        if (map != null) {
+            for (var entry : map.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeBoolean(entry.getValue() != null);
+                if (entry.getValue() != null) {
+                    values.write(out, entry.getValue());
+                }
+            }
+        }
+    }
+
+    private static <T> Map<String, T> readMap(DataInput in, Reader<T> values) throws IOException {
+        int size = in.readInt();
+        if (size < 0) {
+            return null;
+        }
+        var map = new LinkedHashMap<String, T>();
+        for (int i = 0; i < size; i++) {
+            var key = in.readUTF();
+            map.put(key, in.readBoolean() ? values.read(in) : null);
+        }
+        return map;
+    }
+
+    private static <T> void writeList(DataOutput out, List<T> list, Writer<T> values) throws IOException {
+        out.writeInt(list != null ? list.size() : -1);
+        if (list != null) {
+            for (var value : list) {
+                out.writeBoolean(value != null);
+                if (value != null) {
+                    values.write(out, value);
+                }
+            }
+        }
+    }
+
+    private static <T> List<T> readList(DataInput in, Reader<T> values) throws IOException {
+        int size = in.readInt();
+        if (size < 0) {
+            return null;
+        }
+        var list = new ArrayList<T>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(in.readBoolean() ? values.read(in) : null);
+        }
+        return list;
+    }
+}
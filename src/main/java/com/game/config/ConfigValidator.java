@@ -0,0 +1,145 @@
+package com.game.config;
+
+import com.game.core.CompiledConfig;
+import com.game.core.PlanInterner;
+import com.game.model.*;
+import java.util.*;
+
+/**
+ * Checks a {@link GameConfig} before it replaces a live one. {@link CompiledConfig} is lenient and
+ * silently drops what it cannot use; a reload should instead be rejected so the old version keeps serving.
+ */
+public final class ConfigValidator {
+    private static final Set<String> TYPES = Set.of("standard", "bonus");
+    private static final Set<String> IMPACTS = Set.of("multiply_reward", "extra_bonus", "miss");
+    private static final Set<String> RULES = Set.of("same_symbols", "linear_symbols");
+
+    private ConfigValidator() {}
+
+    /**
+     * Compiles {@code config}, throwing {@link IllegalArgumentException} listing every problem found.
+     * The config is validated first, so a malformed one is never handed to the compiler.
+     */
+    public static CompiledConfig compile(GameConfig config) {
+        return compile(config, new PlanInterner());
+    }
+
+    /** As {@link #compile(GameConfig)}, sharing compiled state with other plans of {@code interner}. */
+    public static CompiledConfig compile(GameConfig config, PlanInterner interner) {
+        var problems = validate(config, CompiledConfig.rowsOf(config), CompiledConfig.columnsOf(config));
+        if (!problems.isEmpty()) {
+            throw new IllegalArgumentException("Invalid config: " + String.join("; ", problems));
+        }
+        return CompiledConfig.compile(config, interner);
+    }
+
+    /** Problems found in {@code config} for a board of the given size; empty when it is valid. */
+    public static List<String> validate(GameConfig config, int rows, int columns) {
+        var problems = new ArrayList<String>();
+        var symbols = config.symbols() != null ? config.symbols() : Map.<String, Symbol>of();
+        if (symbols.isEmpty()) {
+            problems.add("no symbols defined");
+        }
+        for (var entry : new TreeMap<>(symbols).entrySet()) {
+            var symbol = entry.getValue();
+            if (symbol == null) {
+                problems.add("symbol " + entry.getKey() + " is empty");
+            } else if (!isOneOf(TYPES, symbol.type())) {
+                problems.add("symbol " + entry.getKey() + " has unknown type " + symbol.type());
+            } else if ("bonus".equals(symbol.type()) && !isOneOf(IMPACTS, symbol.impact())) {
+                problems.add("bonus symbol " + entry.getKey() + " has unknown impact " + symbol.impact());
+            }
+        }
+
+        var probabilities = config.probabilities();
+        if (probabilities == null || probabilities.standardSymbols() == null
+                || probabilities.standardSymbols().isEmpty()) {
+            problems.add("no standard symbol probabilities");
+        } else {
+            for (var cell : probabilities.standardSymbols()) {
+                if (cell == null) {
+                    problems.add("standard symbol probabilities hold an empty cell");
+                    continue;
+                }
+                var where = "cell " + cell.row() + ":" + cell.column();
+                if (cell.row() < 0 || cell.column() < 0 || cell.row() >= rows || cell.column() >= columns) {
+                    problems.add(where + " is outside the " + rows + "x" + columns + " board");
+                }
+                checkWeights(problems, where, cell.symbols(), symbols, "standard");
+            }
+        }
+        if (probabilities != null && probabilities.bonusSymbols() != null) {
+            checkWeights(problems, "bonus symbols", probabilities.bonusSymbols().symbols(), symbols, "bonus");
+        }
+
+        var combinations = config.winCombinations() != null
+                ? new TreeMap<>(config.winCombinations()) : new TreeMap<String, WinCombination>();
+        for (var entry : combinations.entrySet()) {
+            var name = entry.getKey();
+            var combination = entry.getValue();
+            if (combination == null) {
+                problems.add("combination " + name + " is empty");
+            } else if (!isOneOf(RULES, combination.when())) {
+                problems.add("combination " + name + " has unknown rule " + combination.when());
+            } else if ("same_symbols".equals(combination.when())) {
+                if (combination.count() == null || combination.count() <= 0 || combination.count() > rows * columns) {
+                    problems.add("combination " + name + " needs a count between 1 and " + rows * columns);
+                }
+            } else if (combination.coveredAreas() == null || combination.coveredAreas().isEmpty()) {
+                problems.add("combination " + name + " has no covered areas");
+            } else {
+                for (var area : combination.coveredAreas()) {
+                    if (area == null || area.isEmpty()) {
+                        problems.add("combination " + name + " has an empty covered area");
+                        continue;
+                    }
+                    for (var cell : area) {
+                        if (!isInside(cell, rows, columns)) {
+                            problems.add("combination " + name + " covers " + cell + " outside the board");
+                        }
+                    }
+                }
+            }
+        }
+        return problems;
+    }
+
+    private static void checkWeights(List<String> problems, String where, Map<String, Integer> weights,
+                                     Map<String, Symbol> symbols, String type) {
+        if (weights == null || weights.isEmpty()) {
+            problems.add(where + " has no weights");
+            return;
+        }
+        for (var entry : new TreeMap<>(weights).entrySet()) {
+            var symbol = symbols.get(entry.getKey());
+            if (symbol == null || !type.equals(symbol.type())) {
+                problems.add(where + " references unknown " + type + " symbol " + entry.getKey());
+            }
+            if (entry.getValue() == null || entry.getValue() <= 0) {
+                problems.add(where + " has non-positive weight for " + entry.getKey());
+            }
+        }
+    }
+
+    // Set.of rejects contains(null), and a missing type or rule is a problem to report, not a crash
+    private static boolean isOneOf(Set<String> allowed, String value) {
+        return value != null && allowed.contains(value);
+    }
+
+    private static boolean isInside(String cell, int rows, int columns) {
+        if (cell == null) {
+            return false;
+        }
+        var coords = cell.split(":");
+        if (coords.length != 2) {
+            return false;
+        }
+        try {
+            int row = Integer.parseInt(coords[0].trim());
+            int column = Integer.parseInt(coords[1].trim());
+            return row >= 0 && column >= 0 && row < rows && column < columns;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.game.core;
+
+/**
+ * Counting pass of a {@link BoardEvaluator}: symbol counts, occupancy masks and the first bonus symbol
+ * of one board. The scalar loop lives in the evaluator itself; this is the seam for faster backends.
+ */
+interface BoardCounter {
+
+    /**
+     * Adds the board at {@code boards[offset, offset + cellCount)} into the cleared {@code counts} and
+     * {@code masks}, and returns its first bonus symbol in cell order, or {@link CompiledConfig#NO_SYMBOL}.
+     */
+    int count(int[] boards, int offset, int[] counts, long[] masks);
+
+    /**
+     * Vector API counter for {@code plan}, or null when {@code jdk.incubator.vector} is not loaded, the
+     * backend was not built (it is compiled only with {@code -Pvector}) or the preferred species has more
+     * than 32 {@code int} lanes.
+     */
+    static BoardCounter vector(CompiledConfig plan) {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return null;
+        }
+        // Loaded by name so that nothing touches the incubator classes when the module is absent
+        try {
+            var type = Class.forName("com.game.core.VectorBoardCounter");
+            // Species wider than 32 int lanes would overflow the counter's lane bits
+            if (!(boolean) type.getDeclaredMethod("supported").invoke(null)) {
+                return null;
+            }
+            return (BoardCounter) type.getDeclaredConstructor(CompiledConfig.class).newInstance(plan);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+}
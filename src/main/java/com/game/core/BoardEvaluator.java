@@ -0,0 +1,212 @@
+package com.game.core;
+
+import java.util.Arrays;
+
+/**
+ * Evaluates a board held in a {@link SpinResult} against a {@link CompiledConfig}.
+ * Works only on primitive arrays owned by the result, so evaluation does not allocate.
+ * Cell occupancy is collected into one bitmask per standard symbol, and a covered area
+ * matches when all of its bits are set in the symbol's mask. Each symbol gets the best
+ * combination of every group: a table lookup for count groups, otherwise the first match
+ * in the group's descending-multiplier order. With an {@link OutcomeCache}, boards seen before
+ * skip resolution and copy their combinations from the cache. A {@link #vectorized} evaluator does
+ * the counting pass with the Vector API instead of one cell at a time; results are identical.
+ *
+ * <p>Evaluation also sums the bet-independent {@link SpinResult#baseMultiplier() base multiplier};
+ * {@link #reward} then prices the board at any stake with one multiplication and the bonus effect.
+ */
+public final class BoardEvaluator {
+    private final CompiledConfig plan;
+    private final OutcomeCache cache;
+    // Null for the scalar counting loop
+    private final BoardCounter counter;
+
+    public BoardEvaluator(CompiledConfig plan) {
+        this(plan, null);
+    }
+
+    /** Evaluator backed by {@code cache}; a null cache, or one built for another plan, is ignored. */
+    public BoardEvaluator(CompiledConfig plan, OutcomeCache cache) {
+        this(plan, cache != null && cache.plan() == plan ? cache : null, null);
+    }
+
+    private BoardEvaluator(CompiledConfig plan, OutcomeCache cache, BoardCounter counter) {
+        this.plan = plan;
+        this.cache = cache;
+        this.counter = counter;
+    }
+
+    /**
+     * Evaluator counting with the Vector API when the JVM runs with {@code --add-modules
+     * jdk.incubator.vector}, otherwise a plain scalar one.
+     */
+    public static BoardEvaluator vectorized(CompiledConfig plan) {
+        return new BoardEvaluator(plan, null, BoardCounter.vector(plan));
+    }
+
+    public CompiledConfig plan() {
+        return plan;
+    }
+
+    /** Outcome cache this evaluator consults, or null when it evaluates every board. */
+    OutcomeCache cache() {
+        return cache;
+    }
+
+    public boolean isVectorized() {
+        return counter != null;
+    }
+
+    /** Fills symbol counts, applied combinations, base multiplier and bonus symbol of {@code result}. */
+    public void evaluate(SpinResult result) {
+        evaluate(result, result.board, 0);
+    }
+
+    /**
+     * Evaluates the board stored at {@code boards[offset, offset + cellCount)} into {@code result}'s
+     * counts, masks, combinations, base multiplier and bonus symbol; {@code result}'s own board is left
+     * untouched.
+     */
+    public void evaluate(SpinResult result, int[] boards, int offset) {
+        var counts = result.counts;
+        var masks = result.masks;
+        var combinations = result.combinations;
+        int words = plan.maskWords();
+
+        Arrays.fill(counts, 0);
+        Arrays.fill(masks, 0L);
+        int bonusSymbol = CompiledConfig.NO_SYMBOL;
+        long key = 0;
+        if (counter != null) {
+            bonusSymbol = counter.count(boards, offset, counts, masks);
+        } else {
+            int cells = plan.cellCount();
+            int radix = cache != null ? cache.radix() : 0;
+            for (int cell = 0; cell < cells; cell++) {
+                int symbol = boards[offset + cell];
+                if (plan.isStandard(symbol)) {
+                    counts[symbol]++;
+                    masks[symbol * words + (cell >>> 6)] |= 1L << cell;
+                    key = key * radix + symbol + 1;
+                } else {
+                    key *= radix;
+                    if (bonusSymbol == CompiledConfig.NO_SYMBOL && plan.isBonus(symbol)) {
+                        bonusSymbol = symbol;
+                    }
+                }
+            }
+        }
+        result.bonusSymbol = bonusSymbol;
+
+        if (cache != null) {
+            var cached = cache.get(key);
+            if (cached != null) {
+                System.arraycopy(cached.combinations(), 0, combinations, 0, combinations.length);
+                result.baseMultiplier = cached.baseMultiplier();
+                return;
+            }
+        }
+
+        int groups = plan.groupCount();
+        for (int symbol = 0; symbol < counts.length; symbol++) {
+            int base = symbol * groups;
+            int count = counts[symbol];
+            for (int group = 0; group < groups; group++) {
+                combinations[base + group] = count == 0
+                        ? SpinResult.NO_COMBINATION
+                        : resolve(group, count, masks, symbol * words, words);
+            }
+        }
+        result.baseMultiplier = baseMultiplier(result);
+        if (cache != null) {
+            cache.put(key, combinations, result.baseMultiplier);
+        }
+    }
+
+    /** Computes and stores the reward for an evaluated result. */
+    public double calculateReward(SpinResult result, double betAmount) {
+        result.moneyDecimals = SpinResult.NO_MONEY;
+        result.reward = reward(result, betAmount);
+        return result.reward;
+    }
+
+    /**
+     * Reward of an evaluated result at {@code betAmount}, without storing it: the base multiplier
+     * scaled by the bet, then the bonus effect. Pricing another stake needs no re-evaluation.
+     */
+    public double reward(SpinResult result, double betAmount) {
+        double totalReward = betAmount * result.baseMultiplier;
+        int bonus = result.bonusSymbol;
+        if (bonus != CompiledConfig.NO_SYMBOL && totalReward > 0) {
+            switch (plan.impact(bonus)) {
+                case CompiledConfig.IMPACT_MULTIPLY -> totalReward *= plan.rewardMultiplier(bonus);
+                case CompiledConfig.IMPACT_EXTRA -> totalReward += plan.extra(bonus);
+                default -> {} // MISS has no effect
+            }
+        }
+        return totalReward;
+    }
+
+    private double baseMultiplier(SpinResult result) {
+        double base = 0;
+        for (int symbol = 0; symbol < result.counts.length; symbol++) {
+            if (!result.hasWin(symbol)) {
+                continue;
+            }
+            double symbolMultiplier = plan.rewardMultiplier(symbol);
+            for (int slot = 0; slot < result.slots; slot++) {
+                int combination = result.combination(symbol, slot);
+                if (combination != SpinResult.NO_COMBINATION) {
+                    symbolMultiplier *= plan.combinationMultiplier(combination);
+                }
+            }
+            base += symbolMultiplier;
+        }
+        return base;
+    }
+
+    private int resolve(int group, int count, long[] masks, int offset, int words) {
+        if (plan.isCountGroup(group)) {
+            return plan.bestSameSymbolCombination(group, count);
+        }
+        // Combinations are pre-sorted by multiplier, so the first match is the best of the group
+        for (var combination : plan.groupCombinations(group)) {
+            boolean matches;
+            if (plan.combinationRule(combination) == CompiledConfig.SAME_SYMBOLS) {
+                matches = count >= plan.requiredCount(combination);
+            } else {
+                var areas = plan.coveredAreaMasks(combination);
+                matches = words == 1 ? isCovered(masks[offset], areas) : isCovered(masks, offset, areas);
+            }
+            if (matches) {
+                return combination;
+            }
+        }
+        return SpinResult.NO_COMBINATION;
+    }
+
+    private static boolean isCovered(long mask, long[][] areas) {
+        for (var area : areas) {
+            if ((mask & area[0]) == area[0]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isCovered(long[] masks, int offset, long[][] areas) {
+        for (var area : areas) {
+            boolean covered = true;
+            for (int word = 0; word < area.length; word++) {
+                if ((masks[offset + word] & area[word]) != area[word]) {
+                    covered = false;
+                    break;
+                }
+            }
+            if (covered) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,182 @@
+package com.game.core;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.game.model.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Canonical JSON of a {@link GameConfig}, written field by field with the streaming generator: properties
+ * in alphabetical order of their JSON names, map entries ordered by key, nulls written out. These are the
+ * bytes a data-binding mapper sorting properties and map entries would produce, without loading data
+ * binding on every compile.
+ */
+final class CanonicalConfig {
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private CanonicalConfig() {}
+
+    /** First 8 bytes of SHA-256 over the canonical JSON of {@code config}. */
+    static long fingerprint(GameConfig config) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256");
+            try (var out = new DigestOutputStream(OutputStream.nullOutputStream(), digest)) {
+                write(config, out);
+            }
+            return ByteBuffer.wrap(digest.digest()).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Cannot fingerprint config", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot fingerprint config", e);
+        }
+    }
+
+    static void write(GameConfig config, OutputStream out) throws IOException {
+        try (var generator = JSON.createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeNumberField("columns", config.columns());
+            generator.writeFieldName("probabilities");
+            writeProbabilities(config.probabilities(), generator);
+            generator.writeNumberField("rows", config.rows());
+            generator.writeFieldName("symbols");
+            writeMap(config.symbols(), generator, CanonicalConfig::writeSymbol);
+            generator.writeFieldName("win_combinations");
+            writeMap(config.winCombinations(), generator, CanonicalConfig::writeCombination);
+            generator.writeEndObject();
+        }
+    }
+
+    private static void writeProbabilities(Probabilities probabilities, JsonGenerator generator)
+            throws IOException {
+        if (probabilities == null) {
+            generator.writeNull();
+            return;
+        }
+        generator.writeStartObject();
+        generator.writeFieldName("bonus_symbols");
+        var bonus = probabilities.bonusSymbols();
+        if (bonus == null) {
+            generator.writeNull();
+        } else {
+            generator.writeStartObject();
+            generator.writeFieldName("symbols");
+            writeWeights(bonus.symbols(), generator);
+            generator.writeEndObject();
+        }
+        generator.writeFieldName("standard_symbols");
+        var cells = probabilities.standardSymbols();
+        if (cells == null) {
+            generator.writeNull();
+        } else {
+            generator.writeStartArray();
+            for (var cell : cells) {
+                if (cell == null) {
+                    generator.writeNull();
+                    continue;
+                }
+                generator.writeStartObject();
+                generator.writeNumberField("column", cell.column());
+                generator.writeNumberField("row", cell.row());
+                generator.writeFieldName("symbols");
+                writeWeights(cell.symbols(), generator);
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+        }
+        generator.writeEndObject();
+    }
+
+    private static void writeWeights(Map<String, Integer> weights, JsonGenerator generator) throws IOException {
+        writeMap(weights, generator, (weight, out) -> writeNumber(weight, out));
+    }
+
+    private static void writeSymbol(Symbol symbol, JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName("extra");
+        writeNumber(symbol.extra(), generator);
+        generator.writeStringField("impact", symbol.impact());
+        generator.writeNumberField("reward_multiplier", symbol.rewardMultiplier());
+        generator.writeStringField("type", symbol.type());
+        generator.writeEndObject();
+    }
+
+    private static void writeCombination(WinCombination combination, JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName("count");
+        writeNumber(combination.count(), generator);
+        generator.writeFieldName("covered_areas");
+        writeAreas(combination.coveredAreas(), generator);
+        generator.writeStringField("group", combination.group());
+        generator.writeNumberField("reward_multiplier", combination.rewardMultiplier());
+        generator.writeStringField("when", combination.when());
+        generator.writeEndObject();
+    }
+
+    private static void writeAreas(List<List<String>> areas, JsonGenerator generator) throws IOException {
+        if (areas == null) {
+            generator.writeNull();
+            return;
+        }
+        generator.writeStartArray();
+        for (var area : areas) {
+            if (area == null) {
+                generator.writeNull();
+                continue;
+            }
+            generator.writeStartArray();
+            for (var cell : area) {
+                generator.writeString(cell);
+            }
+            generator.writeEndArray();
+        }
+        generator.writeEndArray();
+    }
+
+    private interface ValueWriter<T> {
+        void write(T value, JsonGenerator generator) throws IOException;
+    }
+
+    private static <T> void writeMap(Map<String, T> map, JsonGenerator generator, ValueWriter<T> values)
+            throws IOException {
+        if (map == null) {
+            generator.writeNull();
+            return;
+        }
+        generator.writeStartObject();
+        for (var entry : new TreeMap<>(map).entrySet()) {
+            generator.writeFieldName(entry.getKey());
+            if (entry.getValue() == null) {
+                generator.writeNull();
+            } else {
+                values.write(entry.getValue(), generator);
+            }
+        }
+        generator.writeEndObject();
+    }
+
+    private static void writeNumber(Integer value, JsonGenerator generator) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value);
+        }
+    }
+
+    private static void writeNumber(Double value, JsonGenerator generator) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value);
+        }
+    }
+}
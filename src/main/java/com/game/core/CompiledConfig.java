@@ -0,0 +1,438 @@
+package com.game.core;
+
+import com.game.model.*;
+import java.util.*;
+
+/**
+ * Immutable, index-based form of a {@link GameConfig}, built once when the config is loaded.
+ * Symbols are interned to small int ids (standard symbols first), covered areas are flattened
+ * to cell indices ({@code row * columns + column}) and combinations are pre-split by {@code when}
+ * and grouped by {@code group}. A symbol wins at most one combination per group: the one with the
+ * highest multiplier, so each group is kept sorted by descending multiplier and groups made only of
+ * {@code same_symbols} rules are tabulated by symbol count.
+ * Every covered area is also compiled to a cell bitmask of {@link #maskWords()} longs, so a line
+ * check is one AND/compare per word against the symbol's occupancy mask.
+ */
+public final class CompiledConfig {
+    public static final int NO_SYMBOL = -1;
+
+    public static final int IMPACT_NONE = 0;
+    public static final int IMPACT_MULTIPLY = 1;
+    public static final int IMPACT_EXTRA = 2;
+    public static final int IMPACT_MISS = 3;
+
+    public static final int SAME_SYMBOLS = 0;
+    public static final int LINEAR_SYMBOLS = 1;
+    private static final int UNKNOWN_RULE = -1;
+
+    private static final int DEFAULT_BOARD_SIZE = 3;
+
+    // Only the fingerprint of the source config is kept, so variants do not each hold their whole config
+    private final long fingerprint;
+    private final int rows;
+    private final int columns;
+    private final int maskWords;
+
+    // Plans hold their interned dictionaries, which keeps them shared for as long as any plan uses them
+    private final PlanInterner.Dictionary symbolDictionary;
+    private final int standardCount;
+    private final boolean[] bonus;
+    private final double[] rewardMultipliers;
+    private final int[] impacts;
+    private final double[] extras;
+
+    private final PlanInterner.Dictionary combinationDictionary;
+    private final double[] combinationMultipliers;
+    private final int[] combinationRules;
+    private final int[] requiredCounts;
+    private final int[][][] coveredAreas;
+    private final long[][][] coveredAreaMasks;
+
+    // Groups hold their combinations by descending multiplier; same_symbols-only groups also map count -> best
+    private final String[] groupNames;
+    private final int[][] groupCombinations;
+    private final int[][] groupBestByCount;
+
+    // One sampler per cell; cells without probabilities use the 0:0 (or first) entry
+    private final SymbolSampler[] cellSamplers;
+    private final SymbolSampler bonusSampler;
+
+    private CompiledConfig(GameConfig config, PlanInterner interner) {
+        this.fingerprint = CanonicalConfig.fingerprint(config);
+        this.rows = rowsOf(config);
+        this.columns = columnsOf(config);
+        this.maskWords = (rows * columns + Long.SIZE - 1) / Long.SIZE;
+
+        var symbols = config.symbols() != null ? config.symbols() : Map.<String, Symbol>of();
+        var standard = new TreeSet<String>();
+        var others = new TreeSet<String>();
+        symbols.forEach((name, symbol) ->
+                ("standard".equals(symbol.type()) ? standard : others).add(name));
+
+        // Symbols that only appear in probabilities still need an id so boards can hold them
+        var probabilities = config.probabilities();
+        if (probabilities != null) {
+            if (probabilities.standardSymbols() != null) {
+                for (var cell : probabilities.standardSymbols()) {
+                    addUnknown(cell.symbols(), symbols, others);
+                }
+            }
+            if (probabilities.bonusSymbols() != null) {
+                addUnknown(probabilities.bonusSymbols().symbols(), symbols, others);
+            }
+        }
+
+        this.standardCount = standard.size();
+        var orderedSymbols = new ArrayList<>(standard);
+        orderedSymbols.addAll(others);
+        this.symbolDictionary = interner.dictionary(orderedSymbols);
+        var symbolNames = symbolDictionary.names();
+
+        this.bonus = new boolean[symbolNames.length];
+        this.rewardMultipliers = new double[symbolNames.length];
+        this.impacts = new int[symbolNames.length];
+        this.extras = new double[symbolNames.length];
+        for (int i = 0; i < symbolNames.length; i++) {
+            var symbol = symbols.get(symbolNames[i]);
+            if (symbol == null) {
+                continue;
+            }
+            bonus[i] = "bonus".equals(symbol.type());
+            rewardMultipliers[i] = symbol.rewardMultiplier();
+            impacts[i] = impactOf(symbol.impact());
+            extras[i] = symbol.extra() != null ? symbol.extra() : 0;
+        }
+
+        var combinations = new TreeMap<>(config.winCombinations() != null
+                ? config.winCombinations() : Map.<String, WinCombination>of());
+        this.combinationDictionary = interner.dictionary(new ArrayList<>(combinations.keySet()));
+        var combinationNames = combinationDictionary.names();
+        int combinationCount = combinationNames.length;
+        this.combinationMultipliers = new double[combinationCount];
+        this.combinationRules = new int[combinationCount];
+        this.requiredCounts = new int[combinationCount];
+        this.coveredAreas = new int[combinationCount][][];
+        this.coveredAreaMasks = new long[combinationCount][][];
+        var groups = new TreeMap<String, List<Integer>>();
+        for (int i = 0; i < combinationCount; i++) {
+            var combination = combinations.get(combinationNames[i]);
+            combinationMultipliers[i] = combination.rewardMultiplier();
+            combinationRules[i] = switch (String.valueOf(combination.when())) {
+                case "same_symbols" -> SAME_SYMBOLS;
+                case "linear_symbols" -> LINEAR_SYMBOLS;
+                default -> UNKNOWN_RULE;
+            };
+            requiredCounts[i] = combination.count() != null ? combination.count() : Integer.MAX_VALUE;
+            coveredAreas[i] = interner.intern(combinationRules[i] == LINEAR_SYMBOLS
+                    ? compileAreas(combination.coveredAreas()) : new int[0][]);
+            var areaMasks = new long[coveredAreas[i].length][];
+            for (int area = 0; area < areaMasks.length; area++) {
+                areaMasks[area] = toMask(coveredAreas[i][area]);
+            }
+            coveredAreaMasks[i] = interner.intern(areaMasks);
+            // Unknown rules are never applied; ungrouped combinations form a group of their own
+            if (combinationRules[i] != UNKNOWN_RULE) {
+                var group = combination.group() != null ? combination.group() : combinationNames[i];
+                groups.computeIfAbsent(group, g -> new ArrayList<>()).add(i);
+            }
+        }
+
+        // same_symbols groups come first so wins are listed count-based first, then line-based
+        var groupOrder = new ArrayList<>(groups.keySet());
+        groupOrder.sort(Comparator.comparing((String g) -> !isSameSymbolsGroup(groups.get(g))));
+        this.groupNames = groupOrder.stream().map(interner::name).toArray(String[]::new);
+        this.groupCombinations = new int[groupNames.length][];
+        this.groupBestByCount = new int[groupNames.length][];
+        for (int g = 0; g < groupNames.length; g++) {
+            var members = groups.get(groupNames[g]);
+            members.sort(Comparator.comparingDouble((Integer c) -> -combinationMultipliers[c])
+                    .thenComparingInt(c -> -requiredCounts[c]));
+            groupCombinations[g] = interner.intern(members.stream().mapToInt(Integer::intValue).toArray());
+            if (isSameSymbolsGroup(members)) {
+                groupBestByCount[g] = interner.intern(bestByCount(groupCombinations[g]));
+            }
+        }
+
+        this.cellSamplers = new SymbolSampler[rows * columns];
+        StandardSymbolProbability fallback = null;
+        if (probabilities != null && probabilities.standardSymbols() != null) {
+            for (var cell : probabilities.standardSymbols()) {
+                if (fallback == null || (cell.row() == 0 && cell.column() == 0)) {
+                    fallback = cell;
+                }
+                if (cell.row() < 0 || cell.column() < 0 || cell.row() >= rows || cell.column() >= columns) {
+                    continue;
+                }
+                var sampler = interner.intern(SymbolSampler.of(cell.symbols(), this));
+                cellSamplers[cellIndex(cell.row(), cell.column())] = sampler;
+            }
+        }
+        var defaultSampler = interner.intern(SymbolSampler.of(fallback != null ? fallback.symbols() : null, this));
+        for (int cell = 0; cell < cellSamplers.length; cell++) {
+            if (cellSamplers[cell] == null) {
+                cellSamplers[cell] = defaultSampler;
+            }
+        }
+        var bonusWeights = probabilities != null && probabilities.bonusSymbols() != null
+                ? probabilities.bonusSymbols().symbols() : null;
+        this.bonusSampler = interner.intern(SymbolSampler.of(bonusWeights, this));
+    }
+
+    public static CompiledConfig compile(GameConfig config) {
+        return compile(config, new PlanInterner());
+    }
+
+    /** Compiles {@code config}, sharing identical tables and samplers with other plans of the same interner. */
+    public static CompiledConfig compile(GameConfig config, PlanInterner interner) {
+        return new CompiledConfig(Objects.requireNonNull(config, "config"),
+                Objects.requireNonNull(interner, "interner"));
+    }
+
+    /** Rows of the board {@code config} compiles to: as configured, else inferred from its cell probabilities. */
+    public static int rowsOf(GameConfig config) {
+        return config.rows() > 0 ? config.rows() : inferredSize(config, true);
+    }
+
+    /** Columns of the board {@code config} compiles to, see {@link #rowsOf}. */
+    public static int columnsOf(GameConfig config) {
+        return config.columns() > 0 ? config.columns() : inferredSize(config, false);
+    }
+
+    private static int inferredSize(GameConfig config, boolean rows) {
+        int size = 0;
+        var probabilities = config.probabilities();
+        if (probabilities != null && probabilities.standardSymbols() != null) {
+            for (var cell : probabilities.standardSymbols()) {
+                if (cell == null) {
+                    continue;
+                }
+                size = Math.max(size, (rows ? cell.row() : cell.column()) + 1);
+            }
+        }
+        return size > 0 ? size : DEFAULT_BOARD_SIZE;
+    }
+
+    private long[] toMask(int[] cells) {
+        var mask = new long[maskWords];
+        for (var cell : cells) {
+            mask[cell >>> 6] |= 1L << cell;
+        }
+        return mask;
+    }
+
+    private static void addUnknown(Map<String, Integer> weights, Map<String, Symbol> symbols, Set<String> others) {
+        if (weights == null) {
+            return;
+        }
+        for (var name : weights.keySet()) {
+            if (!symbols.containsKey(name)) {
+                others.add(name);
+            }
+        }
+    }
+
+    private static int impactOf(String impact) {
+        if (impact == null) {
+            return IMPACT_NONE;
+        }
+        return switch (impact) {
+            case "multiply_reward" -> IMPACT_MULTIPLY;
+            case "extra_bonus" -> IMPACT_EXTRA;
+            case "miss" -> IMPACT_MISS;
+            default -> IMPACT_NONE;
+        };
+    }
+
+    private boolean isSameSymbolsGroup(List<Integer> members) {
+        return members.stream().allMatch(c -> combinationRules[c] == SAME_SYMBOLS);
+    }
+
+    /** For each possible count of one symbol, the first (highest multiplier) combination it satisfies. */
+    private int[] bestByCount(int[] members) {
+        var table = new int[rows * columns + 1];
+        for (int count = 0; count < table.length; count++) {
+            table[count] = -1;
+            for (var combination : members) {
+                if (count >= requiredCounts[combination]) {
+                    table[count] = combination;
+                    break;
+                }
+            }
+        }
+        return table;
+    }
+
+    private int[][] compileAreas(List<List<String>> coveredAreas) {
+        if (coveredAreas == null) {
+            return new int[0][];
+        }
+        var areas = new ArrayList<int[]>();
+        for (var area : coveredAreas) {
+            var cells = new int[area.size()];
+            boolean insideBoard = true;
+            for (int i = 0; i < cells.length; i++) {
+                var coords = area.get(i).split(":");
+                var row = Integer.parseInt(coords[0].trim());
+                var col = Integer.parseInt(coords[1].trim());
+                if (row < 0 || col < 0 || row >= rows || col >= columns) {
+                    insideBoard = false;
+                    break;
+                }
+                cells[i] = cellIndex(row, col);
+            }
+            // An area reaching outside the board can never be covered
+            if (insideBoard) {
+                areas.add(cells);
+            }
+        }
+        return areas.toArray(int[][]::new);
+    }
+
+    /** First 8 bytes of SHA-256 over the canonical JSON of the config this plan was compiled from. */
+    public long fingerprint() {
+        return fingerprint;
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int columns() {
+        return columns;
+    }
+
+    public int cellCount() {
+        return rows * columns;
+    }
+
+    /** Number of longs in a cell bitmask; cell {@code i} is bit {@code i & 63} of word {@code i >>> 6}. */
+    public int maskWords() {
+        return maskWords;
+    }
+
+    public int cellIndex(int row, int column) {
+        return row * columns + column;
+    }
+
+    public int symbolCount() {
+        return symbolDictionary.names().length;
+    }
+
+    /** Standard symbols occupy ids {@code [0, standardSymbolCount())}. */
+    public int standardSymbolCount() {
+        return standardCount;
+    }
+
+    public int symbolId(String name) {
+        if (name == null) {
+            return NO_SYMBOL;
+        }
+        var id = symbolDictionary.ids().get(name);
+        return id != null ? id : NO_SYMBOL;
+    }
+
+    public String symbolName(int id) {
+        return id == NO_SYMBOL ? null : symbolDictionary.names()[id];
+    }
+
+    public boolean isStandard(int id) {
+        return id >= 0 && id < standardCount;
+    }
+
+    public boolean isBonus(int id) {
+        return id >= 0 && bonus[id];
+    }
+
+    public double rewardMultiplier(int id) {
+        return rewardMultipliers[id];
+    }
+
+    public int impact(int id) {
+        return impacts[id];
+    }
+
+    public double extra(int id) {
+        return extras[id];
+    }
+
+    public int combinationCount() {
+        return combinationDictionary.names().length;
+    }
+
+    public int combinationId(String name) {
+        var id = combinationDictionary.ids().get(name);
+        return id != null ? id : -1;
+    }
+
+    public String combinationName(int id) {
+        return combinationDictionary.names()[id];
+    }
+
+    public double combinationMultiplier(int id) {
+        return combinationMultipliers[id];
+    }
+
+    /** {@link #SAME_SYMBOLS}, {@link #LINEAR_SYMBOLS} or -1 for a rule that is never applied. */
+    public int combinationRule(int id) {
+        return combinationRules[id];
+    }
+
+    /** Symbol count a {@code same_symbols} combination needs. */
+    public int requiredCount(int id) {
+        return requiredCounts[id];
+    }
+
+    /** Covered areas of a {@code linear_symbols} combination as cell indices; areas off the board are dropped. */
+    public int[][] coveredAreas(int id) {
+        return coveredAreas[id];
+    }
+
+    /** Covered areas of a {@code linear_symbols} combination as cell bitmasks. */
+    public long[][] coveredAreaMasks(int id) {
+        return coveredAreaMasks[id];
+    }
+
+    public int groupCount() {
+        return groupNames.length;
+    }
+
+    public String groupName(int group) {
+        return groupNames[group];
+    }
+
+    /** Combinations of {@code group}, by descending multiplier. */
+    public int[] groupCombinations(int group) {
+        return groupCombinations[group];
+    }
+
+    /** Whether the group only holds {@code same_symbols} rules and uses {@link #bestSameSymbolCombination}. */
+    public boolean isCountGroup(int group) {
+        return groupBestByCount[group] != null;
+    }
+
+    /** Best combination of a count group satisfied by {@code count} symbols, or -1. */
+    public int bestSameSymbolCombination(int group, int count) {
+        var table = groupBestByCount[group];
+        return table[Math.min(count, table.length - 1)];
+    }
+
+    public SymbolSampler cellSampler(int cell) {
+        return cellSamplers[cell];
+    }
+
+    public SymbolSampler bonusSampler() {
+        return bonusSampler;
+    }
+
+    /** Flattens a row-major matrix into symbol ids; cells outside the board are ignored. */
+    public int[] toBoard(String[][] matrix) {
+        var board = new int[cellCount()];
+        Arrays.fill(board, NO_SYMBOL);
+        for (int row = 0; row < Math.min(rows, matrix.length); row++) {
+            for (int col = 0; col < Math.min(columns, matrix[row].length); col++) {
+                board[cellIndex(row, col)] = symbolId(matrix[row][col]);
+            }
+        }
+        return board;
+    }
+}
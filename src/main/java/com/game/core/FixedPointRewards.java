@@ -0,0 +1,215 @@
+package com.game.core;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Exact reward arithmetic in minor money units (e.g. cents for {@code moneyDecimals = 2}).
+ *
+ * <p>Every multiplier and extra of the plan is converted once, here, into a scaled {@code long}, so
+ * {@link #calculateReward} works on primitives only. Each symbol's reward is carried exactly as
+ * {@code bet * multipliers} at a decimal scale that is trimmed after every step, then rounded half-up
+ * to minor units; the bonus multiplier is applied to the total and rounded the same way. Amounts that
+ * would overflow a {@code long} fall back to {@link BigDecimal} with identical rounding.
+ */
+public final class FixedPointRewards {
+    public static final int MAX_DECIMALS = 9;
+    private static final long[] POW10 = new long[19];
+
+    static {
+        POW10[0] = 1;
+        for (int i = 1; i < POW10.length; i++) {
+            POW10[i] = POW10[i - 1] * 10;
+        }
+    }
+
+    private final CompiledConfig plan;
+    private final int moneyDecimals;
+    private final int multiplierDecimals;
+    private final long[] symbolMultipliers;
+    private final long[] combinationMultipliers;
+    private final long[] extras;
+
+    private FixedPointRewards(CompiledConfig plan, int moneyDecimals) {
+        this.plan = plan;
+        this.moneyDecimals = moneyDecimals;
+
+        // One scale for all multipliers: the most decimals any of them needs
+        int decimals = 0;
+        for (int symbol = 0; symbol < plan.symbolCount(); symbol++) {
+            decimals = Math.max(decimals, decimalsOf(plan.rewardMultiplier(symbol)));
+        }
+        for (int combination = 0; combination < plan.combinationCount(); combination++) {
+            decimals = Math.max(decimals, decimalsOf(plan.combinationMultiplier(combination)));
+        }
+        if (decimals > MAX_DECIMALS) {
+            throw new IllegalArgumentException("Multipliers need more than " + MAX_DECIMALS + " decimals");
+        }
+        this.multiplierDecimals = decimals;
+
+        this.symbolMultipliers = new long[plan.symbolCount()];
+        this.extras = new long[plan.symbolCount()];
+        for (int symbol = 0; symbol < plan.symbolCount(); symbol++) {
+            symbolMultipliers[symbol] = scaled(plan.rewardMultiplier(symbol), decimals, "multiplier of "
+                    + plan.symbolName(symbol));
+            extras[symbol] = scaled(plan.extra(symbol), moneyDecimals, "extra of " + plan.symbolName(symbol));
+        }
+        this.combinationMultipliers = new long[plan.combinationCount()];
+        for (int combination = 0; combination < plan.combinationCount(); combination++) {
+            combinationMultipliers[combination] = scaled(plan.combinationMultiplier(combination), decimals,
+                    "multiplier of " + plan.combinationName(combination));
+        }
+    }
+
+    /** Money mode for {@code plan} with amounts in units of {@code 10^-moneyDecimals}. */
+    public static FixedPointRewards of(CompiledConfig plan, int moneyDecimals) {
+        if (moneyDecimals < 0 || moneyDecimals > MAX_DECIMALS) {
+            throw new IllegalArgumentException("Money decimals must be between 0 and " + MAX_DECIMALS);
+        }
+        return new FixedPointRewards(plan, moneyDecimals);
+    }
+
+    public CompiledConfig plan() {
+        return plan;
+    }
+
+    public int moneyDecimals() {
+        return moneyDecimals;
+    }
+
+    /** Converts an amount to minor units; it must not have more decimals than the money scale. */
+    public long toMinor(BigDecimal amount) {
+        try {
+            return amount.movePointRight(moneyDecimals).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount " + amount + " is not a whole number of minor units");
+        }
+    }
+
+    public BigDecimal toAmount(long minor) {
+        return BigDecimal.valueOf(minor, moneyDecimals);
+    }
+
+    /** Nearest double to {@code minor} minor units, e.g. exactly {@code 0.1} for 10 cents. */
+    public double toDouble(long minor) {
+        return moneyDecimals < POW10.length && Math.abs(minor) < (1L << 53)
+                ? minor / (double) POW10[moneyDecimals]
+                : toAmount(minor).doubleValue();
+    }
+
+    /**
+     * Computes the reward of an evaluated result for a bet of {@code betMinor} minor units and stores
+     * it in {@code result}, both exactly ({@link SpinResult#rewardMinor()}) and as a double.
+     */
+    public long calculateReward(SpinResult result, long betMinor) {
+        long total;
+        try {
+            total = exactReward(result, betMinor);
+        } catch (ArithmeticException e) {
+            total = bigReward(result, betMinor);
+        }
+        result.moneyDecimals = moneyDecimals;
+        result.betMinor = betMinor;
+        result.rewardMinor = total;
+        result.reward = toDouble(total);
+        return total;
+    }
+
+    private long exactReward(SpinResult result, long betMinor) {
+        long total = 0;
+        for (int symbol = 0; symbol < result.counts.length; symbol++) {
+            if (!result.hasWin(symbol)) {
+                continue;
+            }
+            // value / 10^scale minor units, kept exact
+            long value = Math.multiplyExact(betMinor, symbolMultipliers[symbol]);
+            int scale = multiplierDecimals;
+            for (int slot = 0; slot < result.slots; slot++) {
+                int combination = result.combination(symbol, slot);
+                if (combination != SpinResult.NO_COMBINATION) {
+                    while (scale > 0 && value % 10 == 0) {
+                        value /= 10;
+                        scale--;
+                    }
+                    value = Math.multiplyExact(value, combinationMultipliers[combination]);
+                    scale += multiplierDecimals;
+                }
+            }
+            total = Math.addExact(total, roundHalfUp(value, scale));
+        }
+
+        int bonus = result.bonusSymbol;
+        if (bonus != CompiledConfig.NO_SYMBOL && total > 0) {
+            switch (plan.impact(bonus)) {
+                case CompiledConfig.IMPACT_MULTIPLY -> total = roundHalfUp(
+                        Math.multiplyExact(total, symbolMultipliers[bonus]), multiplierDecimals);
+                case CompiledConfig.IMPACT_EXTRA -> total = Math.addExact(total, extras[bonus]);
+                default -> {} // MISS has no effect
+            }
+        }
+        return total;
+    }
+
+    // Same arithmetic without overflow, for the rare amounts that exceed a long
+    private long bigReward(SpinResult result, long betMinor) {
+        var total = BigDecimal.ZERO;
+        for (int symbol = 0; symbol < result.counts.length; symbol++) {
+            if (!result.hasWin(symbol)) {
+                continue;
+            }
+            var value = BigDecimal.valueOf(betMinor).multiply(multiplier(symbolMultipliers[symbol]));
+            for (int slot = 0; slot < result.slots; slot++) {
+                int combination = result.combination(symbol, slot);
+                if (combination != SpinResult.NO_COMBINATION) {
+                    value = value.multiply(multiplier(combinationMultipliers[combination]));
+                }
+            }
+            total = total.add(value.setScale(0, RoundingMode.HALF_UP));
+        }
+
+        int bonus = result.bonusSymbol;
+        if (bonus != CompiledConfig.NO_SYMBOL && total.signum() > 0) {
+            switch (plan.impact(bonus)) {
+                case CompiledConfig.IMPACT_MULTIPLY -> total = total.multiply(multiplier(symbolMultipliers[bonus]))
+                        .setScale(0, RoundingMode.HALF_UP);
+                case CompiledConfig.IMPACT_EXTRA -> total = total.add(BigDecimal.valueOf(extras[bonus]));
+                default -> {} // MISS has no effect
+            }
+        }
+        return total.longValueExact();
+    }
+
+    private BigDecimal multiplier(long scaled) {
+        return BigDecimal.valueOf(scaled, multiplierDecimals);
+    }
+
+    private static long roundHalfUp(long value, int scale) {
+        if (scale == 0) {
+            return value;
+        }
+        if (scale >= POW10.length) {
+            throw new ArithmeticException("Scale out of range");
+        }
+        long divisor = POW10[scale];
+        long quotient = value / divisor;
+        long remainder = Math.abs(value % divisor);
+        if (remainder * 2 >= divisor) {
+            quotient += value < 0 ? -1 : 1;
+        }
+        return quotient;
+    }
+
+    // Decimals of the shortest decimal that round-trips to the double, as written in the config
+    private static int decimalsOf(double value) {
+        return Math.max(0, new BigDecimal(Double.toString(value)).stripTrailingZeros().scale());
+    }
+
+    private static long scaled(double value, int decimals, String what) {
+        try {
+            return new BigDecimal(Double.toString(value)).movePointRight(decimals).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("The " + what + " (" + value + ") does not fit "
+                    + decimals + " decimals");
+        }
+    }
+}
@@ -2,205 +2,211 @@ package com.game.core;
 
 import com.game.model.*;
 import java.util.*;
-import java.security.SecureRandom;
 
 public class Game {
-    private final GameConfig config;
-    private final Random random;
-    private static final double BONUS_SYMBOL_PROBABILITY = 0.2;
+    // Swapped whole by reload; engines keep the plan they were built with until they are replaced
+    private volatile Live live;
+    private final RandomSource randomSource;
+    private volatile SpinMetrics metrics = SpinMetrics.NOOP;
+    private volatile SpinListener listener = SpinListener.NONE;
+    // Requested cache size, zero when disabled; the cache itself may be smaller or larger (dense)
+    private volatile int cacheCapacity;
+
+    // Engines reused by play, playStakes and playBatch, one per calling thread
+    private final ThreadLocal<SpinEngine> engines = new ThreadLocal<>();
+
+    /** The plan and its outcome cache (null when disabled), published together by one volatile write. */
+    private record Live(CompiledConfig plan, OutcomeCache outcomeCache) {}
 
     public Game(GameConfig config) {
-        this.config = config;
-        this.random = new SecureRandom();
+        this(config, RandomSource.secure());
     }
 
-    public GameResult play(double betAmount) {
-        if (betAmount <= 0) {
-            throw new IllegalArgumentException("Bet amount must be positive");
-        }
+    public Game(GameConfig config, RandomSource randomSource) {
+        this(CompiledConfig.compile(config), randomSource);
+    }
 
-        var matrix = generateMatrix();
-        var winningCombinations = findWinningCombinations(matrix);
-        var bonusSymbol = findBonusSymbol(matrix);
-        var reward = calculateReward(betAmount, winningCombinations, bonusSymbol);
+    public Game(CompiledConfig plan, RandomSource randomSource) {
+        this.live = new Live(Objects.requireNonNull(plan, "plan"), null);
+        this.randomSource = Objects.requireNonNull(randomSource, "randomSource");
+    }
 
-        return new GameResult(matrix, reward, winningCombinations, bonusSymbol);
+    /**
+     * Publishes a new plan. Spins already running finish on the old one; engines created
+     * afterwards, and engines that check {@link SpinEngine#plan()} against {@link #plan()}, use the new one.
+     * When caching is on, the new plan's cache is built first, so a plan that cannot be cached is
+     * rejected and the old plan keeps serving.
+     */
+    public synchronized void reload(CompiledConfig plan) {
+        Objects.requireNonNull(plan, "plan");
+        int capacity = cacheCapacity;
+        var next = new Live(plan, capacity == 0 ? null : OutcomeCache.of(plan, capacity));
+        metrics.recordPlan(plan);
+        live = next;
     }
 
-    protected double calculateReward(double betAmount,
-                                     Map<String, List<String>> winningCombinations,
-                                     String bonusSymbol) {
-        if (winningCombinations.isEmpty()) {
-            return 0;
+    public GameResult play(double betAmount) {
+        if (betAmount <= 0) {
+            throw new IllegalArgumentException("Bet amount must be positive");
         }
 
-        double totalReward = 0;
-
-        // Calculate for each winning symbol
-        for (var entry : winningCombinations.entrySet()) {
-            String symbol = entry.getKey();
-            List<String> combinations = entry.getValue();
-
-            // Get symbol base multiplier
-            double symbolMultiplier = config.symbols().get(symbol).rewardMultiplier();
-
-            // Calculate base symbol reward
-            double symbolReward = betAmount * symbolMultiplier;
-
-            // Apply combination multipliers one by one
-            for (String combinationName : combinations) {
-                double combinationMultiplier = config.winCombinations()
-                        .get(combinationName)
-                        .rewardMultiplier();
-                symbolReward *= combinationMultiplier;
-            }
-
-            totalReward += symbolReward;
+        var metrics = this.metrics;
+        if (metrics == SpinMetrics.NOOP) {
+            return engine().spin(betAmount).toGameResult();
         }
+        long start = System.nanoTime();
+        var result = engine().spin(betAmount).toGameResult();
+        metrics.recordPlay(System.nanoTime() - start);
+        return result;
+    }
 
-        // Apply bonus symbol effect if present and there are wins
-        if (bonusSymbol != null && totalReward > 0) {
-            Symbol bonus = config.symbols().get(bonusSymbol);
-
-            switch (bonus.impact()) {
-                case "multiply_reward" -> {
-                    totalReward *= bonus.rewardMultiplier();
-                }
-                case "extra_bonus" -> {
-                    totalReward += bonus.extra();
-                }
-                case "miss" -> {} // No effect
-            }
+    /**
+     * Plays one board priced at every stake of {@code betAmounts}, evaluating it once. The results
+     * share the board, combinations and bonus symbol and differ only in reward.
+     */
+    public List<GameResult> playStakes(double[] betAmounts) {
+        var metrics = this.metrics;
+        if (metrics == SpinMetrics.NOOP) {
+            return engine().spinStakes(betAmounts);
         }
+        long start = System.nanoTime();
+        var results = engine().spinStakes(betAmounts);
+        metrics.recordPlay(System.nanoTime() - start);
+        return results;
+    }
 
-        return totalReward;
+    /** Plays {@code count} spins at once into columnar arrays instead of {@code count} results. */
+    public SpinBatch playBatch(double betAmount, int count) {
+        var engine = engine();
+        return engine.spinBatch(betAmount, count, new SpinBatch(engine.plan()));
     }
 
-    private String[][] generateMatrix() {
-        var matrix = new String[3][3]; // Fixed 3x3 matrix
+    /**
+     * As {@link #playBatch(double, int)}, refilling {@code batch} so its arrays are reused.
+     * The batch must have been built for the current {@link #plan()}.
+     */
+    public SpinBatch playBatch(double betAmount, int count, SpinBatch batch) {
+        return engine().spinBatch(betAmount, count, batch);
+    }
 
-        // Fill with standard symbols
-        for (var prob : config.probabilities().standardSymbols()) {
-            matrix[prob.row()][prob.column()] = selectSymbol(prob.symbols());
+    /**
+     * The calling thread's engine, kept between calls. It is rebuilt on first use after a reload, a new
+     * outcome cache, metrics or listener, so it always spins as {@link #newEngine()} would.
+     */
+    public SpinEngine engine() {
+        var current = live;
+        var engine = engines.get();
+        if (engine == null || engine.plan() != current.plan()
+                || engine.evaluator().cache() != current.outcomeCache()
+                || engine.metrics() != metrics || engine.listener() != listener) {
+            engine = newEngine(current);
+            engines.set(engine);
         }
+        return engine;
+    }
 
-        // Add random bonus symbol
-        if (random.nextDouble() < BONUS_SYMBOL_PROBABILITY) {
-            var row = random.nextInt(3);
-            var col = random.nextInt(3);
-            matrix[row][col] = selectSymbol(config.probabilities().bonusSymbols().symbols());
-        }
+    /** Creates a reusable engine bound to the calling thread's random stream. */
+    public SpinEngine newEngine() {
+        return newEngine(live);
+    }
 
-        return matrix;
+    private SpinEngine newEngine(Live current) {
+        return new SpinEngine(new BoardEvaluator(current.plan(), current.outcomeCache()), randomSource.generator(),
+                metrics, listener);
     }
 
-    private String selectSymbol(Map<String, Integer> probabilities) {
-        int total = probabilities.values().stream().mapToInt(Integer::intValue).sum();
-        int rand = random.nextInt(total);
+    /**
+     * Shares an {@link OutcomeCache} of {@code capacity} boards between engines created from now on;
+     * zero turns caching off.
+     */
+    public synchronized void outcomeCache(int capacity) {
+        var plan = live.plan();
+        live = new Live(plan, capacity == 0 ? null : OutcomeCache.of(plan, capacity));
+        cacheCapacity = capacity;
+    }
 
-        int cumulative = 0;
-        for (var entry : probabilities.entrySet()) {
-            cumulative += entry.getValue();
-            if (rand < cumulative) {
-                return entry.getKey();
-            }
-        }
+    public OutcomeCache outcomeCache() {
+        return live.outcomeCache();
+    }
 
-        return probabilities.keySet().iterator().next();
+    /** Instruments engines created from now on; {@link SpinMetrics#NOOP} turns instrumentation off. */
+    public synchronized void metrics(SpinMetrics metrics) {
+        Objects.requireNonNull(metrics, "metrics").recordPlan(live.plan());
+        this.metrics = metrics;
     }
 
+    public SpinMetrics metrics() {
+        return metrics;
+    }
 
-    protected String findBonusSymbol(String[][] matrix) {
-        for (var row : matrix) {
-            for (var symbol : row) {
-                var symbolConfig = config.symbols().get(symbol);
-                if (symbolConfig != null && "bonus".equals(symbolConfig.type())) {
-                    return symbol;
-                }
-            }
-        }
-        return null;
+    /** Reports every spin of engines created from now on, with its seed; see {@link SpinListener}. */
+    public void listener(SpinListener listener) {
+        this.listener = Objects.requireNonNull(listener, "listener");
     }
 
-    protected Map<String, List<String>> findWinningCombinations(String[][] matrix) {
-        var result = new HashMap<String, List<String>>();
-        var symbolCounts = countStandardSymbols(matrix);
+    public SpinListener listener() {
+        return listener;
+    }
 
-        // For each symbol, get its best winning combination
-        for (var entry : symbolCounts.entrySet()) {
-            String symbol = entry.getKey();
-            int count = entry.getValue();
+    public CompiledConfig plan() {
+        return live.plan();
+    }
 
-            // Get all possible winning combinations for this symbol
-            List<String> symbolWins = new ArrayList<>();
+    protected double calculateReward(double betAmount,
+                                     Map<String, List<String>> winningCombinations,
+                                     String bonusSymbol) {
+        if (winningCombinations.isEmpty()) {
+            return 0;
+        }
+        var plan = plan();
 
-            // First try to find the highest count-based combination
-            findBestSameSymbolCombination(count)
-                    .ifPresent(symbolWins::add);
+        // Bet-independent part first, so the bet is applied once as in BoardEvaluator
+        double baseMultiplier = 0;
+        for (var entry : winningCombinations.entrySet()) {
+            double symbolMultiplier = plan.rewardMultiplier(plan.symbolId(entry.getKey()));
+            for (String combinationName : entry.getValue()) {
+                symbolMultiplier *= plan.combinationMultiplier(plan.combinationId(combinationName));
+            }
+            baseMultiplier += symbolMultiplier;
+        }
+        double totalReward = betAmount * baseMultiplier;
 
-            // Then check for one line-based combination
-            findBestLinearCombination(matrix, symbol)
-                    .ifPresent(symbolWins::add);
+        // Apply bonus symbol effect if present and there are wins
+        if (bonusSymbol != null && totalReward > 0) {
+            int bonus = plan.symbolId(bonusSymbol);
 
-            if (!symbolWins.isEmpty()) {
-                result.put(symbol, symbolWins);
+            switch (plan.impact(bonus)) {
+                case CompiledConfig.IMPACT_MULTIPLY -> {
+                    totalReward *= plan.rewardMultiplier(bonus);
+                }
+                case CompiledConfig.IMPACT_EXTRA -> {
+                    totalReward += plan.extra(bonus);
+                }
+                default -> {} // MISS has no effect
             }
         }
 
-        return result;
+        return totalReward;
     }
 
-    private Optional<String> findBestSameSymbolCombination(int count) {
-        return config.winCombinations().entrySet().stream()
-                .filter(e -> "same_symbols".equals(e.getValue().when()))
-                .filter(e -> count >= e.getValue().count())
-                .max(Comparator.comparingInt(e -> e.getValue().count()))
-                .map(Map.Entry::getKey);
+    protected String[][] generateMatrix() {
+        return newEngine().generate().toMatrix();
     }
 
-    private Optional<String> findBestLinearCombination(String[][] matrix, String symbol) {
-        record CombinationValue(String name, WinCombination combination, double value) {}
-
-        return config.winCombinations().entrySet().stream()
-                .filter(e -> "linear_symbols".equals(e.getValue().when()))
-                .map(e -> new CombinationValue(
-                        e.getKey(),
-                        e.getValue(),
-                        e.getValue().rewardMultiplier()
-                ))
-                .filter(cv -> checkLinearCombination(matrix, symbol, cv.combination()))
-                .max(Comparator.comparingDouble(CombinationValue::value))
-                .map(CombinationValue::name);
+    protected String findBonusSymbol(String[][] matrix) {
+        var result = evaluate(matrix);
+        return result.plan().symbolName(result.bonusSymbol());
     }
 
-    private boolean checkLinearCombination(String[][] matrix, String symbol, WinCombination combination) {
-        return combination.coveredAreas().stream().anyMatch(area -> {
-            return area.stream().allMatch(pos -> {
-                var coords = pos.split(":");
-                var row = Integer.parseInt(coords[0]);
-                var col = Integer.parseInt(coords[1]);
-
-                if (row >= matrix.length || col >= matrix[0].length) {
-                    return false;
-                }
-
-                return matrix[row][col].equals(symbol);
-            });
-        });
+    protected Map<String, List<String>> findWinningCombinations(String[][] matrix) {
+        return evaluate(matrix).toWinningCombinations();
     }
 
-    private Map<String, Integer> countStandardSymbols(String[][] matrix) {
-        var symbolCount = new HashMap<String, Integer>();
-
-        for (var row : matrix) {
-            for (var symbol : row) {
-                var symbolConfig = config.symbols().get(symbol);
-                if (symbolConfig != null && "standard".equals(symbolConfig.type())) {
-                    symbolCount.merge(symbol, 1, Integer::sum);
-                }
-            }
-        }
-
-        return symbolCount;
+    private SpinResult evaluate(String[][] matrix) {
+        var plan = plan();
+        var result = new SpinResult(plan);
+        result.load(matrix);
+        new BoardEvaluator(plan).evaluate(result);
+        return result;
     }
-}
\ No newline at end of file
+}
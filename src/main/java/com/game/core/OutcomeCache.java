@@ -0,0 +1,101 @@
+package com.game.core;
+
+/**
+ * Evaluated combinations and base multipliers keyed by board, shared by every engine of one
+ * {@link CompiledConfig}.
+ *
+ * <p>A board is keyed by its standard symbols only: each cell contributes its standard symbol id
+ * plus one, or zero for a bonus or empty cell, as one digit in base {@code standardSymbolCount + 1}.
+ * Bonus symbols and the bet never enter the key; the reward is still scaled from the cached base
+ * multiplier, so cached and uncached spins pay exactly the same amount at every stake.
+ *
+ * <p>When every possible key fits in the requested capacity the table is dense and each board has
+ * its own slot. Otherwise it is direct-mapped: a board hashes to one slot and evicts whatever was
+ * there. Entries are immutable and published through a plain array, so a racing reader sees either
+ * a complete entry or a miss and recomputes; hits never lock or allocate.
+ */
+public final class OutcomeCache {
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+
+    record Entry(long key, int[] combinations, double baseMultiplier) {}
+
+    private final CompiledConfig plan;
+    private final int radix;
+    private final boolean dense;
+    private final int mask;
+    private final Entry[] entries;
+
+    private OutcomeCache(CompiledConfig plan, int capacity) {
+        this.plan = plan;
+        this.radix = plan.standardSymbolCount() + 1;
+        long boards = boardCount(plan);
+        this.dense = boards <= capacity;
+        int size = dense ? (int) boards : Integer.highestOneBit(capacity);
+        this.mask = size - 1;
+        this.entries = new Entry[size];
+    }
+
+    /** Cache of at most {@code capacity} boards (rounded down to a power of two unless dense). */
+    public static OutcomeCache of(CompiledConfig plan, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Cache capacity must be positive");
+        }
+        if (!supports(plan)) {
+            throw new IllegalArgumentException("Board of " + plan.cellCount() + " cells with "
+                    + plan.standardSymbolCount() + " symbols is too large to key");
+        }
+        return new OutcomeCache(plan, capacity);
+    }
+
+    /** Whether every board of {@code plan} has a distinct 63-bit key. */
+    public static boolean supports(CompiledConfig plan) {
+        return boardCount(plan) > 0;
+    }
+
+    // radix^cells, or -1 when it does not fit in a long
+    private static long boardCount(CompiledConfig plan) {
+        long radix = plan.standardSymbolCount() + 1;
+        long count = 1;
+        for (int cell = 0; cell < plan.cellCount(); cell++) {
+            if (count > Long.MAX_VALUE / radix) {
+                return -1;
+            }
+            count *= radix;
+        }
+        return count;
+    }
+
+    public CompiledConfig plan() {
+        return plan;
+    }
+
+    public int capacity() {
+        return entries.length;
+    }
+
+    public boolean isDense() {
+        return dense;
+    }
+
+    int radix() {
+        return radix;
+    }
+
+    /** Cached outcome of {@code key}, or null. Its combinations must not be modified. */
+    Entry get(long key) {
+        var entry = entries[slot(key)];
+        return entry != null && entry.key == key ? entry : null;
+    }
+
+    void put(long key, int[] combinations, double baseMultiplier) {
+        entries[slot(key)] = new Entry(key, combinations.clone(), baseMultiplier);
+    }
+
+    private int slot(long key) {
+        if (dense) {
+            return (int) key;
+        }
+        // Fibonacci hashing spreads neighbouring boards over the whole table
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    }
+}
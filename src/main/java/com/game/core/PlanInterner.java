@@ -0,0 +1,138 @@
+package com.game.core;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Canonical instances for the immutable parts of compiled plans, so configs compiled through the same
+ * interner share them: symbol and combination dictionaries, group names, covered-area cell lists and
+ * bitmasks, count tables and per-cell samplers. Variants of one game usually differ only in a few
+ * weights or multipliers, so most of their compiled state ends up shared. Shared objects are held weakly and
+ * dropped once every plan using them has been retired. Thread-safe.
+ */
+public final class PlanInterner {
+
+    /** Names in id order and their reverse index, shared by every plan with the same ordered names. */
+    record Dictionary(String[] names, Map<String, Integer> ids) {}
+
+    /**
+     * Canonical instances held only weakly: an entry goes away once no plan references it, so retired
+     * variants do not pin their tables in a long-lived interner.
+     */
+    private static final class Pool<T> {
+        private static final class Slot<T> extends WeakReference<T> {
+            final int hash;
+
+            Slot(T value, int hash, ReferenceQueue<? super T> queue) {
+                super(value, queue);
+                this.hash = hash;
+            }
+        }
+
+        private final Map<Integer, List<Slot<T>>> buckets = new HashMap<>();
+        private final ReferenceQueue<T> cleared = new ReferenceQueue<>();
+
+        synchronized T intern(int hash, Predicate<? super T> matches, Supplier<? extends T> create) {
+            expunge();
+            var bucket = buckets.computeIfAbsent(hash, key -> new ArrayList<>(1));
+            for (var slot : bucket) {
+                var held = slot.get();
+                if (held != null && matches.test(held)) {
+                    return held;
+                }
+            }
+            T value = create.get();
+            bucket.add(new Slot<>(value, hash, cleared));
+            return value;
+        }
+
+        synchronized int size() {
+            expunge();
+            int live = 0;
+            for (var bucket : buckets.values()) {
+                for (var slot : bucket) {
+                    live += slot.get() != null ? 1 : 0;
+                }
+            }
+            return live;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void expunge() {
+            for (Reference<? extends T> ref; (ref = cleared.poll()) != null; ) {
+                var slot = (Slot<T>) ref;
+                var bucket = buckets.get(slot.hash);
+                if (bucket != null && bucket.remove(slot) && bucket.isEmpty()) {
+                    buckets.remove(slot.hash);
+                }
+            }
+        }
+    }
+
+    private final Pool<Dictionary> dictionaries = new Pool<>();
+    private final Pool<String> names = new Pool<>();
+    private final Pool<Object> arrays = new Pool<>();
+    private final Pool<SymbolSampler> samplers = new Pool<>();
+
+    Dictionary dictionary(List<String> orderedNames) {
+        var key = orderedNames.toArray(String[]::new);
+        return dictionaries.intern(Arrays.hashCode(key), held -> Arrays.equals(held.names(), key), () -> {
+            var interned = Arrays.stream(key).map(this::name).toArray(String[]::new);
+            var ids = new HashMap<String, Integer>();
+            for (int id = 0; id < interned.length; id++) {
+                ids.put(interned[id], id);
+            }
+            return new Dictionary(interned, Collections.unmodifiableMap(ids));
+        });
+    }
+
+    String name(String name) {
+        return name == null ? null : names.intern(name.hashCode(), name::equals, () -> name);
+    }
+
+    int[] intern(int[] values) {
+        return (int[]) share(values);
+    }
+
+    long[] intern(long[] values) {
+        return (long[]) share(values);
+    }
+
+    int[][] intern(int[][] values) {
+        var elements = new int[values.length][];
+        for (int i = 0; i < values.length; i++) {
+            elements[i] = intern(values[i]);
+        }
+        return (int[][]) share(elements);
+    }
+
+    long[][] intern(long[][] values) {
+        var elements = new long[values.length][];
+        for (int i = 0; i < values.length; i++) {
+            elements[i] = intern(values[i]);
+        }
+        return (long[][]) share(elements);
+    }
+
+    SymbolSampler intern(SymbolSampler sampler) {
+        var table = sampler.table();
+        return samplers.intern(Arrays.deepHashCode(table), held -> Arrays.deepEquals(held.table(), table),
+                () -> sampler);
+    }
+
+    // Arrays compare by type and content
+    private Object share(Object values) {
+        var wrapped = new Object[]{values};
+        return arrays.intern(Arrays.deepHashCode(wrapped), held -> held.getClass() == values.getClass()
+                && Arrays.deepEquals(new Object[]{held}, wrapped), () -> values);
+    }
+
+    /** Distinct shared objects still referenced by some plan, for sizing and diagnostics. */
+    public int size() {
+        return dictionaries.size() + names.size() + arrays.size() + samplers.size();
+    }
+}
@@ -0,0 +1,55 @@
+package com.game.core;
+
+import java.security.SecureRandom;
+import java.util.Objects;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGenerator.SplittableGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+/**
+ * Supplies the {@link RandomGenerator} a spin draws from. Engines ask for a generator once, from the
+ * thread that will use them, so per-thread sources hand every thread its own uncontended stream.
+ */
+@FunctionalInterface
+public interface RandomSource {
+    String DEFAULT_ALGORITHM = "L64X128MixRandom";
+
+    /** Generator for the calling thread. */
+    RandomGenerator generator();
+
+    /** Shared SecureRandom, for regulated play. Thread-safe but slow and contended. */
+    static RandomSource secure() {
+        var random = new SecureRandom();
+        return () -> random;
+    }
+
+    /** Always returns {@code generator}; only safe when the caller confines it to one thread. */
+    static RandomSource of(RandomGenerator generator) {
+        Objects.requireNonNull(generator, "generator");
+        return () -> generator;
+    }
+
+    /** Single seeded stream, so a sequence of spins can be replayed exactly. */
+    static RandomSource seeded(long seed) {
+        return of(RandomGeneratorFactory.of(DEFAULT_ALGORITHM).create(seed));
+    }
+
+    /** Independent stream per thread, split from an unseeded root. */
+    static RandomSource perThread() {
+        return perThread((SplittableGenerator) RandomGeneratorFactory.of(DEFAULT_ALGORITHM).create());
+    }
+
+    /** Independent stream per thread, split from a root seeded with {@code seed}. */
+    static RandomSource perThread(long seed) {
+        return perThread((SplittableGenerator) RandomGeneratorFactory.of(DEFAULT_ALGORITHM).create(seed));
+    }
+
+    private static RandomSource perThread(SplittableGenerator root) {
+        var streams = ThreadLocal.withInitial(() -> {
+            synchronized (root) {
+                return root.split();
+            }
+        });
+        return streams::get;
+    }
+}
@@ -0,0 +1,123 @@
+package com.game.core;
+
+import com.game.model.GameResult;
+import java.util.*;
+
+/**
+ * Columnar results of a batch of spins. Boards are stored back to back as symbol ids, and applied
+ * combinations in compressed rows: spin {@code i} owns wins {@code [winOffset(i), winOffset(i + 1))},
+ * each a (standard symbol, combination) pair. A batch can be refilled by passing it back to
+ * {@link SpinEngine#spinBatch(double, int, SpinBatch)}; arrays only grow.
+ */
+public final class SpinBatch {
+    private final CompiledConfig plan;
+    private int size;
+    int[] boards = new int[0];
+    double[] rewards = new double[0];
+    int[] bonusSymbols = new int[0];
+    int[] winOffsets = new int[1];
+    int[] winSymbols = new int[0];
+    int[] winCombinations = new int[0];
+
+    public SpinBatch(CompiledConfig plan) {
+        this.plan = plan;
+    }
+
+    void reset(int count) {
+        size = count;
+        if (rewards.length < count) {
+            boards = new int[Math.multiplyExact(count, plan.cellCount())];
+            rewards = new double[count];
+            bonusSymbols = new int[count];
+            winOffsets = new int[count + 1];
+        }
+        winOffsets[0] = 0;
+    }
+
+    void appendWins(int spin, SpinResult result) {
+        int end = winOffsets[spin];
+        int needed = end + plan.standardSymbolCount() * result.slots();
+        if (winSymbols.length < needed) {
+            int capacity = Math.max(needed, winSymbols.length * 2);
+            winSymbols = Arrays.copyOf(winSymbols, capacity);
+            winCombinations = Arrays.copyOf(winCombinations, capacity);
+        }
+        for (int symbol = 0; symbol < plan.standardSymbolCount(); symbol++) {
+            for (int slot = 0; slot < result.slots(); slot++) {
+                int combination = result.combination(symbol, slot);
+                if (combination != SpinResult.NO_COMBINATION) {
+                    winSymbols[end] = symbol;
+                    winCombinations[end++] = combination;
+                }
+            }
+        }
+        winOffsets[spin + 1] = end;
+    }
+
+    public CompiledConfig plan() {
+        return plan;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** All boards, {@code plan().cellCount()} symbol ids per spin. */
+    public int[] boards() {
+        return boards;
+    }
+
+    public int symbolAt(int spin, int cell) {
+        return boards[spin * plan.cellCount() + cell];
+    }
+
+    public double[] rewards() {
+        return rewards;
+    }
+
+    public double reward(int spin) {
+        return rewards[spin];
+    }
+
+    public int[] bonusSymbols() {
+        return bonusSymbols;
+    }
+
+    public int bonusSymbol(int spin) {
+        return bonusSymbols[spin];
+    }
+
+    public int[] winOffsets() {
+        return winOffsets;
+    }
+
+    public int[] winSymbols() {
+        return winSymbols;
+    }
+
+    public int[] winCombinations() {
+        return winCombinations;
+    }
+
+    public int winOffset(int spin) {
+        return winOffsets[spin];
+    }
+
+    public GameResult toGameResult(int spin) {
+        if (spin < 0 || spin >= size) {
+            throw new IndexOutOfBoundsException("Spin " + spin + " outside batch of " + size);
+        }
+        var matrix = new String[plan.rows()][plan.columns()];
+        for (int row = 0; row < plan.rows(); row++) {
+            for (int col = 0; col < plan.columns(); col++) {
+                matrix[row][col] = plan.symbolName(symbolAt(spin, plan.cellIndex(row, col)));
+            }
+        }
+        var winningCombinations = new HashMap<String, List<String>>();
+        for (int win = winOffsets[spin]; win < winOffsets[spin + 1]; win++) {
+            winningCombinations.computeIfAbsent(plan.symbolName(winSymbols[win]), s -> new ArrayList<>())
+                    .add(plan.combinationName(winCombinations[win]));
+        }
+        return new GameResult(matrix, rewards[spin], winningCombinations, plan.symbolName(bonusSymbols[spin]));
+    }
+}
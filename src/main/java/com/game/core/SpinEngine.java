@@ -0,0 +1,290 @@
+package com.game.core;
+
+import com.game.model.GameResult;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Allocation-free spin loop over a {@link CompiledConfig}. The board, histogram and result holder
+ * are reused across spins, so an engine must be confined to one thread; create one per thread
+ * through {@link Game#newEngine()}.
+ *
+ * <p>Every spin draws a seed from the supplied generator and its board from a {@link SplitMix64}
+ * reseeded with it, so a spin can be {@link #replay replayed} from its seed, and a seeded run draws the
+ * same boards whether or not a {@link SpinListener} is attached. A {@link SecureRandom} is drawn from
+ * directly unless a listener needs seeds: its spins are not reproducible anyway, and every board then
+ * keeps the generator's full entropy.
+ */
+public final class SpinEngine {
+    public static final double BONUS_SYMBOL_PROBABILITY = 0.2;
+
+    private final CompiledConfig plan;
+    private final BoardEvaluator evaluator;
+    private final RandomGenerator random;
+    private final SpinResult result;
+    private final SpinMetrics metrics;
+    private final boolean timed;
+    private final SpinListener listener;
+    private final boolean audited;
+    // Per-spin seeds come from the supplied generator; boards from spinRandom, reseeded with each one
+    private final boolean reseeded;
+    private final RandomGenerator seeds;
+    private final SplitMix64 spinRandom = new SplitMix64(0);
+    private long[] batchSeeds = new long[0];
+
+    public SpinEngine(CompiledConfig plan, RandomGenerator random) {
+        this(plan, random, SpinMetrics.NOOP, SpinListener.NONE);
+    }
+
+    public SpinEngine(CompiledConfig plan, RandomGenerator random, SpinMetrics metrics) {
+        this(plan, random, metrics, SpinListener.NONE);
+    }
+
+    public SpinEngine(CompiledConfig plan, RandomGenerator random, SpinMetrics metrics, SpinListener listener) {
+        this(new BoardEvaluator(plan), random, metrics, listener);
+    }
+
+    /** Engine spinning on {@code evaluator}'s plan, e.g. an evaluator backed by an {@link OutcomeCache}. */
+    public SpinEngine(BoardEvaluator evaluator, RandomGenerator random, SpinMetrics metrics, SpinListener listener) {
+        this.plan = evaluator.plan();
+        this.evaluator = evaluator;
+        this.result = new SpinResult(plan);
+        this.metrics = metrics;
+        this.timed = metrics != SpinMetrics.NOOP;
+        this.listener = listener;
+        this.audited = listener != SpinListener.NONE;
+        this.reseeded = audited || !(random instanceof SecureRandom);
+        this.seeds = random;
+        this.random = reseeded ? spinRandom : random;
+    }
+
+    public CompiledConfig plan() {
+        return plan;
+    }
+
+    public SpinMetrics metrics() {
+        return metrics;
+    }
+
+    public SpinListener listener() {
+        return listener;
+    }
+
+    /** Runs one spin; the returned result is overwritten by the next call. */
+    public SpinResult spin(double betAmount) {
+        if (betAmount <= 0) {
+            throw new IllegalArgumentException("Bet amount must be positive");
+        }
+        return spin(betAmount, 0, null);
+    }
+
+    /** Runs one spin in money mode: the bet and reward are exact amounts of minor units. */
+    public SpinResult spin(long betMinor, FixedPointRewards rewards) {
+        if (betMinor <= 0) {
+            throw new IllegalArgumentException("Bet amount must be positive");
+        }
+        if (rewards.plan() != plan) {
+            throw new IllegalArgumentException("Rewards were created for a different config");
+        }
+        return spin(rewards.toDouble(betMinor), betMinor, rewards);
+    }
+
+    /**
+     * Re-draws and evaluates the spin that was reported with {@code seed}, without passing it to the
+     * metrics or listener. The result is overwritten by the next call.
+     */
+    public SpinResult replay(long seed, double betAmount) {
+        if (betAmount <= 0) {
+            throw new IllegalArgumentException("Bet amount must be positive");
+        }
+        spinRandom.reseed(seed);
+        draw(result.board, 0, spinRandom);
+        evaluator.evaluate(result);
+        evaluator.calculateReward(result, betAmount);
+        return result;
+    }
+
+    /** As {@link #replay(long, double)} for a spin that was played in money mode. */
+    public SpinResult replay(long seed, long betMinor, FixedPointRewards rewards) {
+        if (betMinor <= 0) {
+            throw new IllegalArgumentException("Bet amount must be positive");
+        }
+        if (rewards.plan() != plan) {
+            throw new IllegalArgumentException("Rewards were created for a different config");
+        }
+        spinRandom.reseed(seed);
+        draw(result.board, 0, spinRandom);
+        evaluator.evaluate(result);
+        rewards.calculateReward(result, betMinor);
+        return result;
+    }
+
+    /**
+     * Runs one spin priced at every stake of {@code betAmounts}: the board is drawn and evaluated once,
+     * and {@code rewards[i]} receives the reward for {@code betAmounts[i]}. Metrics and the listener see
+     * one outcome per stake, each with the spin's seed; the result keeps the last stake's reward.
+     */
+    public SpinResult spin(double[] betAmounts, double[] rewards) {
+        if (betAmounts.length == 0) {
+            throw new IllegalArgumentException("At least one bet amount is required");
+        }
+        if (rewards.length < betAmounts.length) {
+            throw new IllegalArgumentException("Rewards must have room for every bet amount");
+        }
+        for (var betAmount : betAmounts) {
+            if (betAmount <= 0) {
+                throw new IllegalArgumentException("Bet amount must be positive");
+            }
+        }
+        long start = timed ? System.nanoTime() : 0;
+        long seed = nextSeed();
+        draw(result.board, 0, random);
+        long drawn = timed ? System.nanoTime() : 0;
+        evaluator.evaluate(result);
+        if (timed) {
+            metrics.recordGenerate(drawn - start);
+            metrics.recordEvaluate(System.nanoTime() - drawn);
+        }
+        for (int stake = 0; stake < betAmounts.length; stake++) {
+            rewards[stake] = evaluator.calculateReward(result, betAmounts[stake]);
+            if (timed) {
+                metrics.recordOutcome(result, betAmounts[stake]);
+            }
+            if (audited) {
+                listener.onSpin(seed, betAmounts[stake], result);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Plays one board priced at every stake of {@code betAmounts}, evaluating it once, as
+     * {@link #spin(double[], double[])}. The results share the board, combinations and bonus symbol and
+     * differ only in reward.
+     */
+    public List<GameResult> spinStakes(double[] betAmounts) {
+        var rewards = new double[betAmounts.length];
+        spin(betAmounts, rewards);
+        var matrix = result.toMatrix();
+        var winningCombinations = result.toWinningCombinations();
+        var bonusSymbol = plan.symbolName(result.bonusSymbol());
+        var results = new ArrayList<GameResult>(rewards.length);
+        for (var reward : rewards) {
+            results.add(new GameResult(matrix, reward, winningCombinations, bonusSymbol));
+        }
+        return results;
+    }
+
+    private SpinResult spin(double betAmount, long betMinor, FixedPointRewards rewards) {
+        long start = timed ? System.nanoTime() : 0;
+        long seed = nextSeed();
+        draw(result.board, 0, random);
+        long drawn = timed ? System.nanoTime() : 0;
+        evaluator.evaluate(result);
+        if (rewards == null) {
+            evaluator.calculateReward(result, betAmount);
+        } else {
+            rewards.calculateReward(result, betMinor);
+        }
+        if (timed) {
+            metrics.recordGenerate(drawn - start);
+            metrics.recordEvaluate(System.nanoTime() - drawn);
+            metrics.recordOutcome(result, betAmount);
+        }
+        if (audited) {
+            listener.onSpin(seed, betAmount, result);
+        }
+        return result;
+    }
+
+    /** Draws a new board into the reusable result without evaluating it. */
+    public SpinResult generate() {
+        nextSeed();
+        draw(result.board, 0, random);
+        return result;
+    }
+
+    /**
+     * Draws and evaluates {@code count} spins straight into {@code batch}'s columns.
+     * The batch is cleared first and grown if needed, so it can be reused between calls.
+     */
+    public SpinBatch spinBatch(double betAmount, int count, SpinBatch batch) {
+        if (betAmount <= 0) {
+            throw new IllegalArgumentException("Bet amount must be positive");
+        }
+        if (count < 0) {
+            throw new IllegalArgumentException("Batch size must not be negative");
+        }
+        if (batch.plan() != plan) {
+            throw new IllegalArgumentException("Batch was created for a different config");
+        }
+        batch.reset(count);
+        var boards = batch.boards;
+        int cells = plan.cellCount();
+
+        // Draw every board first so the evaluation pass streams over one contiguous array
+        if (audited && batchSeeds.length < count) {
+            batchSeeds = new long[count];
+        }
+        for (int spin = 0; spin < count; spin++) {
+            long seed = nextSeed();
+            if (audited) {
+                batchSeeds[spin] = seed;
+            }
+            draw(boards, spin * cells, random);
+        }
+        for (int spin = 0; spin < count; spin++) {
+            evaluator.evaluate(result, boards, spin * cells);
+            batch.rewards[spin] = evaluator.calculateReward(result, betAmount);
+            batch.bonusSymbols[spin] = result.bonusSymbol;
+            batch.appendWins(spin, result);
+            if (timed) {
+                metrics.recordOutcome(result, betAmount);
+            }
+            if (audited) {
+                // Batch boards live in the batch; give the listener a complete result
+                System.arraycopy(boards, spin * cells, result.board, 0, cells);
+                listener.onSpin(batchSeeds[spin], betAmount, result);
+            }
+        }
+        return batch;
+    }
+
+    // Seed of the next spin, or 0 when drawing straight from a SecureRandom
+    private long nextSeed() {
+        if (!reseeded) {
+            return 0;
+        }
+        long seed = seeds.nextLong();
+        spinRandom.reseed(seed);
+        return seed;
+    }
+
+    private void draw(int[] board, int offset, RandomGenerator random) {
+        int cells = plan.cellCount();
+        Arrays.fill(board, offset, offset + cells, CompiledConfig.NO_SYMBOL);
+
+        // Fill with standard symbols
+        for (int cell = 0; cell < cells; cell++) {
+            var sampler = plan.cellSampler(cell);
+            if (sampler.size() > 0) {
+                board[offset + cell] = sampler.sample(random);
+            }
+        }
+
+        // Add random bonus symbol, unless the config has none to draw
+        var bonusSampler = plan.bonusSampler();
+        if (bonusSampler.size() > 0 && random.nextDouble() < BONUS_SYMBOL_PROBABILITY) {
+            var row = random.nextInt(plan.rows());
+            var col = random.nextInt(plan.columns());
+            board[offset + plan.cellIndex(row, col)] = bonusSampler.sample(random);
+        }
+    }
+
+    public BoardEvaluator evaluator() {
+        return evaluator;
+    }
+}
@@ -0,0 +1,14 @@
+package com.game.core;
+
+/**
+ * Observes every evaluated spin together with the seed it was drawn from, so
+ * {@link SpinEngine#replay(long, double)} reproduces the spin exactly. Attaching a listener does not
+ * change which boards a seeded engine draws.
+ */
+@FunctionalInterface
+public interface SpinListener {
+    SpinListener NONE = (seed, betAmount, result) -> {};
+
+    /** Called on the spinning thread; {@code result} is only valid for the duration of the call. */
+    void onSpin(long seed, double betAmount, SpinResult result);
+}
@@ -0,0 +1,27 @@
+package com.game.core;
+
+/**
+ * Receives timings and outcomes from the spin path. Engines only read the clock when metrics are not
+ * {@link #NOOP}, so leaving them disabled costs one predictable branch per spin.
+ */
+public interface SpinMetrics {
+    SpinMetrics NOOP = new SpinMetrics() {};
+
+    /** Time to play one spin end to end, including building its {@code GameResult}. */
+    default void recordPlay(long nanos) {}
+
+    /** Time to draw one board. */
+    default void recordGenerate(long nanos) {}
+
+    /** Time to resolve combinations and reward for one board. */
+    default void recordEvaluate(long nanos) {}
+
+    /** Called once per evaluated spin; {@code result} is only valid for the duration of the call. */
+    default void recordOutcome(SpinResult result, double betAmount) {}
+
+    /**
+     * Called by {@link Game} when these metrics are attached and before each reloaded plan is published.
+     * Spins on earlier plans may still arrive afterwards, from engines that have not been rebuilt yet.
+     */
+    default void recordPlan(CompiledConfig plan) {}
+}
@@ -0,0 +1,148 @@
+package com.game.core;
+
+import com.game.model.GameResult;
+import java.util.*;
+
+/**
+ * Mutable, reusable outcome of one spin over a {@link CompiledConfig}.
+ * The board is held as symbol ids; {@code String[][]} and {@link GameResult} are only built on request.
+ */
+public final class SpinResult {
+    public static final int NO_COMBINATION = -1;
+    /** {@link #moneyDecimals()} of a reward computed in doubles rather than minor units. */
+    public static final int NO_MONEY = -1;
+
+    private final CompiledConfig plan;
+    final int[] board;
+    final int[] counts;
+    // Occupancy bitmask per standard symbol, plan.maskWords() longs each
+    final long[] masks;
+    // One slot per combination group for every standard symbol
+    final int slots;
+    final int[] combinations;
+    int bonusSymbol = CompiledConfig.NO_SYMBOL;
+    double baseMultiplier;
+    double reward;
+    int moneyDecimals = NO_MONEY;
+    long betMinor;
+    long rewardMinor;
+
+    public SpinResult(CompiledConfig plan) {
+        this.plan = plan;
+        this.board = new int[plan.cellCount()];
+        this.counts = new int[plan.standardSymbolCount()];
+        this.masks = new long[plan.standardSymbolCount() * plan.maskWords()];
+        this.slots = plan.groupCount();
+        this.combinations = new int[plan.standardSymbolCount() * slots];
+    }
+
+    public CompiledConfig plan() {
+        return plan;
+    }
+
+    public int[] board() {
+        return board;
+    }
+
+    public int symbolAt(int cell) {
+        return board[cell];
+    }
+
+    public int count(int symbol) {
+        return counts[symbol];
+    }
+
+    /** Word {@code word} of the cells occupied by standard {@code symbol}. */
+    public long mask(int symbol, int word) {
+        return masks[symbol * plan.maskWords() + word];
+    }
+
+    /** Number of combination slots per symbol, one per combination group. */
+    public int slots() {
+        return slots;
+    }
+
+    /** Combination applied to {@code symbol} from group {@code slot}, or {@link #NO_COMBINATION}. */
+    public int combination(int symbol, int slot) {
+        return combinations[symbol * slots + slot];
+    }
+
+    public boolean hasWin(int symbol) {
+        for (int slot = 0; slot < slots; slot++) {
+            if (combinations[symbol * slots + slot] != NO_COMBINATION) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int bonusSymbol() {
+        return bonusSymbol;
+    }
+
+    /**
+     * Reward per unit bet before the bonus symbol: symbol multiplier times its combination multipliers,
+     * summed over winning symbols. Depends only on the board, so one evaluation prices any stake.
+     */
+    public double baseMultiplier() {
+        return baseMultiplier;
+    }
+
+    public double reward() {
+        return reward;
+    }
+
+    /** Money scale the reward was computed at, or {@link #NO_MONEY}; see {@link FixedPointRewards}. */
+    public int moneyDecimals() {
+        return moneyDecimals;
+    }
+
+    /** Bet in minor units; only set by spins in money mode. */
+    public long betMinor() {
+        return betMinor;
+    }
+
+    /** Exact reward in minor units; only set by spins in money mode, see {@link FixedPointRewards}. */
+    public long rewardMinor() {
+        return rewardMinor;
+    }
+
+    /** Loads an externally built matrix so it can be evaluated. */
+    public void load(String[][] matrix) {
+        System.arraycopy(plan.toBoard(matrix), 0, board, 0, board.length);
+    }
+
+    public String[][] toMatrix() {
+        var matrix = new String[plan.rows()][plan.columns()];
+        for (int row = 0; row < plan.rows(); row++) {
+            for (int col = 0; col < plan.columns(); col++) {
+                matrix[row][col] = plan.symbolName(board[plan.cellIndex(row, col)]);
+            }
+        }
+        return matrix;
+    }
+
+    public Map<String, List<String>> toWinningCombinations() {
+        var result = new HashMap<String, List<String>>();
+        for (int symbol = 0; symbol < counts.length; symbol++) {
+            List<String> symbolWins = null;
+            for (int slot = 0; slot < slots; slot++) {
+                int combination = combination(symbol, slot);
+                if (combination != NO_COMBINATION) {
+                    if (symbolWins == null) {
+                        symbolWins = new ArrayList<>();
+                    }
+                    symbolWins.add(plan.combinationName(combination));
+                }
+            }
+            if (symbolWins != null) {
+                result.put(plan.symbolName(symbol), symbolWins);
+            }
+        }
+        return result;
+    }
+
+    public GameResult toGameResult() {
+        return new GameResult(toMatrix(), reward, toWinningCombinations(), plan.symbolName(bonusSymbol));
+    }
+}
@@ -0,0 +1,256 @@
+package com.game.core;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Lock-free hand-off of spins from one spinning thread to several pipeline stages, e.g. a serializer
+ * and an audit log. Attached as a game's {@link SpinListener}, it encodes every spin into a fixed-size
+ * slot of an off-heap ring: seed, bet, rewards and money scale, base multiplier, bonus id, and the board, counts,
+ * masks and applied combinations as bulk-copied arrays. Each {@link Consumer} sees every spin in order
+ * and copies it into its own reusable {@link SpinResult}, so nothing is allocated or queued per spin.
+ *
+ * <p>Coordination is one published counter for the producer and one consumed counter per consumer,
+ * each on its own cache line. The producer waits only when the slowest consumer is a whole ring
+ * behind; idle threads spin briefly, then yield, then park. Exactly one thread may publish.
+ */
+public final class SpinRing implements SpinListener, AutoCloseable {
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private static final VarHandle SEQUENCES = MethodHandles.arrayElementVarHandle(long[].class);
+    // Longs between counters, so each sits on its own cache line
+    private static final int PAD = 16;
+    // Spinning and yielding only pay off when the other side has a core of its own
+    private static final boolean MULTICORE = Runtime.getRuntime().availableProcessors() > 1;
+    private static final int SPIN_TRIES = MULTICORE ? 100 : 0;
+    private static final int YIELD_TRIES = MULTICORE ? 100 : 0;
+    private static final long PARK_NANOS = 20_000;
+
+    // Slot layout, in bytes
+    private static final int SEED = 0;
+    private static final int BET = 8;
+    private static final int BET_MINOR = 16;
+    private static final int REWARD = 24;
+    private static final int REWARD_MINOR = 32;
+    private static final int BASE_MULTIPLIER = 40;
+    private static final int BONUS = 48;
+    private static final int MONEY_DECIMALS = 52;
+    private static final int BOARD = 56;
+
+    private final CompiledConfig plan;
+    private final int capacity;
+    private final int slotSize;
+    private final int countsOffset;
+    private final int combinationsOffset;
+    private final int masksOffset;
+    private final ByteBuffer slots;
+    // Views of the same memory, for bulk copies of the id and mask arrays
+    private final IntBuffer ints;
+    private final LongBuffer longs;
+    // [0] published, [(i + 1) * PAD] consumed by consumer i
+    private final long[] sequences;
+    private final Consumer[] consumers;
+    private volatile boolean closed;
+    private volatile Throwable failure;
+
+    // Producer only
+    private long published;
+    private long gate;
+
+    /** Ring of {@code capacity} slots (a power of two) read by {@code consumers} stages. */
+    public SpinRing(CompiledConfig plan, int capacity, int consumers) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Ring capacity must be a power of two");
+        }
+        if (consumers <= 0) {
+            throw new IllegalArgumentException("At least one consumer is required");
+        }
+        this.plan = plan;
+        this.capacity = capacity;
+        this.countsOffset = BOARD + Integer.BYTES * plan.cellCount();
+        this.combinationsOffset = countsOffset + Integer.BYTES * plan.standardSymbolCount();
+        int combinations = plan.standardSymbolCount() * plan.groupCount();
+        this.masksOffset = align(combinationsOffset + Integer.BYTES * combinations, Long.BYTES);
+        this.slotSize = align(masksOffset + Long.BYTES * plan.standardSymbolCount() * plan.maskWords(), 64);
+        if ((long) slotSize * capacity > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Ring of " + capacity + " slots is too large for this board");
+        }
+        this.slots = ByteBuffer.allocateDirect(slotSize * capacity).order(ByteOrder.nativeOrder());
+        this.ints = slots.asIntBuffer();
+        this.longs = slots.asLongBuffer();
+
+        this.sequences = new long[(consumers + 1) * PAD];
+        this.consumers = new Consumer[consumers];
+        for (int i = 0; i < consumers; i++) {
+            this.consumers[i] = new Consumer((i + 1) * PAD);
+        }
+    }
+
+    public CompiledConfig plan() {
+        return plan;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public int consumers() {
+        return consumers.length;
+    }
+
+    /** Consumer {@code index}; each must be read from a single thread. */
+    public Consumer consumer(int index) {
+        return consumers[index];
+    }
+
+    /**
+     * Publishes a spin, waiting while the slowest consumer is a full ring behind.
+     *
+     * @throws IllegalStateException if the ring is closed or a consumer has failed
+     */
+    @Override
+    public void onSpin(long seed, double betAmount, SpinResult result) {
+        if (result.plan() != plan) {
+            throw new IllegalArgumentException("Spin of a different plan than the ring's");
+        }
+        if (closed) {
+            throw new IllegalStateException("Spin ring is closed");
+        }
+        var failed = failure;
+        if (failed != null) {
+            throw new IllegalStateException("Spin pipeline stage failed: " + failed.getMessage(), failed);
+        }
+        long sequence = published;
+        if (sequence - capacity >= gate) {
+            awaitSlot(sequence);
+        }
+
+        int base = (int) (sequence & (capacity - 1)) * slotSize;
+        slots.putLong(base + SEED, seed)
+                .putDouble(base + BET, betAmount)
+                .putLong(base + BET_MINOR, result.betMinor)
+                .putDouble(base + REWARD, result.reward)
+                .putLong(base + REWARD_MINOR, result.rewardMinor)
+                .putDouble(base + BASE_MULTIPLIER, result.baseMultiplier)
+                .putInt(base + BONUS, result.bonusSymbol)
+                .putInt(base + MONEY_DECIMALS, result.moneyDecimals);
+        ints.put((base + BOARD) / Integer.BYTES, result.board)
+                .put((base + countsOffset) / Integer.BYTES, result.counts)
+                .put((base + combinationsOffset) / Integer.BYTES, result.combinations);
+        longs.put((base + masksOffset) / Long.BYTES, result.masks);
+
+        published = sequence + 1;
+        SEQUENCES.setRelease(sequences, 0, published);
+    }
+
+    /** Marks the end of the stream; consumers finish the spins already published. */
+    @Override
+    public void close() {
+        closed = true;
+    }
+
+    private void awaitSlot(long sequence) {
+        for (int attempt = 0; ; attempt++) {
+            gate = slowestConsumer();
+            if (sequence - capacity < gate) {
+                return;
+            }
+            idle(attempt);
+        }
+    }
+
+    private long slowestConsumer() {
+        long slowest = Long.MAX_VALUE;
+        for (var consumer : consumers) {
+            slowest = Math.min(slowest, (long) SEQUENCES.getAcquire(sequences, consumer.index));
+        }
+        return slowest;
+    }
+
+    // Busy-spins for microsecond hand-offs, then backs off so an idle stage does not hold a core
+    private static void idle(int attempt) {
+        if (attempt < SPIN_TRIES) {
+            Thread.onSpinWait();
+        } else if (attempt < SPIN_TRIES + YIELD_TRIES) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(PARK_NANOS);
+        }
+    }
+
+    private static int align(int offset, int alignment) {
+        return (offset + alignment - 1) / alignment * alignment;
+    }
+
+    /** One stage's view of the ring; it reads every published spin exactly once, in order. */
+    public final class Consumer {
+        private final int index;
+        private final SpinResult result = new SpinResult(plan);
+        private long next;
+        private long available;
+
+        private Consumer(int index) {
+            this.index = index;
+        }
+
+        /** Hands the next published spin to {@code handler}; returns false when there is none yet. */
+        public boolean poll(SpinListener handler) {
+            if (next == available && next == (available = (long) SEQUENCES.getAcquire(sequences, 0))) {
+                return false;
+            }
+            read(handler);
+            return true;
+        }
+
+        /**
+         * Hands every spin to {@code handler} until the ring is closed and fully read, and returns how
+         * many there were. If {@code handler} throws, this consumer stops holding the producer back and
+         * the producer fails on its next spin.
+         */
+        public long drain(SpinListener handler) {
+            long count = 0;
+            for (int attempt = 0; ; ) {
+                if (poll(handler)) {
+                    count++;
+                    attempt = 0;
+                } else if (closed && next == (long) SEQUENCES.getAcquire(sequences, 0)) {
+                    return count;
+                } else {
+                    idle(attempt++);
+                }
+            }
+        }
+
+        private void read(SpinListener handler) {
+            int base = (int) (next & (capacity - 1)) * slotSize;
+            long seed = slots.getLong(base + SEED);
+            double betAmount = slots.getDouble(base + BET);
+            result.betMinor = slots.getLong(base + BET_MINOR);
+            result.reward = slots.getDouble(base + REWARD);
+            result.rewardMinor = slots.getLong(base + REWARD_MINOR);
+            result.baseMultiplier = slots.getDouble(base + BASE_MULTIPLIER);
+            result.bonusSymbol = slots.getInt(base + BONUS);
+            result.moneyDecimals = slots.getInt(base + MONEY_DECIMALS);
+
+            ints.get((base + BOARD) / Integer.BYTES, result.board)
+                    .get((base + countsOffset) / Integer.BYTES, result.counts)
+                    .get((base + combinationsOffset) / Integer.BYTES, result.combinations);
+            longs.get((base + masksOffset) / Long.BYTES, result.masks);
+
+            // The slot is copied out, so the producer may reuse it while the handler runs
+            SEQUENCES.setRelease(sequences, index, ++next);
+            try {
+                handler.onSpin(seed, betAmount, result);
+            } catch (RuntimeException | Error e) {
+                failure = e;
+                SEQUENCES.setRelease(sequences, index, Long.MAX_VALUE);
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.game.core;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * SplitMix64 generator whose whole state is one {@code long}, so it can be reseeded in place.
+ * Engines reseed it before every spin, which makes each spin replayable from its seed alone.
+ */
+public final class SplitMix64 implements RandomGenerator {
+    private long state;
+
+    public SplitMix64(long seed) {
+        this.state = seed;
+    }
+
+    public void reseed(long seed) {
+        this.state = seed;
+    }
+
+    @Override
+    public long nextLong() {
+        long z = (state += 0x9E3779B97F4A7C15L);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
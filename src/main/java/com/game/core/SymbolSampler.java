@@ -0,0 +1,112 @@
+package com.game.core;
+
+import java.util.*;
+import java.util.random.RandomGenerator;
+
+/**
+ * Weighted draw over interned symbol ids using Vose's alias method, built once from a probability map.
+ * Each draw is O(1) regardless of how many symbols the cell carries. Thresholds are kept in integer
+ * units of the total weight, so the sampled distribution matches the configured weights exactly.
+ * Symbols are laid out in ascending id order so draws do not depend on map iteration order.
+ */
+public final class SymbolSampler {
+    private final int[] symbols;
+    private final int[] alias;
+    private final int[] thresholds;
+    private final int total;
+
+    private SymbolSampler(int[] symbols, int[] alias, int[] thresholds, int total) {
+        this.symbols = symbols;
+        this.alias = alias;
+        this.thresholds = thresholds;
+        this.total = total;
+    }
+
+    // Everything a draw depends on, so equal tables can be shared between plans
+    Object[] table() {
+        return new Object[]{symbols, alias, thresholds, total};
+    }
+
+    static SymbolSampler of(Map<String, Integer> weights, CompiledConfig plan) {
+        if (weights == null || weights.isEmpty()) {
+            return new SymbolSampler(new int[0], new int[0], new int[0], 0);
+        }
+        var byId = new TreeMap<Integer, Integer>();
+        weights.forEach((name, weight) -> byId.put(plan.symbolId(name), weight));
+
+        int n = byId.size();
+        var symbols = new int[n];
+        var scaled = new long[n];
+        long total = 0;
+        int i = 0;
+        for (var entry : byId.entrySet()) {
+            symbols[i] = entry.getKey();
+            scaled[i++] = entry.getValue();
+            total += entry.getValue();
+        }
+        if (total <= 0 || total > Integer.MAX_VALUE) {
+            return new SymbolSampler(symbols, symbols.clone(), new int[n], 0);
+        }
+
+        // Column i keeps its own symbol while a draw in [0, total) is below thresholds[i]
+        for (i = 0; i < n; i++) {
+            scaled[i] *= n;
+        }
+        var alias = symbols.clone();
+        var thresholds = new int[n];
+        var small = new ArrayDeque<Integer>();
+        var large = new ArrayDeque<Integer>();
+        for (i = 0; i < n; i++) {
+            (scaled[i] < total ? small : large).add(i);
+        }
+        while (!small.isEmpty() && !large.isEmpty()) {
+            int less = small.poll();
+            int more = large.poll();
+            thresholds[less] = (int) scaled[less];
+            alias[less] = symbols[more];
+            scaled[more] -= total - scaled[less];
+            (scaled[more] < total ? small : large).add(more);
+        }
+        for (var column : large) {
+            thresholds[column] = (int) total;
+        }
+        for (var column : small) {
+            thresholds[column] = (int) total;
+        }
+        return new SymbolSampler(symbols, alias, thresholds, (int) total);
+    }
+
+    public int sample(RandomGenerator random) {
+        if (total <= 0) {
+            throw new IllegalStateException("No symbol weights to draw from");
+        }
+        int column = random.nextInt(symbols.length);
+        return random.nextInt(total) < thresholds[column] ? symbols[column] : alias[column];
+    }
+
+    public int size() {
+        return symbols.length;
+    }
+
+    /** Symbol in column {@code index}; columns are in ascending id order. */
+    public int symbol(int index) {
+        return symbols[index];
+    }
+
+    /** Probability of drawing {@code symbol}, derived from the alias table. */
+    public double probability(int symbol) {
+        if (total <= 0) {
+            return 0;
+        }
+        long mass = 0;
+        for (int i = 0; i < symbols.length; i++) {
+            if (symbols[i] == symbol) {
+                mass += thresholds[i];
+            }
+            if (alias[i] == symbol) {
+                mass += total - thresholds[i];
+            }
+        }
+        return (double) mass / ((long) total * symbols.length);
+    }
+}
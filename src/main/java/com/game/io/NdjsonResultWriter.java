@@ -0,0 +1,97 @@
+package com.game.io;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.game.core.CompiledConfig;
+import com.game.core.SpinResult;
+import com.game.model.GameResult;
+import com.game.model.GameResultSerializer;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Streams results as newline-delimited JSON through one long-lived {@link JsonGenerator}.
+ * {@link SpinResult}s are written straight from their symbol ids, so no {@code String[][]},
+ * maps or {@link GameResult} are built on the way out. Not thread-safe.
+ */
+public class NdjsonResultWriter implements AutoCloseable {
+    private static final JsonFactory FACTORY = JsonFactory.builder().build();
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final JsonGenerator generator;
+    private final GameResultSerializer serializer = new GameResultSerializer();
+
+    public NdjsonResultWriter(OutputStream out) throws IOException {
+        this.generator = FACTORY.createGenerator(new BufferedOutputStream(out, BUFFER_SIZE), JsonEncoding.UTF8);
+        // Values are terminated by a newline instead of the default space separator
+        generator.setPrettyPrinter(new MinimalPrettyPrinter(""));
+    }
+
+    public void write(GameResult result) throws IOException {
+        serializer.serialize(result, generator, null);
+        generator.writeRaw('\n');
+    }
+
+    public void write(SpinResult result) throws IOException {
+        var plan = result.plan();
+        generator.writeStartObject();
+
+        generator.writeFieldName(GameResultSerializer.MATRIX);
+        generator.writeStartArray();
+        for (int row = 0; row < plan.rows(); row++) {
+            generator.writeStartArray();
+            for (int col = 0; col < plan.columns(); col++) {
+                writeSymbol(plan, result.symbolAt(plan.cellIndex(row, col)));
+            }
+            generator.writeEndArray();
+        }
+        generator.writeEndArray();
+
+        generator.writeNumberField(GameResultSerializer.REWARD, result.reward());
+
+        generator.writeFieldName(GameResultSerializer.APPLIED_WINNING_COMBINATIONS);
+        generator.writeStartObject();
+        for (int symbol = 0; symbol < plan.standardSymbolCount(); symbol++) {
+            if (!result.hasWin(symbol)) {
+                continue;
+            }
+            generator.writeFieldName(plan.symbolName(symbol));
+            generator.writeStartArray();
+            for (int slot = 0; slot < result.slots(); slot++) {
+                int combination = result.combination(symbol, slot);
+                if (combination != SpinResult.NO_COMBINATION) {
+                    generator.writeString(plan.combinationName(combination));
+                }
+            }
+            generator.writeEndArray();
+        }
+        generator.writeEndObject();
+
+        generator.writeFieldName(GameResultSerializer.APPLIED_BONUS_SYMBOL);
+        writeSymbol(plan, result.bonusSymbol());
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    private void writeSymbol(CompiledConfig plan, int symbol) throws IOException {
+        if (symbol == CompiledConfig.NO_SYMBOL) {
+            generator.writeNull();
+        } else {
+            generator.writeString(plan.symbolName(symbol));
+        }
+    }
+
+    public void flush() throws IOException {
+        generator.flush();
+    }
+
+    /** Flushes and closes the underlying stream. */
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+}
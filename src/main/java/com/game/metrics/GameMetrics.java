@@ -0,0 +1,258 @@
+package com.game.metrics;
+
+import com.game.core.CompiledConfig;
+import com.game.core.SpinMetrics;
+import com.game.core.SpinResult;
+
+import javax.management.*;
+import java.lang.management.ManagementFactory;
+import java.util.*;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link SpinMetrics} built on {@link LongAdder}s, so threads recording spins never contend on a
+ * shared counter. Hit counts are kept by the ids of the live plan: the one last passed to
+ * {@link #recordPlan}, or else the first one seen. A reload restarts them for the new plan while spin
+ * totals, RTP and latencies carry on; hits of spins still finishing on an older plan are not counted, so
+ * they never reset the live tally.
+ */
+public class GameMetrics implements SpinMetrics, GameMetricsMXBean {
+    private static final String[] IMPACTS = {"none", "multiply_reward", "extra_bonus", "miss"};
+
+    private final LatencyHistogram play = new LatencyHistogram();
+    private final LatencyHistogram generate = new LatencyHistogram();
+    private final LatencyHistogram evaluate = new LatencyHistogram();
+    private final LongAdder spins = new LongAdder();
+    private final LongAdder winningSpins = new LongAdder();
+    private final DoubleAdder totalBet = new DoubleAdder();
+    private final DoubleAdder totalReward = new DoubleAdder();
+    private final LongAdder[] impactHits = adders(IMPACTS.length);
+    private volatile Tally tally;
+
+    /** Hit counters indexed by the ids of one plan. */
+    private record Tally(CompiledConfig plan, LongAdder[] symbolHits, LongAdder[] combinationHits) {
+        Tally(CompiledConfig plan) {
+            this(plan, adders(plan.standardSymbolCount()), adders(plan.combinationCount()));
+        }
+    }
+
+    @Override
+    public void recordPlay(long nanos) {
+        play.record(nanos);
+    }
+
+    @Override
+    public void recordGenerate(long nanos) {
+        generate.record(nanos);
+    }
+
+    @Override
+    public void recordEvaluate(long nanos) {
+        evaluate.record(nanos);
+    }
+
+    @Override
+    public void recordOutcome(SpinResult result, double betAmount) {
+        spins.increment();
+        totalBet.add(betAmount);
+        // Bonus symbols land on losing boards too, and their impact counts must cover those spins
+        if (result.bonusSymbol() != CompiledConfig.NO_SYMBOL) {
+            impactHits[result.plan().impact(result.bonusSymbol())].increment();
+        }
+        double reward = result.reward();
+        if (reward <= 0) {
+            return;
+        }
+        winningSpins.increment();
+        totalReward.add(reward);
+
+        var tally = tallyFor(result.plan());
+        if (tally == null) {
+            return;
+        }
+        for (int symbol = 0; symbol < tally.symbolHits.length; symbol++) {
+            if (result.count(symbol) == 0 || !result.hasWin(symbol)) {
+                continue;
+            }
+            tally.symbolHits[symbol].increment();
+            for (int slot = 0; slot < result.slots(); slot++) {
+                int combination = result.combination(symbol, slot);
+                if (combination != SpinResult.NO_COMBINATION) {
+                    tally.combinationHits[combination].increment();
+                }
+            }
+        }
+    }
+
+    /** Starts counting hits for {@code plan}; it replaces the live tally only when it is a different plan. */
+    @Override
+    public synchronized void recordPlan(CompiledConfig plan) {
+        if (tally == null || tally.plan != plan) {
+            tally = new Tally(plan);
+        }
+    }
+
+    // The live tally, or null for a spin on any other plan
+    private Tally tallyFor(CompiledConfig plan) {
+        var current = tally;
+        if (current == null) {
+            synchronized (this) {
+                if (tally == null) {
+                    tally = new Tally(plan);
+                }
+                current = tally;
+            }
+        }
+        return current.plan == plan ? current : null;
+    }
+
+    /**
+     * Registers this instance as {@code com.game:type=GameMetrics,name=<name>} on the platform MBean server.
+     * The name is quoted, so it may contain characters such as {@code ,}, {@code =} or {@code :}.
+     */
+    public ObjectName register(String name) {
+        try {
+            var objectName = new ObjectName("com.game",
+                    new Hashtable<>(Map.of("type", "GameMetrics", "name", ObjectName.quote(name))));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+            return objectName;
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register metrics for " + name, e);
+        }
+    }
+
+    @Override
+    public long getSpins() {
+        return spins.sum();
+    }
+
+    @Override
+    public long getWinningSpins() {
+        return winningSpins.sum();
+    }
+
+    @Override
+    public double getTotalBet() {
+        return totalBet.sum();
+    }
+
+    @Override
+    public double getTotalReward() {
+        return totalReward.sum();
+    }
+
+    @Override
+    public double getRtp() {
+        double bet = totalBet.sum();
+        return bet == 0 ? 0 : totalReward.sum() / bet;
+    }
+
+    @Override
+    public long getPlayP50Nanos() {
+        return play.percentile(50);
+    }
+
+    @Override
+    public long getPlayP99Nanos() {
+        return play.percentile(99);
+    }
+
+    @Override
+    public long getPlayMaxNanos() {
+        return play.max();
+    }
+
+    @Override
+    public long getGenerateP50Nanos() {
+        return generate.percentile(50);
+    }
+
+    @Override
+    public long getGenerateP99Nanos() {
+        return generate.percentile(99);
+    }
+
+    @Override
+    public long getEvaluateP50Nanos() {
+        return evaluate.percentile(50);
+    }
+
+    @Override
+    public long getEvaluateP99Nanos() {
+        return evaluate.percentile(99);
+    }
+
+    @Override
+    public Map<String, Long> getSymbolHits() {
+        var hits = new TreeMap<String, Long>();
+        var current = tally;
+        if (current != null) {
+            for (int symbol = 0; symbol < current.symbolHits.length; symbol++) {
+                hits.put(current.plan.symbolName(symbol), current.symbolHits[symbol].sum());
+            }
+        }
+        return hits;
+    }
+
+    @Override
+    public Map<String, Long> getCombinationHits() {
+        var hits = new TreeMap<String, Long>();
+        var current = tally;
+        if (current != null) {
+            for (int combination = 0; combination < current.combinationHits.length; combination++) {
+                hits.put(current.plan.combinationName(combination), current.combinationHits[combination].sum());
+            }
+        }
+        return hits;
+    }
+
+    @Override
+    public Map<String, Long> getBonusImpactHits() {
+        var hits = new TreeMap<String, Long>();
+        for (int impact = 0; impact < IMPACTS.length; impact++) {
+            hits.put(IMPACTS[impact], impactHits[impact].sum());
+        }
+        return hits;
+    }
+
+    /** Plain-text snapshot, one {@code key value} pair per line. */
+    @Override
+    public String dump() {
+        var out = new StringBuilder();
+        line(out, "spins", getSpins());
+        line(out, "winning_spins", getWinningSpins());
+        line(out, "total_bet", getTotalBet());
+        line(out, "total_reward", getTotalReward());
+        line(out, "rtp", getRtp());
+        histogram(out, "play", play);
+        histogram(out, "generate", generate);
+        histogram(out, "evaluate", evaluate);
+        getSymbolHits().forEach((symbol, hits) -> line(out, "symbol_hits{symbol=" + symbol + "}", hits));
+        getCombinationHits().forEach((name, hits) -> line(out, "combination_hits{combination=" + name + "}", hits));
+        getBonusImpactHits().forEach((impact, hits) -> line(out, "bonus_impact_hits{impact=" + impact + "}", hits));
+        return out.toString();
+    }
+
+    private static void histogram(StringBuilder out, String name, LatencyHistogram histogram) {
+        line(out, name + "_count", histogram.count());
+        line(out, name + "_mean_nanos", histogram.mean());
+        line(out, name + "_p50_nanos", histogram.percentile(50));
+        line(out, name + "_p90_nanos", histogram.percentile(90));
+        line(out, name + "_p99_nanos", histogram.percentile(99));
+        line(out, name + "_p999_nanos", histogram.percentile(99.9));
+        line(out, name + "_max_nanos", histogram.max());
+    }
+
+    private static void line(StringBuilder out, String key, Object value) {
+        out.append(key).append(' ').append(value).append('\n');
+    }
+
+    private static LongAdder[] adders(int size) {
+        var adders = new LongAdder[size];
+        for (int i = 0; i < size; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+}
@@ -0,0 +1,38 @@
+package com.game.metrics;
+
+import java.util.Map;
+
+/** JMX view of a {@link GameMetrics}; latencies are in nanoseconds. */
+public interface GameMetricsMXBean {
+    long getSpins();
+
+    long getWinningSpins();
+
+    double getTotalBet();
+
+    double getTotalReward();
+
+    double getRtp();
+
+    long getPlayP50Nanos();
+
+    long getPlayP99Nanos();
+
+    long getPlayMaxNanos();
+
+    long getGenerateP50Nanos();
+
+    long getGenerateP99Nanos();
+
+    long getEvaluateP50Nanos();
+
+    long getEvaluateP99Nanos();
+
+    Map<String, Long> getSymbolHits();
+
+    Map<String, Long> getCombinationHits();
+
+    Map<String, Long> getBonusImpactHits();
+
+    String dump();
+}
@@ -1,9 +1,11 @@
 package com.game.model;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import java.util.List;
 import java.util.Map;
 
+@JsonSerialize(using = GameResultSerializer.class)
 public record GameResult(
         String[][] matrix,
         double reward,
@@ -0,0 +1,63 @@
+package com.game.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/** Writes a {@link GameResult} field by field, without reflective record introspection. */
+public class GameResultSerializer extends StdSerializer<GameResult> {
+    public static final String MATRIX = "matrix";
+    public static final String REWARD = "reward";
+    public static final String APPLIED_WINNING_COMBINATIONS = "applied_winning_combinations";
+    public static final String APPLIED_BONUS_SYMBOL = "applied_bonus_symbol";
+
+    public GameResultSerializer() {
+        super(GameResult.class);
+    }
+
+    @Override
+    public void serialize(GameResult result, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartObject();
+
+        generator.writeFieldName(MATRIX);
+        if (result.matrix() == null) {
+            generator.writeNull();
+        } else {
+            generator.writeStartArray();
+            for (var row : result.matrix()) {
+                generator.writeArray(row, 0, row.length);
+            }
+            generator.writeEndArray();
+        }
+
+        generator.writeNumberField(REWARD, result.reward());
+
+        generator.writeFieldName(APPLIED_WINNING_COMBINATIONS);
+        writeCombinations(result.appliedWinningCombinations(), generator);
+
+        generator.writeStringField(APPLIED_BONUS_SYMBOL, result.appliedBonusSymbol());
+        generator.writeEndObject();
+    }
+
+    private static void writeCombinations(Map<String, List<String>> combinations, JsonGenerator generator)
+            throws IOException {
+        if (combinations == null) {
+            generator.writeNull();
+            return;
+        }
+        generator.writeStartObject();
+        for (var entry : combinations.entrySet()) {
+            generator.writeFieldName(entry.getKey());
+            generator.writeStartArray();
+            for (var combination : entry.getValue()) {
+                generator.writeString(combination);
+            }
+            generator.writeEndArray();
+        }
+        generator.writeEndObject();
+    }
+}
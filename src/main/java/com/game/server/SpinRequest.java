@@ -0,0 +1,13 @@
+package com.game.server;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public record SpinRequest(
+        @JsonProperty("betting_amount")
+        double bettingAmount,
+
+        Integer count,
+
+        @JsonProperty("betting_amounts")
+        double[] bettingAmounts
+) {}
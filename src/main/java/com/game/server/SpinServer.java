@@ -0,0 +1,149 @@
+package com.game.server;
+
+import com.fasterxml.jackson.core.JacksonException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.game.core.Game;
+import com.game.core.SpinBatch;
+import com.game.metrics.GameMetrics;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Long-running HTTP front end over warm {@link Game} instances, one per named config.
+ *
+ * <pre>
+ * POST /spin?game=name        {"betting_amount": 100}             -> GameResult
+ * POST /spin/batch?game=name  {"betting_amount": 100, "count": 50} -> [GameResult, ...]
+ * POST /spin/stakes?game=name {"betting_amounts": [1, 5, 20]}      -> [GameResult, ...] of one board
+ * GET  /metrics                                                    -> text dump of instrumented games
+ * </pre>
+ *
+ * The {@code game} parameter may be left out when only one config is served. Every route spins on the
+ * worker thread's own {@link Game#engine() engine} of the game, so spins never contend on shared state
+ * and no request builds an engine.
+ */
+public class SpinServer implements AutoCloseable {
+    public static final int MAX_BATCH = 10_000;
+    public static final int MAX_STAKES = 100;
+
+    private final Map<String, Game> games;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final ExecutorService executor;
+    private final HttpServer server;
+
+    public SpinServer(int port, Map<String, Game> games, int threads) throws IOException {
+        if (games.isEmpty()) {
+            throw new IllegalArgumentException("At least one game config is required");
+        }
+        this.games = Map.copyOf(games);
+        this.executor = Executors.newFixedThreadPool(threads);
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.createContext("/spin", this::handle);
+        server.createContext("/metrics", this::handleMetrics);
+        server.setExecutor(executor);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                respond(exchange, 405, Map.of("error", "Use POST"));
+                return;
+            }
+            var path = exchange.getRequestURI().getPath();
+            var game = resolve(exchange.getRequestURI().getRawQuery());
+            if (game == null) {
+                respond(exchange, 404, Map.of("error", "Unknown game"));
+                return;
+            }
+            var request = mapper.readValue(exchange.getRequestBody(), SpinRequest.class);
+
+            switch (path) {
+                case "/spin" -> respond(exchange, 200, game.engine().spin(request.bettingAmount()).toGameResult());
+                case "/spin/batch" -> {
+                    int count = request.count() != null ? request.count() : 1;
+                    if (count <= 0 || count > MAX_BATCH) {
+                        throw new IllegalArgumentException("Batch count must be between 1 and " + MAX_BATCH);
+                    }
+                    var engine = game.engine();
+                    var batch = engine.spinBatch(request.bettingAmount(), count, new SpinBatch(engine.plan()));
+                    var results = new ArrayList<>(count);
+                    for (int spin = 0; spin < count; spin++) {
+                        results.add(batch.toGameResult(spin));
+                    }
+                    respond(exchange, 200, results);
+                }
+                case "/spin/stakes" -> {
+                    var stakes = request.bettingAmounts();
+                    if (stakes == null || stakes.length == 0 || stakes.length > MAX_STAKES) {
+                        throw new IllegalArgumentException("Betting amounts must hold 1 to " + MAX_STAKES + " stakes");
+                    }
+                    respond(exchange, 200, game.engine().spinStakes(stakes));
+                }
+                default -> respond(exchange, 404, Map.of("error", "Unknown path: " + path));
+            }
+        } catch (IllegalArgumentException | JacksonException e) {
+            respond(exchange, 400, Map.of("error", String.valueOf(e.getMessage())));
+        } catch (RuntimeException e) {
+            respond(exchange, 500, Map.of("error", String.valueOf(e.getMessage())));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleMetrics(HttpExchange exchange) throws IOException {
+        try {
+            var out = new StringBuilder();
+            games.forEach((name, game) -> {
+                if (game.metrics() instanceof GameMetrics metrics) {
+                    out.append("# game ").append(name).append('\n').append(metrics.dump());
+                }
+            });
+            var bytes = out.toString().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+            exchange.sendResponseHeaders(200, bytes.length);
+            exchange.getResponseBody().write(bytes);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private Game resolve(String query) {
+        if (query != null) {
+            for (var parameter : query.split("&")) {
+                if (parameter.startsWith("game=")) {
+                    return games.get(URLDecoder.decode(parameter.substring(5), StandardCharsets.UTF_8));
+                }
+            }
+        }
+        return games.size() == 1 ? games.values().iterator().next() : null;
+    }
+
+    private void respond(HttpExchange exchange, int status, Object body) throws IOException {
+        var bytes = mapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,453 @@
+package com.game.simulation;
+
+import com.game.core.*;
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * Computes the exact return of a config from the probability of every outcome instead of sampling.
+ *
+ * <p>A standard symbol's contribution depends on how many cells it occupies and, for line rules, on
+ * which of the cells reached by a covered area it occupies. Only those area cells are enumerated board
+ * by board; every other cell matters through the symbol counts alone, so the joint distribution of
+ * their counts is built by a DP over count vectors, in which all orderings of the same symbols
+ * collapse into one state. Area masks that score alike at every count are merged into one class per
+ * symbol, and the bet-independent value of every (symbol, class, free count) is evaluated once up
+ * front with the regular {@link BoardEvaluator}. An outcome is then a sum of table lookups.
+ *
+ * <p>The bonus draw is folded in analytically: a board without a bonus, plus for every cell the
+ * boards where that cell is taken by a bonus symbol. Free cells drawing from the same sampler are
+ * interchangeable, so their blanked distribution is only built once.
+ */
+public class ExactRtpCalculator {
+    public static final long DEFAULT_MAX_BOARDS = 1L << 31;
+
+    private static final int MAX_AREA_CELLS = 20;
+    private static final int MIN_TASKS = 256;
+
+    // Shared with TierSampler, which draws boards from the same outcome classes
+    final CompiledConfig plan;
+    final int cells;
+    final int symbols;
+    final int[][] cellSymbols;
+    final double[][] cellProbabilities;
+    // Cells reached by some covered area, in area mask bit order, and all other cells
+    final int[] areaCells;
+    final int[] freeCells;
+    // maskClasses[symbol][area mask] -> class; classValues[symbol][class][free count] -> base multiplier share
+    final int[][] maskClasses;
+    final double[][][] classValues;
+    final long classRadix;
+    final long countRadix;
+
+    public ExactRtpCalculator(CompiledConfig plan) {
+        this(plan, DEFAULT_MAX_BOARDS);
+    }
+
+    /** Calculator refusing configs whose area cells or free cell counts exceed {@code maxBoards} outcomes. */
+    public ExactRtpCalculator(CompiledConfig plan, long maxBoards) {
+        this.plan = plan;
+        this.cells = plan.cellCount();
+        this.symbols = plan.standardSymbolCount();
+
+        this.cellSymbols = new int[cells][];
+        this.cellProbabilities = new double[cells][];
+        for (int cell = 0; cell < cells; cell++) {
+            var sampler = plan.cellSampler(cell);
+            cellSymbols[cell] = new int[sampler.size()];
+            cellProbabilities[cell] = new double[sampler.size()];
+            for (int k = 0; k < sampler.size(); k++) {
+                cellSymbols[cell][k] = sampler.symbol(k);
+                cellProbabilities[cell][k] = sampler.probability(sampler.symbol(k));
+            }
+        }
+
+        var reached = new TreeSet<Integer>();
+        for (int combination = 0; combination < plan.combinationCount(); combination++) {
+            if (plan.combinationRule(combination) == CompiledConfig.LINEAR_SYMBOLS) {
+                for (var area : plan.coveredAreas(combination)) {
+                    for (var cell : area) {
+                        reached.add(cell);
+                    }
+                }
+            }
+        }
+        this.areaCells = reached.stream().mapToInt(Integer::intValue).toArray();
+        this.freeCells = IntStream.range(0, cells).filter(cell -> !reached.contains(cell)).toArray();
+        if (areaCells.length > MAX_AREA_CELLS) {
+            throw new IllegalArgumentException("Covered areas reach " + areaCells.length
+                    + " cells, too many to enumerate exactly");
+        }
+        if (boardCount(-1) > maxBoards / (areaCells.length + 1L) || countStates() > maxBoards) {
+            throw new IllegalArgumentException("Config has more than " + maxBoards + " boards to enumerate");
+        }
+
+        this.maskClasses = new int[symbols][];
+        this.classValues = new double[symbols][][];
+        tabulate();
+        int widest = 1;
+        for (var values : classValues) {
+            widest = Math.max(widest, values.length);
+        }
+        this.classRadix = widest;
+        this.countRadix = freeCells.length + 1;
+        if (power(classRadix, symbols) == Long.MAX_VALUE || power(countRadix, symbols) == Long.MAX_VALUE) {
+            throw new IllegalArgumentException("Config has too many outcome classes to enumerate");
+        }
+    }
+
+    public ExactRtpReport calculate(double betAmount) {
+        if (betAmount <= 0) {
+            throw new IllegalArgumentException("Bet amount must be positive");
+        }
+
+        var distribution = new TreeMap<Double, Double>();
+        var areas = enumerate(-1);
+        var counts = countFree(-1);
+        var withoutBonus = combine(areas, counts);
+        long enumerated = (long) areas.size() * counts.size();
+        var bonusSampler = plan.bonusSampler();
+        // Spins skip the bonus draw of a config without bonus symbols
+        double bonusProbability = bonusSampler.size() == 0 ? 0 : SpinEngine.BONUS_SYMBOL_PROBABILITY;
+        withoutBonus.forEach((base, p) ->
+                distribution.merge(betAmount * base, p * (1 - bonusProbability), Double::sum));
+        double cellProbability = bonusProbability / cells;
+        var blankFree = new IdentityHashMap<SymbolSampler, Map<Double, Double>>();
+        for (int cell = 0; cell < cells; cell++) {
+            Map<Double, Double> boards;
+            if (cellSymbols[cell].length == 0) {
+                boards = withoutBonus;
+            } else if (Arrays.binarySearch(areaCells, cell) >= 0) {
+                var blankAreas = enumerate(cell);
+                boards = combine(blankAreas, counts);
+                enumerated += (long) blankAreas.size() * counts.size();
+            } else {
+                var sampler = plan.cellSampler(cell);
+                boards = blankFree.get(sampler);
+                if (boards == null) {
+                    var blankCounts = countFree(cell);
+                    boards = combine(areas, blankCounts);
+                    enumerated += (long) areas.size() * blankCounts.size();
+                    blankFree.put(sampler, boards);
+                }
+            }
+            for (int k = 0; k < bonusSampler.size(); k++) {
+                int bonus = bonusSampler.symbol(k);
+                double p = cellProbability * bonusSampler.probability(bonus);
+                boards.forEach((base, q) ->
+                        distribution.merge(applyBonus(betAmount * base, bonus), p * q, Double::sum));
+            }
+        }
+
+        double expected = 0;
+        double hits = 0;
+        for (var entry : distribution.entrySet()) {
+            expected += entry.getKey() * entry.getValue();
+            if (entry.getKey() > 0) {
+                hits += entry.getValue();
+            }
+        }
+        return new ExactRtpReport(betAmount, expected / betAmount, hits, enumerated, distribution);
+    }
+
+    double applyBonus(double reward, int bonus) {
+        if (reward <= 0 || !plan.isBonus(bonus)) {
+            return reward;
+        }
+        return switch (plan.impact(bonus)) {
+            case CompiledConfig.IMPACT_MULTIPLY -> reward * plan.rewardMultiplier(bonus);
+            case CompiledConfig.IMPACT_EXTRA -> reward + plan.extra(bonus);
+            default -> reward;
+        };
+    }
+
+    /**
+     * Classes every area mask of every standard symbol by its bet-independent value at each number of
+     * copies on the free cells; free cells are in no area, so which of them the copies take is irrelevant.
+     */
+    private void tabulate() {
+        var evaluator = new BoardEvaluator(plan);
+        var result = new SpinResult(plan);
+        var board = result.board();
+        for (int symbol = 0; symbol < symbols; symbol++) {
+            var classes = new HashMap<List<Double>, Integer>();
+            maskClasses[symbol] = new int[1 << areaCells.length];
+            for (int mask = 0; mask < maskClasses[symbol].length; mask++) {
+                Arrays.fill(board, CompiledConfig.NO_SYMBOL);
+                for (int bit = 0; bit < areaCells.length; bit++) {
+                    if ((mask & (1 << bit)) != 0) {
+                        board[areaCells[bit]] = symbol;
+                    }
+                }
+                var values = new ArrayList<Double>(freeCells.length + 1);
+                for (int count = 0; count <= freeCells.length; count++) {
+                    if (count > 0) {
+                        board[freeCells[count - 1]] = symbol;
+                    }
+                    evaluator.evaluate(result);
+                    values.add(result.baseMultiplier());
+                }
+                maskClasses[symbol][mask] = classes.computeIfAbsent(values, v -> classes.size());
+            }
+            var values = new double[classes.size()][];
+            classes.forEach((row, id) -> values[id] = row.stream().mapToDouble(Double::doubleValue).toArray());
+            classValues[symbol] = values;
+        }
+    }
+
+    private long boardCount(int blank) {
+        long count = 1;
+        for (var cell : areaCells) {
+            if (cell != blank && cellSymbols[cell].length > 0) {
+                try {
+                    count = Math.multiplyExact(count, cellSymbols[cell].length);
+                } catch (ArithmeticException e) {
+                    return Long.MAX_VALUE;
+                }
+            }
+        }
+        return count;
+    }
+
+    // Upper bound on count vectors of the free cells: C(free + symbols, symbols), counting other symbols too
+    private long countStates() {
+        long states = 1;
+        for (int k = 1; k <= symbols; k++) {
+            try {
+                states = Math.multiplyExact(states, freeCells.length + k) / k;
+            } catch (ArithmeticException e) {
+                return Long.MAX_VALUE;
+            }
+        }
+        return states;
+    }
+
+    private static long power(long radix, int exponent) {
+        long value = 1;
+        for (int i = 0; i < exponent; i++) {
+            try {
+                value = Math.multiplyExact(value, radix);
+            } catch (ArithmeticException e) {
+                return Long.MAX_VALUE;
+            }
+        }
+        return value;
+    }
+
+    /** Distribution of the symbols' mask classes over the area cells, with {@code blank} left empty (-1 for none). */
+    Tally enumerate(int blank) {
+        // Split the leading cells into enough prefixes to keep every core busy
+        int depth = 0;
+        long tasks = 1;
+        while (depth < areaCells.length && tasks < MIN_TASKS) {
+            tasks *= width(areaCells[depth], blank);
+            depth++;
+        }
+        int splitDepth = depth;
+
+        return IntStream.range(0, (int) tasks).parallel()
+                .collect(Tally::new, (distribution, task) -> {
+                    var masks = new int[symbols];
+                    double probability = 1;
+                    int remainder = task;
+                    for (int bit = 0; bit < splitDepth; bit++) {
+                        int cell = areaCells[bit];
+                        if (cell == blank || cellSymbols[cell].length == 0) {
+                            continue;
+                        }
+                        int k = remainder % cellSymbols[cell].length;
+                        remainder /= cellSymbols[cell].length;
+                        probability *= cellProbabilities[cell][k];
+                        int symbol = cellSymbols[cell][k];
+                        if (plan.isStandard(symbol)) {
+                            masks[symbol] |= 1 << bit;
+                        }
+                    }
+                    descend(splitDepth, blank, masks, probability, distribution);
+                }, Tally::addAll);
+    }
+
+    private int width(int cell, int blank) {
+        return cell == blank || cellSymbols[cell].length == 0 ? 1 : cellSymbols[cell].length;
+    }
+
+    private void descend(int bit, int blank, int[] masks, double probability, Tally distribution) {
+        if (bit == areaCells.length) {
+            long key = 0;
+            for (int symbol = 0; symbol < symbols; symbol++) {
+                key = key * classRadix + maskClasses[symbol][masks[symbol]];
+            }
+            distribution.add(key, probability);
+            return;
+        }
+        int cell = areaCells[bit];
+        if (cell == blank || cellSymbols[cell].length == 0) {
+            descend(bit + 1, blank, masks, probability, distribution);
+            return;
+        }
+        var cellSymbols = this.cellSymbols[cell];
+        var probabilities = cellProbabilities[cell];
+        for (int k = 0; k < cellSymbols.length; k++) {
+            int symbol = cellSymbols[k];
+            boolean standard = plan.isStandard(symbol);
+            if (standard) {
+                masks[symbol] |= 1 << bit;
+            }
+            descend(bit + 1, blank, masks, probability * probabilities[k], distribution);
+            if (standard) {
+                masks[symbol] &= ~(1 << bit);
+            }
+        }
+    }
+
+    /** Distribution of the standard symbols' counts over the free cells, with {@code blank} left empty. */
+    Tally countFree(int blank) {
+        var place = places();
+        var distribution = new Tally();
+        distribution.add(0, 1.0);
+        for (var cell : freeCells) {
+            if (cell == blank || cellSymbols[cell].length == 0) {
+                continue;
+            }
+            var next = new Tally();
+            for (int entry = 0; entry < distribution.size(); entry++) {
+                long key = distribution.key(entry);
+                double p = distribution.probability(entry);
+                for (int k = 0; k < cellSymbols[cell].length; k++) {
+                    int symbol = cellSymbols[cell][k];
+                    next.add(plan.isStandard(symbol) ? key + place[symbol] : key, p * cellProbabilities[cell][k]);
+                }
+            }
+            distribution = next;
+        }
+        return distribution;
+    }
+
+    /** Value of one copy of each standard symbol in a count vector key. */
+    long[] places() {
+        var place = new long[symbols];
+        for (int symbol = symbols - 1, i = 0; symbol >= 0; symbol--, i++) {
+            place[symbol] = power(countRadix, i);
+        }
+        return place;
+    }
+
+    /** Distribution of the base multiplier over every pairing of an area outcome with a free count vector. */
+    Map<Double, Double> combine(Tally areas, Tally counts) {
+        var areaClasses = decode(areas, classRadix);
+        var freeCounts = decode(counts, countRadix);
+
+        var bases = IntStream.range(0, areaClasses.length).parallel()
+                .collect(Tally::new, (distribution, area) -> {
+                    var classes = areaClasses[area];
+                    double p = areas.probability(area);
+                    for (int free = 0; free < freeCounts.length; free++) {
+                        var count = freeCounts[free];
+                        double base = 0;
+                        for (int symbol = 0; symbol < symbols; symbol++) {
+                            base += classValues[symbol][classes[symbol]][count[symbol]];
+                        }
+                        distribution.add(Double.doubleToLongBits(base), p * counts.probability(free));
+                    }
+                }, Tally::addAll);
+
+        var distribution = new HashMap<Double, Double>();
+        for (int entry = 0; entry < bases.size(); entry++) {
+            distribution.put(Double.longBitsToDouble(bases.key(entry)), bases.probability(entry));
+        }
+        return distribution;
+    }
+
+    int[][] decode(Tally tally, long radix) {
+        var decoded = new int[tally.size()][symbols];
+        for (int entry = 0; entry < decoded.length; entry++) {
+            long key = tally.key(entry);
+            for (int symbol = symbols - 1; symbol >= 0; symbol--) {
+                decoded[entry][symbol] = (int) (key % radix);
+                key /= radix;
+            }
+        }
+        return decoded;
+    }
+
+    /**
+     * Probabilities summed by long key, in insertion order. Outcomes are tallied tens of millions of
+     * times per calculation, so this avoids the boxing of a {@code HashMap<Long, Double>}.
+     */
+    static final class Tally {
+        private long[] keys = new long[16];
+        private double[] probabilities = new double[16];
+        // Open-addressed index into keys, holding entry + 1 so that 0 marks a free slot
+        private int[] slots = new int[32];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        long key(int entry) {
+            return keys[entry];
+        }
+
+        double probability(int entry) {
+            return probabilities[entry];
+        }
+
+        /** Entry holding {@code key}, or -1. */
+        int indexOf(long key) {
+            int mask = slots.length - 1;
+            for (int slot = hash(key) & mask, entry; (entry = slots[slot]) != 0; slot = (slot + 1) & mask) {
+                if (keys[entry - 1] == key) {
+                    return entry - 1;
+                }
+            }
+            return -1;
+        }
+
+        void add(long key, double probability) {
+            int mask = slots.length - 1;
+            int slot = hash(key) & mask;
+            for (int entry; (entry = slots[slot]) != 0; slot = (slot + 1) & mask) {
+                if (keys[entry - 1] == key) {
+                    probabilities[entry - 1] += probability;
+                    return;
+                }
+            }
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                probabilities = Arrays.copyOf(probabilities, size * 2);
+            }
+            keys[size] = key;
+            probabilities[size] = probability;
+            slots[slot] = ++size;
+            if (size * 2 > slots.length) {
+                rehash();
+            }
+        }
+
+        void addAll(Tally other) {
+            for (int entry = 0; entry < other.size; entry++) {
+                add(other.keys[entry], other.probabilities[entry]);
+            }
+        }
+
+        private void rehash() {
+            slots = new int[slots.length * 2];
+            int mask = slots.length - 1;
+            for (int entry = 0; entry < size; entry++) {
+                int slot = hash(keys[entry]) & mask;
+                while (slots[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                slots[slot] = entry + 1;
+            }
+        }
+
+        // Keys are often doubles whose low bits are all zero, so every bit is mixed into the low ones
+        private static int hash(long key) {
+            key = (key ^ (key >>> 33)) * 0xFF51AFD7ED558CCDL;
+            key = (key ^ (key >>> 33)) * 0xC4CEB9FE1A85EC53L;
+            return (int) (key ^ (key >>> 33));
+        }
+    }
+}
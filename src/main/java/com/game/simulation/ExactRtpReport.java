@@ -0,0 +1,21 @@
+package com.game.simulation;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.SortedMap;
+
+public record ExactRtpReport(
+        @JsonProperty("betting_amount")
+        double bettingAmount,
+
+        double rtp,
+
+        @JsonProperty("hit_rate")
+        double hitRate,
+
+        // Outcome classes evaluated, each standing for all boards with the same area cells and symbol counts
+        @JsonProperty("enumerated_boards")
+        long enumeratedBoards,
+
+        // Reward amount -> probability
+        SortedMap<Double, Double> distribution
+) {}
@@ -0,0 +1,17 @@
+package com.game.simulation;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.Map;
+
+public record NearMissReport(
+        // Share of spins with a near miss, per combination
+        Map<String, Double> combinations,
+
+        // The same per combination and standard symbol, zero rates left out
+        @JsonProperty("by_symbol")
+        Map<String, Map<String, Double>> bySymbol,
+
+        // Per "row:column" cell, the share of spins showing each symbol there
+        @JsonProperty("cell_heatmap")
+        Map<String, Map<String, Double>> cellHeatmap
+) {}
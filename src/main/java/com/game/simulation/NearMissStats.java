@@ -0,0 +1,141 @@
+package com.game.simulation;
+
+import com.game.core.CompiledConfig;
+import com.game.core.SpinResult;
+import java.util.*;
+
+/**
+ * Per-thread near-miss and heatmap accumulator, fed from the board and the symbol counts a spin's
+ * evaluation already produced. A near miss is a standard symbol one short of a {@code same_symbols}
+ * count, or covering all but one cell of a {@code linear_symbols} area. Memory is fixed by the plan's
+ * size, whatever the spin count; not thread-safe, merged like {@link SimulationStats}.
+ */
+public final class NearMissStats {
+    private final CompiledConfig plan;
+    private final int standard;
+    // Spins with at least one near miss, per combination, and per combination and symbol
+    private final long[] combinationMisses;
+    private final long[] symbolMisses;
+    // Symbol occurrences per cell, cell * symbolCount + symbol
+    private final long[] cellSymbols;
+    // same_symbols combinations a symbol seen n times is one short of, indexed by n
+    private final int[][] oneShortOf;
+    // Every covered area of every linear_symbols combination, as cell indices, and its combination
+    private final int[][] areaCells;
+    private final int[] areaCombination;
+    // Spin number of each combination's last counted miss, so a spin counts once per combination
+    private final long[] lastMiss;
+    private long spins;
+
+    public NearMissStats(CompiledConfig plan) {
+        this.plan = plan;
+        this.standard = plan.standardSymbolCount();
+        this.combinationMisses = new long[plan.combinationCount()];
+        this.symbolMisses = new long[plan.combinationCount() * standard];
+        this.cellSymbols = new long[plan.cellCount() * plan.symbolCount()];
+        this.lastMiss = new long[plan.combinationCount()];
+
+        var oneShort = new ArrayList<List<Integer>>();
+        for (int count = 0; count <= plan.cellCount(); count++) {
+            oneShort.add(new ArrayList<>());
+        }
+        var areas = new ArrayList<int[]>();
+        var owners = new ArrayList<Integer>();
+        for (int combination = 0; combination < plan.combinationCount(); combination++) {
+            if (plan.combinationRule(combination) == CompiledConfig.SAME_SYMBOLS) {
+                int count = plan.requiredCount(combination) - 1;
+                if (count >= 0 && count <= plan.cellCount()) {
+                    oneShort.get(count).add(combination);
+                }
+                continue;
+            }
+            for (var area : plan.coveredAreas(combination)) {
+                if (area.length >= 2) {
+                    areas.add(area);
+                    owners.add(combination);
+                }
+            }
+        }
+        this.oneShortOf = oneShort.stream()
+                .map(ids -> ids.stream().mapToInt(Integer::intValue).toArray())
+                .toArray(int[][]::new);
+        this.areaCells = areas.toArray(int[][]::new);
+        this.areaCombination = owners.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    public void record(SpinResult result) {
+        spins++;
+        var board = result.board();
+        int symbols = plan.symbolCount();
+        for (int cell = 0; cell < board.length; cell++) {
+            if (board[cell] >= 0) {
+                cellSymbols[cell * symbols + board[cell]]++;
+            }
+        }
+
+        for (int symbol = 0; symbol < standard; symbol++) {
+            for (int combination : oneShortOf[result.count(symbol)]) {
+                miss(combination, symbol);
+            }
+        }
+
+        // A symbol on all but one cell of an area sits on its first or second cell
+        for (int i = 0; i < areaCells.length; i++) {
+            var cells = areaCells[i];
+            int first = board[cells[0]];
+            int second = board[cells[1]];
+            int firstCount = 0;
+            int secondCount = 0;
+            for (int cell : cells) {
+                firstCount += board[cell] == first ? 1 : 0;
+                secondCount += board[cell] == second ? 1 : 0;
+            }
+            if (firstCount == cells.length - 1 && plan.isStandard(first)) {
+                miss(areaCombination[i], first);
+            }
+            if (second != first && secondCount == cells.length - 1 && plan.isStandard(second)) {
+                miss(areaCombination[i], second);
+            }
+        }
+    }
+
+    private void miss(int combination, int symbol) {
+        symbolMisses[combination * standard + symbol]++;
+        if (lastMiss[combination] != spins) {
+            lastMiss[combination] = spins;
+            combinationMisses[combination]++;
+        }
+    }
+
+    public void merge(NearMissStats other) {
+        spins += other.spins;
+        add(combinationMisses, other.combinationMisses);
+        add(symbolMisses, other.symbolMisses);
+        add(cellSymbols, other.cellSymbols);
+    }
+
+    private static void add(long[] into, long[] from) {
+        for (int i = 0; i < into.length; i++) {
+            into[i] += from[i];
+        }
+    }
+
+    public long spins() {
+        return spins;
+    }
+
+    /** Spins with at least one symbol one short of {@code combination}. */
+    public long combinationMisses(int combination) {
+        return combinationMisses[combination];
+    }
+
+    /** Spins where standard {@code symbol} was one short of {@code combination}. */
+    public long symbolMisses(int combination, int symbol) {
+        return symbolMisses[combination * standard + symbol];
+    }
+
+    /** Spins that put {@code symbol} on {@code cell}. */
+    public long cellHits(int cell, int symbol) {
+        return cellSymbols[cell * plan.symbolCount() + symbol];
+    }
+}
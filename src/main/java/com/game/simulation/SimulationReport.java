@@ -0,0 +1,30 @@
+package com.game.simulation;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.Map;
+
+public record SimulationReport(
+        long spins,
+
+        @JsonProperty("total_bet")
+        double totalBet,
+
+        @JsonProperty("total_reward")
+        double totalReward,
+
+        double rtp,
+
+        @JsonProperty("hit_rate")
+        double hitRate,
+
+        double variance,
+
+        @JsonProperty("combination_frequency")
+        Map<String, Double> combinationFrequency,
+
+        // Only present when the simulation tracked near misses
+        @JsonProperty("near_misses")
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        NearMissReport nearMisses
+) {}
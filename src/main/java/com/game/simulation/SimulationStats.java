@@ -0,0 +1,116 @@
+package com.game.simulation;
+
+import com.game.core.CompiledConfig;
+import com.game.core.SpinResult;
+
+/**
+ * Per-thread accumulator for simulated spins. Not thread-safe; each worker owns one and they are
+ * merged once the workers finish. Return moments use Welford's update so long runs stay accurate.
+ */
+public final class SimulationStats {
+    private final CompiledConfig plan;
+    private final long[] combinationHits;
+    private final NearMissStats nearMisses;
+    private long spins;
+    private long wins;
+    private double totalBet;
+    private double totalReward;
+    private double meanReturn;
+    private double squaredDeviations;
+
+    public SimulationStats(CompiledConfig plan) {
+        this(plan, false);
+    }
+
+    /** With {@code nearMisses}, also tracks near misses and the per-cell symbol heatmap. */
+    public SimulationStats(CompiledConfig plan, boolean nearMisses) {
+        this.plan = plan;
+        this.combinationHits = new long[plan.combinationCount()];
+        this.nearMisses = nearMisses ? new NearMissStats(plan) : null;
+    }
+
+    public void record(SpinResult result, double betAmount) {
+        spins++;
+        totalBet += betAmount;
+        totalReward += result.reward();
+        if (result.reward() > 0) {
+            wins++;
+        }
+
+        double multiple = result.reward() / betAmount;
+        double delta = multiple - meanReturn;
+        meanReturn += delta / spins;
+        squaredDeviations += delta * (multiple - meanReturn);
+
+        for (int symbol = 0; symbol < plan.standardSymbolCount(); symbol++) {
+            for (int slot = 0; slot < result.slots(); slot++) {
+                int combination = result.combination(symbol, slot);
+                if (combination != SpinResult.NO_COMBINATION) {
+                    combinationHits[combination]++;
+                }
+            }
+        }
+        if (nearMisses != null) {
+            nearMisses.record(result);
+        }
+    }
+
+    /** Folds {@code other} into this accumulator (Chan et al. for the variance). */
+    public void merge(SimulationStats other) {
+        if (other.spins == 0) {
+            return;
+        }
+        long combined = spins + other.spins;
+        double delta = other.meanReturn - meanReturn;
+        squaredDeviations += other.squaredDeviations + delta * delta * spins * other.spins / combined;
+        meanReturn += delta * other.spins / combined;
+        spins = combined;
+        wins += other.wins;
+        totalBet += other.totalBet;
+        totalReward += other.totalReward;
+        for (int i = 0; i < combinationHits.length; i++) {
+            combinationHits[i] += other.combinationHits[i];
+        }
+        if (nearMisses != null && other.nearMisses != null) {
+            nearMisses.merge(other.nearMisses);
+        }
+    }
+
+    public long spins() {
+        return spins;
+    }
+
+    public long wins() {
+        return wins;
+    }
+
+    public double totalBet() {
+        return totalBet;
+    }
+
+    public double totalReward() {
+        return totalReward;
+    }
+
+    public double rtp() {
+        return totalBet == 0 ? 0 : totalReward / totalBet;
+    }
+
+    public double hitRate() {
+        return spins == 0 ? 0 : (double) wins / spins;
+    }
+
+    /** Sample variance of the per-spin return multiple ({@code reward / bet}). */
+    public double variance() {
+        return spins < 2 ? 0 : squaredDeviations / (spins - 1);
+    }
+
+    public long combinationHits(int combination) {
+        return combinationHits[combination];
+    }
+
+    /** Near-miss accumulator, or null when not tracked. */
+    public NearMissStats nearMisses() {
+        return nearMisses;
+    }
+}
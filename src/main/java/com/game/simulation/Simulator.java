@@ -0,0 +1,137 @@
+package com.game.simulation;
+
+import com.game.core.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.random.RandomGenerator.SplittableGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+/**
+ * Monte Carlo RTP simulator. Spins are split evenly across worker threads, each with its own
+ * engine, random stream and {@link SimulationStats}; nothing is shared until the final merge.
+ */
+public class Simulator {
+    private final CompiledConfig plan;
+    private final int threads;
+    private final SplittableGenerator root;
+    private OutcomeCache outcomeCache;
+    private boolean nearMisses;
+    private boolean vectorized;
+
+    public Simulator(CompiledConfig plan, int threads) {
+        this(plan, threads, (SplittableGenerator) RandomGeneratorFactory.of(RandomSource.DEFAULT_ALGORITHM).create());
+    }
+
+    /** A seeded simulator reproduces the same report for the same spin and thread counts. */
+    public Simulator(CompiledConfig plan, int threads, long seed) {
+        this(plan, threads, (SplittableGenerator) RandomGeneratorFactory.of(RandomSource.DEFAULT_ALGORITHM).create(seed));
+    }
+
+    private Simulator(CompiledConfig plan, int threads, SplittableGenerator root) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Thread count must be positive");
+        }
+        this.plan = plan;
+        this.threads = threads;
+        this.root = root;
+    }
+
+    /** Shares {@code cache} between the worker engines of later runs; null turns caching off. */
+    public void outcomeCache(OutcomeCache cache) {
+        this.outcomeCache = cache;
+    }
+
+    /** Counts boards with the Vector API when available (see {@link BoardEvaluator#vectorized}); needs no cache. */
+    public void vectorized(boolean enabled) {
+        this.vectorized = enabled;
+    }
+
+    /** Tracks near misses and the per-cell heatmap inline in later runs, at the cost of a few array updates. */
+    public void nearMisses(boolean enabled) {
+        this.nearMisses = enabled;
+    }
+
+    public SimulationStats run(long spins, double betAmount) {
+        if (spins <= 0) {
+            throw new IllegalArgumentException("Spin count must be positive");
+        }
+        if (betAmount <= 0) {
+            throw new IllegalArgumentException("Bet amount must be positive");
+        }
+
+        int workers = (int) Math.min(threads, spins);
+        var tasks = new ArrayList<Callable<SimulationStats>>(workers);
+        for (int i = 0; i < workers; i++) {
+            // Streams are split up front, in order, so a seeded run does not depend on scheduling
+            var evaluator = vectorized && outcomeCache == null
+                    ? BoardEvaluator.vectorized(plan)
+                    : new BoardEvaluator(plan, outcomeCache);
+            var engine = new SpinEngine(evaluator, root.split(), SpinMetrics.NOOP, SpinListener.NONE);
+            long share = spins / workers + (i < spins % workers ? 1 : 0);
+            tasks.add(() -> {
+                var stats = new SimulationStats(plan, nearMisses);
+                for (long spin = 0; spin < share; spin++) {
+                    stats.record(engine.spin(betAmount), betAmount);
+                }
+                return stats;
+            });
+        }
+
+        var executor = Executors.newFixedThreadPool(workers);
+        try {
+            var total = new SimulationStats(plan, nearMisses);
+            for (var future : executor.invokeAll(tasks)) {
+                total.merge(future.get());
+            }
+            return total;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Simulation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Simulation failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    public SimulationReport report(SimulationStats stats) {
+        var frequency = new TreeMap<String, Double>();
+        for (int combination = 0; combination < plan.combinationCount(); combination++) {
+            frequency.put(plan.combinationName(combination),
+                    stats.spins() == 0 ? 0 : (double) stats.combinationHits(combination) / stats.spins());
+        }
+        return new SimulationReport(stats.spins(), stats.totalBet(), stats.totalReward(),
+                stats.rtp(), stats.hitRate(), stats.variance(), frequency,
+                stats.nearMisses() != null ? nearMissReport(stats.nearMisses()) : null);
+    }
+
+    private NearMissReport nearMissReport(NearMissStats stats) {
+        double spins = Math.max(1, stats.spins());
+        var combinations = new TreeMap<String, Double>();
+        var bySymbol = new TreeMap<String, Map<String, Double>>();
+        for (int combination = 0; combination < plan.combinationCount(); combination++) {
+            var name = plan.combinationName(combination);
+            combinations.put(name, stats.combinationMisses(combination) / spins);
+            var symbols = new TreeMap<String, Double>();
+            for (int symbol = 0; symbol < plan.standardSymbolCount(); symbol++) {
+                long misses = stats.symbolMisses(combination, symbol);
+                if (misses > 0) {
+                    symbols.put(plan.symbolName(symbol), misses / spins);
+                }
+            }
+            bySymbol.put(name, symbols);
+        }
+        var heatmap = new LinkedHashMap<String, Map<String, Double>>();
+        for (int cell = 0; cell < plan.cellCount(); cell++) {
+            var symbols = new TreeMap<String, Double>();
+            for (int symbol = 0; symbol < plan.symbolCount(); symbol++) {
+                long hits = stats.cellHits(cell, symbol);
+                if (hits > 0) {
+                    symbols.put(plan.symbolName(symbol), hits / spins);
+                }
+            }
+            heatmap.put(cell / plan.columns() + ":" + cell % plan.columns(), symbols);
+        }
+        return new NearMissReport(combinations, bySymbol, heatmap);
+    }
+}
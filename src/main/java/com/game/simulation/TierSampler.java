@@ -0,0 +1,558 @@
+package com.game.simulation;
+
+import com.game.core.*;
+import com.game.simulation.ExactRtpCalculator.Tally;
+
+import java.util.*;
+import java.util.function.IntUnaryOperator;
+import java.util.random.RandomGenerator;
+
+/**
+ * Draws boards whose reward is one of a few tier amounts, each board exactly as likely as in normal
+ * play given the tier it pays, without spinning for them.
+ *
+ * <p>Built on the outcome classes of {@link ExactRtpCalculator}. A board is a bonus placement, an
+ * assignment of the area cells and an arrangement of the free cells, and its reward depends only on the
+ * placement, the mask classes of the area assignment and the symbol counts of the free cells. A draw
+ * walks that chain backwards: a placement and base multiplier by their probability within the tier, then
+ * an (area class, free count) pair with that base, then an area assignment of that class, and last an
+ * arrangement of the free cells with those counts. Rare tiers cost no more than common ones, and a tier
+ * the game cannot pay is known before anything is drawn.
+ *
+ * <p>Tickets are drawn in chunks of at most {@link #CHUNK}, so memory stays bounded however many are asked
+ * for. The pairs and area assignments of all tickets of one chunk are picked in a single ordered pass over
+ * the classes, at sorted uniform positions, so the cost of a chunk barely grows with its ticket count.
+ */
+public final class TierSampler {
+    /** Largest relative difference at which a reward still pays a tier's amount. */
+    public static final double TOLERANCE = 1e-9;
+    /** Most tickets drawn in one pass; draws within a tier are independent, so chunks only bound memory. */
+    public static final int CHUNK = 1 << 20;
+
+    private final ExactRtpCalculator classes;
+    private final CompiledConfig plan;
+    private final double betAmount;
+    private final double[] rewards;
+    private final long[] place;
+    private final List<Variant> variants = new ArrayList<>();
+    private final List<Placement> placements = new ArrayList<>();
+    // Free cells left to arrange when the bonus symbol takes cell c, at c + 1; at 0 when it takes none
+    private final FreeLayout[] layouts;
+    // Every (placement, base multiplier) paying a tier, with cumulative probabilities, per tier
+    private final Entry[][] entries;
+    private final double[][] cumulative;
+
+    /** Outcome classes of the boards with cell {@code blank} left empty (-1 for none). */
+    private record Variant(int blank, Tally areas, int[][] areaClasses, Tally counts, int[][] freeCounts,
+                           Map<Double, Double> bases) {}
+
+    /** The cell and symbol of the bonus draw ({@link CompiledConfig#NO_SYMBOL} for none), and its probability. */
+    private record Placement(int variant, int cell, int bonus, double probability) {}
+
+    private record Entry(int placement, double base) {}
+
+    /** Free cells in arranging order, and the count distribution of every suffix of them. */
+    private record FreeLayout(int[] cells, Tally[] suffixes) {}
+
+    /** Receives every drawn board, valid for the duration of the call. */
+    @FunctionalInterface
+    public interface Sink {
+        void accept(int tier, SpinResult result);
+    }
+
+    /**
+     * Sampler for boards paying {@code rewards} at {@code betAmount}; the amounts must be in ascending order.
+     *
+     * @throws IllegalArgumentException if two amounts are within {@link #TOLERANCE} of each other, or the
+     *                                  config is too large to enumerate by outcome class
+     */
+    public TierSampler(CompiledConfig plan, double betAmount, double[] rewards) {
+        if (betAmount <= 0) {
+            throw new IllegalArgumentException("Bet amount must be positive");
+        }
+        for (int tier = 1; tier < rewards.length; tier++) {
+            if (rewards[tier] <= rewards[tier - 1] || close(rewards[tier], rewards[tier - 1])) {
+                throw new IllegalArgumentException("Tiers must be distinct amounts in ascending order: "
+                        + rewards[tier - 1] + ", " + rewards[tier]);
+            }
+        }
+        this.classes = new ExactRtpCalculator(plan);
+        this.plan = plan;
+        this.betAmount = betAmount;
+        this.rewards = rewards.clone();
+        this.place = classes.places();
+
+        var bonusSampler = plan.bonusSampler();
+        double bonusProbability = bonusSampler.size() == 0 ? 0 : SpinEngine.BONUS_SYMBOL_PROBABILITY;
+        var areas = classes.enumerate(-1);
+        var counts = classes.countFree(-1);
+        variants.add(variant(-1, areas, counts));
+        placements.add(new Placement(0, -1, CompiledConfig.NO_SYMBOL, 1 - bonusProbability));
+        var bySampler = new IdentityHashMap<SymbolSampler, Integer>();
+        for (int cell = 0; cell < classes.cells && bonusProbability > 0; cell++) {
+            // Variants are shared the same way as the calculator shares its blanked distributions
+            int variant;
+            if (classes.cellSymbols[cell].length == 0) {
+                variant = 0;
+            } else if (Arrays.binarySearch(classes.areaCells, cell) >= 0) {
+                variants.add(variant(cell, classes.enumerate(cell), counts));
+                variant = variants.size() - 1;
+            } else {
+                var sampler = plan.cellSampler(cell);
+                var shared = bySampler.get(sampler);
+                if (shared == null) {
+                    variants.add(variant(cell, areas, classes.countFree(cell)));
+                    shared = variants.size() - 1;
+                    bySampler.put(sampler, shared);
+                }
+                variant = shared;
+            }
+            for (int k = 0; k < bonusSampler.size(); k++) {
+                int bonus = bonusSampler.symbol(k);
+                placements.add(new Placement(variant, cell, bonus,
+                        bonusProbability / classes.cells * bonusSampler.probability(bonus)));
+            }
+        }
+
+        this.layouts = new FreeLayout[classes.cells + 1];
+        layouts[0] = layout(-1);
+        for (int cell = 0; cell < classes.cells; cell++) {
+            boolean free = Arrays.binarySearch(classes.freeCells, cell) >= 0 && classes.cellSymbols[cell].length > 0;
+            layouts[cell + 1] = free ? layout(cell) : layouts[0];
+        }
+
+        var matched = new ArrayList<List<Entry>>();
+        var weights = new ArrayList<List<Double>>();
+        for (int tier = 0; tier < rewards.length; tier++) {
+            matched.add(new ArrayList<>());
+            weights.add(new ArrayList<>());
+        }
+        for (int p = 0; p < placements.size(); p++) {
+            var placement = placements.get(p);
+            if (placement.probability() <= 0) {
+                continue;
+            }
+            for (var base : variants.get(placement.variant()).bases().entrySet()) {
+                double reward = betAmount * base.getKey();
+                if (placement.bonus() != CompiledConfig.NO_SYMBOL) {
+                    reward = classes.applyBonus(reward, placement.bonus());
+                }
+                int tier = tierOf(this.rewards, reward);
+                if (tier >= 0) {
+                    matched.get(tier).add(new Entry(p, base.getKey()));
+                    weights.get(tier).add(placement.probability() * base.getValue());
+                }
+            }
+        }
+        this.entries = new Entry[rewards.length][];
+        this.cumulative = new double[rewards.length][];
+        for (int tier = 0; tier < rewards.length; tier++) {
+            entries[tier] = matched.get(tier).toArray(new Entry[0]);
+            cumulative[tier] = new double[entries[tier].length];
+            double sum = 0;
+            for (int entry = 0; entry < entries[tier].length; entry++) {
+                sum += weights.get(tier).get(entry);
+                cumulative[tier][entry] = sum;
+            }
+        }
+    }
+
+    /** Tier of {@code rewards} (ascending) that {@code reward} pays within {@link #TOLERANCE}, or -1. */
+    public static int tierOf(double[] rewards, double reward) {
+        int at = Arrays.binarySearch(rewards, reward);
+        if (at >= 0) {
+            return at;
+        }
+        int above = -at - 1;
+        if (above < rewards.length && close(rewards[above], reward)) {
+            return above;
+        }
+        if (above > 0 && close(rewards[above - 1], reward)) {
+            return above - 1;
+        }
+        return -1;
+    }
+
+    private static boolean close(double a, double b) {
+        return Math.abs(a - b) <= TOLERANCE * Math.max(1, Math.max(Math.abs(a), Math.abs(b)));
+    }
+
+    /** Probability that a spin pays tier {@code tier}; zero when the game never pays it. */
+    public double probability(int tier) {
+        var sums = cumulative[tier];
+        return sums.length == 0 ? 0 : sums[sums.length - 1];
+    }
+
+    /**
+     * Draws {@code quota[tier]} boards paying each tier and hands each to {@code sink}, evaluated and
+     * priced at the sampler's bet. The same random stream draws the same boards in the same order.
+     */
+    public void sample(long[] quota, RandomGenerator random, Sink sink) {
+        sample(quota, random, sink, CHUNK);
+    }
+
+    void sample(long[] quota, RandomGenerator random, Sink sink, int chunk) {
+        if (quota.length != rewards.length) {
+            throw new IllegalArgumentException("Expected a quota for each of the " + rewards.length + " tiers");
+        }
+        long total = 0;
+        for (int tier = 0; tier < quota.length; tier++) {
+            if (quota[tier] < 0 || (quota[tier] > 0 && probability(tier) == 0)) {
+                throw new IllegalArgumentException("Cannot draw " + quota[tier] + " boards paying " + rewards[tier]);
+            }
+            total += quota[tier];
+        }
+        if (total == 0) {
+            return;
+        }
+        var draw = new Draw((int) Math.min(total, chunk), random, sink);
+        var left = quota.clone();
+        var part = new long[quota.length];
+        while (total > 0) {
+            long room = chunk;
+            for (int tier = 0; tier < quota.length; tier++) {
+                part[tier] = Math.min(left[tier], room);
+                left[tier] -= part[tier];
+                room -= part[tier];
+            }
+            total -= chunk - room;
+            draw.run(part);
+        }
+    }
+
+    private Variant variant(int blank, Tally areas, Tally counts) {
+        return new Variant(blank, areas, classes.decode(areas, classes.classRadix), counts,
+                classes.decode(counts, classes.countRadix), new TreeMap<>(classes.combine(areas, counts)));
+    }
+
+    private FreeLayout layout(int blank) {
+        var cells = Arrays.stream(classes.freeCells)
+                .filter(cell -> cell != blank && classes.cellSymbols[cell].length > 0)
+                .toArray();
+        var suffixes = new Tally[cells.length + 1];
+        suffixes[cells.length] = new Tally();
+        suffixes[cells.length].add(0, 1.0);
+        for (int k = cells.length - 1; k >= 0; k--) {
+            var after = suffixes[k + 1];
+            var symbols = classes.cellSymbols[cells[k]];
+            var probabilities = classes.cellProbabilities[cells[k]];
+            var suffix = new Tally();
+            for (int entry = 0; entry < after.size(); entry++) {
+                for (int option = 0; option < symbols.length; option++) {
+                    long key = after.key(entry) + (plan.isStandard(symbols[option]) ? place[symbols[option]] : 0);
+                    suffix.add(key, after.probability(entry) * probabilities[option]);
+                }
+            }
+            suffixes[k] = suffix;
+        }
+        return new FreeLayout(cells, suffixes);
+    }
+
+    // Next of n ascending uniforms given the one before it (0 for the first), with n - drawn of them left
+    private static double nextUniform(double previous, long left, RandomGenerator random) {
+        return 1 - (1 - previous) * Math.pow(random.nextDouble(), 1.0 / left);
+    }
+
+    /** State of one {@link #sample} call, reused for each chunk; a draw is indexed by its position in the arrays. */
+    private final class Draw {
+        private final RandomGenerator random;
+        private final Sink sink;
+        private final SpinResult result = new SpinResult(plan);
+        private final BoardEvaluator evaluator = new BoardEvaluator(plan);
+        private final int[] tiers;
+        private final int[] placementOf;
+        private final double[] baseOf;
+        private final int[] areaOf;
+        private final int[] countOf;
+        private final double[] weights = new double[maxOptions()];
+
+        // Area walk of the current variant
+        private Variant variant;
+        private int[] requestOfArea;
+        private int[] byRequest;
+        private int[] start;
+        private int[] leavesTaken;
+        private double[] leafTarget;
+        private double[] leafUniform;
+        private double[] leafReached;
+        private int[][] lastLeaf;
+        private final int[] choice = new int[classes.areaCells.length];
+        private final int[] masks = new int[classes.symbols];
+
+        Draw(int capacity, RandomGenerator random, Sink sink) {
+            this.random = random;
+            this.sink = sink;
+            this.tiers = new int[capacity];
+            this.placementOf = new int[capacity];
+            this.baseOf = new double[capacity];
+            this.areaOf = new int[capacity];
+            this.countOf = new int[capacity];
+        }
+
+        void run(long[] quota) {
+            int drawn = 0;
+            for (int tier = 0; tier < quota.length; tier++) {
+                var sums = cumulative[tier];
+                for (long ticket = 0; ticket < quota[tier]; ticket++) {
+                    int at = Arrays.binarySearch(sums, random.nextDouble() * sums[sums.length - 1]);
+                    var entry = entries[tier][Math.min(at >= 0 ? at + 1 : -at - 1, sums.length - 1)];
+                    tiers[drawn] = tier;
+                    placementOf[drawn] = entry.placement();
+                    baseOf[drawn++] = entry.base();
+                }
+            }
+            var byVariant = bucket(drawn, variants.size(), draw -> placements.get(placementOf[draw]).variant());
+            for (int v = 0; v < variants.size(); v++) {
+                var draws = Arrays.copyOfRange(byVariant[0], byVariant[1][v], byVariant[1][v + 1]);
+                if (draws.length > 0) {
+                    variant = variants.get(v);
+                    pair(draws);
+                    walk(draws);
+                }
+            }
+        }
+
+        /** Picks the (area class, free count) pair of every draw among the pairs with its base multiplier. */
+        private void pair(int[] draws) {
+            var index = new Tally();
+            for (var draw : draws) {
+                index.add(Double.doubleToLongBits(baseOf[draw]), 1);
+            }
+            int requests = index.size();
+            var grouped = bucket(draws.length, requests,
+                    k -> index.indexOf(Double.doubleToLongBits(baseOf[draws[k]])));
+            var order = grouped[0];
+            var first = grouped[1];
+            var taken = new int[requests];
+            var uniform = new double[requests];
+            var target = new double[requests];
+            var reached = new double[requests];
+            var lastArea = new int[requests];
+            var lastCount = new int[requests];
+            for (int request = 0; request < requests; request++) {
+                uniform[request] = nextUniform(0, first[request + 1] - first[request], random);
+                target[request] = uniform[request]
+                        * variant.bases().get(Double.longBitsToDouble(index.key(request)));
+            }
+
+            var areas = variant.areas();
+            var counts = variant.counts();
+            var classValues = classes.classValues;
+            for (int area = 0; area < variant.areaClasses().length; area++) {
+                var areaClasses = variant.areaClasses()[area];
+                double p = areas.probability(area);
+                for (int free = 0; free < variant.freeCounts().length; free++) {
+                    var count = variant.freeCounts()[free];
+                    double base = 0;
+                    for (int symbol = 0; symbol < classes.symbols; symbol++) {
+                        base += classValues[symbol][areaClasses[symbol]][count[symbol]];
+                    }
+                    int request = index.indexOf(Double.doubleToLongBits(base));
+                    if (request < 0) {
+                        continue;
+                    }
+                    reached[request] += p * counts.probability(free);
+                    lastArea[request] = area;
+                    lastCount[request] = free;
+                    int wanted = first[request + 1] - first[request];
+                    while (taken[request] < wanted && target[request] < reached[request]) {
+                        int draw = draws[order[first[request] + taken[request]++]];
+                        areaOf[draw] = area;
+                        countOf[draw] = free;
+                        if (taken[request] < wanted) {
+                            uniform[request] = nextUniform(uniform[request], wanted - taken[request], random);
+                            target[request] = uniform[request] * variant.bases()
+                                    .get(Double.longBitsToDouble(index.key(request)));
+                        }
+                    }
+                }
+            }
+            // Summation order differs from the calculator's, so the last position may sit just past the end
+            for (int request = 0; request < requests; request++) {
+                while (taken[request] < first[request + 1] - first[request]) {
+                    int draw = draws[order[first[request] + taken[request]++]];
+                    areaOf[draw] = lastArea[request];
+                    countOf[draw] = lastCount[request];
+                }
+            }
+        }
+
+        /** Picks an area assignment of each draw's class, then arranges the free cells and emits the board. */
+        private void walk(int[] draws) {
+            int areaCount = variant.areaClasses().length;
+            requestOfArea = new int[areaCount];
+            Arrays.fill(requestOfArea, -1);
+            int requests = 0;
+            for (var draw : draws) {
+                if (requestOfArea[areaOf[draw]] < 0) {
+                    requestOfArea[areaOf[draw]] = requests++;
+                }
+            }
+            var grouped = bucket(draws.length, requests, k -> requestOfArea[areaOf[draws[k]]]);
+            byRequest = new int[draws.length];
+            for (int k = 0; k < draws.length; k++) {
+                byRequest[k] = draws[grouped[0][k]];
+            }
+            start = grouped[1];
+            leavesTaken = new int[requests];
+            leafUniform = new double[requests];
+            leafTarget = new double[requests];
+            leafReached = new double[requests];
+            lastLeaf = new int[requests][];
+            var areaOfRequest = new int[requests];
+            for (int area = 0; area < areaCount; area++) {
+                if (requestOfArea[area] >= 0) {
+                    areaOfRequest[requestOfArea[area]] = area;
+                }
+            }
+            for (int request = 0; request < requests; request++) {
+                leafUniform[request] = nextUniform(0, start[request + 1] - start[request], random);
+                leafTarget[request] = leafUniform[request] * variant.areas().probability(areaOfRequest[request]);
+            }
+
+            Arrays.fill(masks, 0);
+            descend(0, 1.0);
+            for (int request = 0; request < requests; request++) {
+                while (leavesTaken[request] < start[request + 1] - start[request]) {
+                    emit(byRequest[start[request] + leavesTaken[request]++], lastLeaf[request]);
+                }
+            }
+        }
+
+        // Same cell order and probability products as ExactRtpCalculator#enumerate
+        private void descend(int bit, double probability) {
+            var areaCells = classes.areaCells;
+            if (bit == areaCells.length) {
+                long key = 0;
+                for (int symbol = 0; symbol < classes.symbols; symbol++) {
+                    key = key * classes.classRadix + classes.maskClasses[symbol][masks[symbol]];
+                }
+                int area = variant.areas().indexOf(key);
+                int request = requestOfArea[area];
+                if (request < 0) {
+                    return;
+                }
+                leafReached[request] += probability;
+                if (lastLeaf[request] == null) {
+                    lastLeaf[request] = new int[choice.length];
+                }
+                System.arraycopy(choice, 0, lastLeaf[request], 0, choice.length);
+                int wanted = start[request + 1] - start[request];
+                while (leavesTaken[request] < wanted && leafTarget[request] < leafReached[request]) {
+                    emit(byRequest[start[request] + leavesTaken[request]++], choice);
+                    if (leavesTaken[request] < wanted) {
+                        leafUniform[request] = nextUniform(leafUniform[request], wanted - leavesTaken[request], random);
+                        leafTarget[request] = leafUniform[request] * variant.areas().probability(area);
+                    }
+                }
+                return;
+            }
+            int cell = areaCells[bit];
+            var symbols = classes.cellSymbols[cell];
+            if (cell == variant.blank() || symbols.length == 0) {
+                choice[bit] = CompiledConfig.NO_SYMBOL;
+                descend(bit + 1, probability);
+                return;
+            }
+            var probabilities = classes.cellProbabilities[cell];
+            for (int k = 0; k < symbols.length; k++) {
+                int symbol = symbols[k];
+                boolean standard = plan.isStandard(symbol);
+                if (standard) {
+                    masks[symbol] |= 1 << bit;
+                }
+                choice[bit] = symbol;
+                descend(bit + 1, probability * probabilities[k]);
+                if (standard) {
+                    masks[symbol] &= ~(1 << bit);
+                }
+            }
+        }
+
+        private void emit(int draw, int[] leaf) {
+            var placement = placements.get(placementOf[draw]);
+            var board = result.board();
+            Arrays.fill(board, CompiledConfig.NO_SYMBOL);
+            for (int bit = 0; bit < leaf.length; bit++) {
+                board[classes.areaCells[bit]] = leaf[bit];
+            }
+            arrange(layouts[placement.cell() + 1], variant.counts().key(countOf[draw]), board);
+            if (placement.bonus() != CompiledConfig.NO_SYMBOL) {
+                board[placement.cell()] = placement.bonus();
+            }
+            evaluator.evaluate(result);
+            evaluator.calculateReward(result, betAmount);
+            int tier = tiers[draw];
+            if (tierOf(rewards, result.reward()) != tier) {
+                throw new IllegalStateException("Drawn board pays " + result.reward() + " instead of " + rewards[tier]);
+            }
+            sink.accept(tier, result);
+        }
+
+        /** Fills the free cells with a random arrangement having the counts of {@code key}. */
+        private void arrange(FreeLayout layout, long key, int[] board) {
+            for (int k = 0; k < layout.cells().length; k++) {
+                int cell = layout.cells()[k];
+                var symbols = classes.cellSymbols[cell];
+                var probabilities = classes.cellProbabilities[cell];
+                var after = layout.suffixes()[k + 1];
+                double total = 0;
+                for (int option = 0; option < symbols.length; option++) {
+                    int entry = after.indexOf(remainder(key, symbols[option]));
+                    weights[option] = entry < 0 ? 0 : probabilities[option] * after.probability(entry);
+                    total += weights[option];
+                }
+                double u = random.nextDouble() * total;
+                int chosen = -1;
+                for (int option = 0; option < symbols.length; option++) {
+                    if (weights[option] > 0) {
+                        chosen = option;
+                        if ((u -= weights[option]) < 0) {
+                            break;
+                        }
+                    }
+                }
+                board[cell] = symbols[chosen];
+                key = remainder(key, symbols[chosen]);
+            }
+        }
+
+        // Counts left for the cells after one holding symbol; -1 when the counts hold no copy of it
+        private long remainder(long key, int symbol) {
+            if (!plan.isStandard(symbol)) {
+                return key;
+            }
+            return (key / place[symbol]) % classes.countRadix == 0 ? -1 : key - place[symbol];
+        }
+
+        private int maxOptions() {
+            int widest = 0;
+            for (var symbols : classes.cellSymbols) {
+                widest = Math.max(widest, symbols.length);
+            }
+            return widest;
+        }
+    }
+
+    /**
+     * Counting sort of {@code 0..size-1} by {@code group}: the sorted items and, per group, the index of
+     * its first item, with one extra entry marking the end.
+     */
+    private static int[][] bucket(int size, int groups, IntUnaryOperator group) {
+        var first = new int[groups + 1];
+        var of = new int[size];
+        for (int item = 0; item < size; item++) {
+            of[item] = group.applyAsInt(item);
+            first[of[item] + 1]++;
+        }
+        for (int g = 0; g < groups; g++) {
+            first[g + 1] += first[g];
+        }
+        var next = first.clone();
+        var sorted = new int[size];
+        for (int item = 0; item < size; item++) {
+            sorted[next[of[item]]++] = item;
+        }
+        return new int[][]{sorted, first};
+    }
+}
@@ -3,6 +3,9 @@ package com.game;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 import static org.junit.jupiter.api.Assertions.*;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.nio.file.Files;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -35,6 +38,43 @@ class MainTest {
         assertEquals(100.0, result.bettingAmount());
     }
 
+    @Test
+    void shouldParseSimulationArguments() {
+        var args = new String[]{"--config", "config.json", "--betting-amount", "1",
+                "--simulate", "1000", "--threads", "4", "--seed", "42"};
+        var result = Main.parseArguments(args);
+
+        assertEquals(1000, result.simulations());
+        assertEquals(4, result.threads());
+        assertEquals(42L, result.seed());
+    }
+
+    @Test
+    void shouldFailWithInvalidThreadCount() {
+        var exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> Main.parseArguments(new String[]{"--config", "config.json", "--betting-amount", "1",
+                        "--simulate", "10", "--threads", "0"})
+        );
+        assertTrue(exception.getMessage().contains("Invalid arguments"));
+    }
+
+    @Test
+    void shouldFailWithOutOfRangeThreadCountAndPort() {
+        // 2^32 + 4 used to wrap around to 4 threads
+        var threads = assertThrows(
+                IllegalArgumentException.class,
+                () -> Main.parseArguments(new String[]{"--config", "config.json", "--betting-amount", "1",
+                        "--simulate", "10", "--threads", "4294967300"})
+        );
+        assertTrue(threads.getMessage().contains("Invalid thread count"));
+        var port = assertThrows(
+                IllegalArgumentException.class,
+                () -> Main.parseArguments(new String[]{"--config", "config.json", "--serve", "65536"})
+        );
+        assertTrue(port.getMessage().contains("Invalid arguments"));
+    }
+
     @Test
     void shouldFailWithNoArguments() {
         var exception = assertThrows(
@@ -90,4 +130,36 @@ class MainTest {
                 () -> Main.run(new String[]{"--config", configPath.toString(), "--betting-amount", "100"})
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldStreamTheSameSpinsWithAndWithoutAudit(@TempDir Path tempDir) throws Exception {
+        var args = new String[]{"--config", "config.json", "--betting-amount", "1", "--stream", "500", "--seed", "42"};
+        var audited = new String[]{"--config", "config.json", "--betting-amount", "1", "--stream", "500",
+                "--seed", "42", "--audit", tempDir.resolve("spins.audit").toString()};
+
+        assertEquals(captureStream(args), captureStream(audited), "Auditing should not change a seeded stream");
+    }
+
+    @Test
+    void shouldStreamTheSameSpinsThroughThePipeline() throws Exception {
+        var args = new String[]{"--config", "config.json", "--betting-amount", "1", "--stream", "500", "--seed", "42"};
+        var pipelined = new String[]{"--config", "config.json", "--betting-amount", "1", "--stream", "500",
+                "--seed", "42", "--pipeline"};
+
+        var sequential = captureStream(args);
+        assertEquals(500, sequential.lines().count());
+        assertEquals(sequential, captureStream(pipelined), "The pipeline should not change a seeded stream");
+    }
+
+    static String captureStream(String[] args) throws Exception {
+        var out = System.out;
+        var captured = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(captured, true, StandardCharsets.UTF_8));
+        try {
+            Main.stream(args);
+        } finally {
+            System.setOut(out);
+        }
+        return captured.toString(StandardCharsets.UTF_8);
+    }
+}
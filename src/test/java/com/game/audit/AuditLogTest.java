@@ -0,0 +1,222 @@
+package com.game.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.game.core.*;
+import com.game.model.GameConfig;
+import com.game.model.WinCombination;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+class AuditLogTest {
+    private GameConfig config;
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        config = new ObjectMapper().readValue(Path.of("config.json").toFile(), GameConfig.class);
+    }
+
+    @Test
+    @DisplayName("Should log every spin and replay it exactly")
+    void shouldReplayLoggedSpins() throws Exception {
+        var log = directory.resolve("spins.audit");
+        var game = new Game(config, RandomSource.perThread(16));
+        var rewards = new ArrayList<Double>();
+        try (var audit = new AuditLogWriter(log, false)) {
+            game.listener(audit);
+            var engine = game.newEngine();
+            for (int spin = 0; spin < 5_000; spin++) {
+                rewards.add(engine.spin(spin % 3 + 1.0).reward());
+            }
+            var batch = game.playBatch(2.0, 1_000);
+            for (int spin = 0; spin < batch.size(); spin++) {
+                rewards.add(batch.reward(spin));
+            }
+        }
+
+        var entries = AuditLogReader.read(log);
+        assertEquals(6_000, entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            assertEquals(i, entries.get(i).sequence());
+            assertEquals(rewards.get(i), entries.get(i).reward(), "Logged reward should match spin " + i);
+        }
+        var report = AuditReplay.verify(log, game.plan());
+        assertEquals(new ReplayReport(6_000, 6_000, 0, List.of()), report);
+        assertTrue(report.allVerified());
+    }
+
+    @Test
+    @DisplayName("Should log money-mode spins in minor units and replay them exactly")
+    void shouldReplayMoneySpins() throws Exception {
+        var log = directory.resolve("spins.audit");
+        var game = new Game(config, RandomSource.seeded(8));
+        var rewards = FixedPointRewards.of(game.plan(), 2);
+        var minors = new ArrayList<Long>();
+        try (var audit = new AuditLogWriter(log, false)) {
+            game.listener(audit);
+            var engine = game.newEngine();
+            for (int spin = 0; spin < 2_000; spin++) {
+                minors.add(engine.spin(spin % 7 + 1L, rewards).rewardMinor());
+            }
+            engine.spin(0.07);
+        }
+
+        var entries = AuditLogReader.read(log);
+        assertEquals(2_001, entries.size());
+        for (int i = 0; i < minors.size(); i++) {
+            var entry = entries.get(i);
+            assertEquals(2, entry.moneyDecimals());
+            assertEquals(i % 7 + 1L, entry.betMinor());
+            assertEquals(minors.get(i), entry.rewardMinor(), "Logged reward should match spin " + i);
+            assertEquals(rewards.toDouble(entry.rewardMinor()), entry.reward());
+        }
+        assertFalse(entries.get(2_000).isMoney(), "Spins priced in doubles should be logged as doubles");
+        assertEquals(0.07, entries.get(2_000).betAmount());
+        assertTrue(AuditReplay.verify(log, game.plan()).allVerified());
+
+        // A winning spin whose reward is off by one cent
+        int winner = 0;
+        while (minors.get(winner) == 0) {
+            winner++;
+        }
+        long rewardOffset = AuditFormat.HEADER + (long) winner * AuditFormat.entrySize(16) + 2 + 8 * 4;
+        try (var channel = FileChannel.open(log, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(8).putLong(minors.get(winner) + 1).flip(), rewardOffset);
+        }
+        assertEquals(List.of((long) winner), AuditReplay.verify(log, game.plan()).mismatches());
+    }
+
+    @Test
+    @DisplayName("Should log spins of many threads in one gap-free sequence")
+    void shouldLogConcurrentSpins() throws Exception {
+        var log = directory.resolve("spins.audit");
+        var game = new Game(config, RandomSource.perThread(16));
+        // Enough entries to use up the buffer pool many times over
+        int threads = 4;
+        int spins = 25_000;
+        try (var audit = new AuditLogWriter(log, false)) {
+            game.listener(audit);
+            var executor = Executors.newFixedThreadPool(threads);
+            try {
+                var done = new ArrayList<Future<?>>();
+                for (int thread = 0; thread < threads; thread++) {
+                    done.add(executor.submit(() -> {
+                        var engine = game.newEngine();
+                        for (int spin = 0; spin < spins; spin++) {
+                            engine.spin(1.0);
+                        }
+                    }));
+                }
+                for (var future : done) {
+                    future.get();
+                }
+            } finally {
+                executor.shutdown();
+            }
+        }
+
+        var entries = AuditLogReader.read(log);
+        assertEquals(threads * spins, entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            assertEquals(i, entries.get(i).sequence(), "Sequence numbers should have no gaps");
+        }
+        assertTrue(AuditReplay.verify(log, game.plan()).allVerified());
+    }
+
+    @Test
+    @DisplayName("Should refuse logs of an older format instead of reporting them as tampered")
+    void shouldRefuseOlderVersions() throws Exception {
+        var log = directory.resolve("spins.audit");
+        var game = new Game(config, RandomSource.seeded(5));
+        try (var audit = new AuditLogWriter(log, false)) {
+            game.listener(audit);
+            game.play(1.0);
+        }
+        try (var channel = FileChannel.open(log, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(4).putInt(1).flip(), 4);
+        }
+
+        var replay = assertThrows(IllegalArgumentException.class, () -> AuditReplay.verify(log, game.plan()));
+        assertTrue(replay.getMessage().contains("version 1"), replay.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> new AuditLogWriter(log, false),
+                "Appending to an older log would mix formats");
+    }
+
+    @Test
+    @DisplayName("Should detect a tampered outcome and skip entries of another config")
+    void shouldDetectTampering() throws Exception {
+        var log = directory.resolve("spins.audit");
+        var game = new Game(config, RandomSource.seeded(5));
+        try (var audit = new AuditLogWriter(log, true)) {
+            game.listener(audit);
+            var engine = game.newEngine();
+            for (int spin = 0; spin < 10; spin++) {
+                engine.spin(1.0);
+            }
+        }
+        // Overwrite the reward of entry 3 with a different amount
+        try (var channel = FileChannel.open(log, StandardOpenOption.WRITE)) {
+            long rewardOffset = AuditFormat.HEADER + 3L * AuditFormat.entrySize(16) + 2 + 8 * 4;
+            channel.write(ByteBuffer.allocate(8).putDouble(123456.0).flip(), rewardOffset);
+        }
+
+        assertEquals(List.of(3L), AuditReplay.verify(log, game.plan()).mismatches());
+
+        var combinations = new HashMap<>(config.winCombinations());
+        combinations.remove("same_symbol_3_times");
+        var other = CompiledConfig.compile(new GameConfig(config.columns(), config.rows(), config.symbols(),
+                config.probabilities(), combinations));
+        assertEquals(10, AuditReplay.verify(log, other).skipped());
+        assertThrows(IllegalArgumentException.class, () -> AuditReplay.replay(other, AuditLogReader.read(log).get(0)));
+    }
+
+    @Test
+    @DisplayName("Should continue sequence numbers after a torn entry")
+    void shouldAppendAfterTornEntry() throws Exception {
+        var log = directory.resolve("spins.audit");
+        var game = new Game(config, RandomSource.seeded(8));
+        try (var audit = new AuditLogWriter(log, false)) {
+            game.listener(audit);
+            game.play(1.0);
+            game.play(1.0);
+        }
+        Files.write(log, new byte[]{0, 76, 1, 2, 3}, StandardOpenOption.APPEND);
+        try (var audit = new AuditLogWriter(log, false)) {
+            game.listener(audit);
+            game.play(1.0);
+        }
+
+        var entries = AuditLogReader.read(log);
+        assertEquals(List.of(0L, 1L, 2L), entries.stream().map(AuditEntry::sequence).toList());
+        assertTrue(AuditReplay.verify(log, game.plan()).allVerified());
+    }
+
+    @Test
+    @DisplayName("Should fingerprint configs by content")
+    void shouldFingerprintByContent() {
+        var first = CompiledConfig.compile(config);
+        var second = CompiledConfig.compile(new GameConfig(config.columns(), config.rows(),
+                new LinkedHashMap<>(config.symbols()), config.probabilities(),
+                new TreeMap<>(config.winCombinations())));
+        var combinations = new HashMap<>(config.winCombinations());
+        combinations.put("extra", new WinCombination(1.0, "same_symbols", 16, "same_symbols", null));
+        var changed = CompiledConfig.compile(new GameConfig(config.columns(), config.rows(), config.symbols(),
+                config.probabilities(), combinations));
+
+        assertEquals(first.fingerprint(), second.fingerprint());
+        assertNotEquals(first.fingerprint(), changed.fingerprint());
+    }
+}
@@ -0,0 +1,118 @@
+package com.game.book;
+
+import com.game.config.ConfigLoader;
+import com.game.core.CompiledConfig;
+import com.game.core.RandomSource;
+import com.game.core.SpinEngine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.random.RandomGeneratorFactory;
+
+class PrizePoolGeneratorTest {
+    private CompiledConfig plan;
+    private Map<Double, Long> tiers;
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        plan = ConfigLoader.load(Path.of("config.json"));
+        // The three most frequent rewards, with quotas far from their natural proportions
+        var engine = new SpinEngine(plan, RandomGeneratorFactory.of(RandomSource.DEFAULT_ALGORITHM).create(5));
+        var frequency = new HashMap<Double, Integer>();
+        for (int spin = 0; spin < 20_000; spin++) {
+            frequency.merge(engine.spin(1.0).reward(), 1, Integer::sum);
+        }
+        var common = frequency.entrySet().stream()
+                .sorted(Map.Entry.<Double, Integer>comparingByValue().reversed())
+                .limit(3).map(Map.Entry::getKey).toList();
+        tiers = Map.of(common.get(0), 300L, common.get(1), 150L, common.get(2), 50L);
+    }
+
+    @Test
+    @DisplayName("Should write exactly the requested number of tickets per tier")
+    void shouldHitTierCounts() throws Exception {
+        var path = directory.resolve("pool.book");
+        var report = new PrizePoolGenerator(plan, 4, 7).generate(path, 1.0, tiers);
+
+        assertEquals(500, report.tickets());
+        tiers.keySet().forEach(reward -> assertTrue(report.tierProbabilities().get(reward) > 0));
+        var counts = new HashMap<Double, Long>();
+        try (var book = TicketBook.open(path)) {
+            assertEquals(500, book.size());
+            for (long ticket = 0; ticket < book.size(); ticket++) {
+                counts.merge(book.reward(ticket), 1L, Long::sum);
+            }
+        }
+        assertEquals(tiers, counts, "Book should hold each tier's exact quota");
+    }
+
+    @Test
+    @DisplayName("Should shuffle tiers across the book and reproduce it from a seed")
+    void shouldShuffleReproducibly() throws Exception {
+        var first = directory.resolve("first.book");
+        var second = directory.resolve("second.book");
+        new PrizePoolGenerator(plan, 3, 11).generate(first, 1.0, tiers);
+        new PrizePoolGenerator(plan, 3, 11).generate(second, 1.0, tiers);
+        assertArrayEquals(Files.readAllBytes(first), Files.readAllBytes(second),
+                "Same seed should write the same book");
+
+        try (var book = TicketBook.open(first)) {
+            var leading = new HashSet<Double>();
+            for (long ticket = 0; ticket < 50; ticket++) {
+                leading.add(book.reward(ticket));
+            }
+            assertTrue(leading.size() > 1, "Tiers should not be laid out in blocks");
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject tiers the game never pays before writing anything")
+    void shouldFailOnUnreachableTier() {
+        var path = directory.resolve("pool.book");
+        var generator = new PrizePoolGenerator(plan, 2, 3);
+        // The shipped config pays on almost every board, but never exactly nothing
+        var error = assertThrows(IllegalArgumentException.class,
+                () -> generator.generate(path, 1.0, Map.of(0.123, 1L, 0.0, 1L, 10.0, 5L)));
+        assertTrue(error.getMessage().contains("0.123") && error.getMessage().contains("0.0"), error.getMessage());
+        assertFalse(error.getMessage().contains("10.0"), error.getMessage());
+        assertFalse(Files.exists(path), "No book should be created");
+    }
+
+    @Test
+    @DisplayName("Should fill rare tiers as quickly as common ones and match amounts within rounding")
+    void shouldFillRareTiers() throws Exception {
+        var path = directory.resolve("pool.book");
+        // 10000 pays about once in 220000 spins; 0.1 + 0.2 is not exactly 0.3, and tiers must not care
+        var rare = Map.of(10_000.0, 40L, 6.8 * (0.1 + 0.2) / 0.3, 60L);
+        var report = new PrizePoolGenerator(plan, 2, 9).generate(path, 1.0, rare);
+
+        assertTrue(report.tierProbabilities().get(10_000.0) < 1e-5, report.toString());
+        var counts = new HashMap<Long, Long>();
+        try (var book = TicketBook.open(path)) {
+            for (long ticket = 0; ticket < book.size(); ticket++) {
+                counts.merge(Math.round(book.reward(ticket) * 10), 1L, Long::sum);
+            }
+        }
+        assertEquals(Map.of(100_000L, 40L, 68L, 60L), counts);
+    }
+
+    @Test
+    @DisplayName("Should shuffle into a permutation of the index")
+    void shouldShuffleIntoPermutation() {
+        var index = PrizePoolGenerator.shuffledIndex(1_000, new SplittableRandom(1));
+        var sorted = index.clone();
+        Arrays.sort(sorted);
+        for (int i = 0; i < sorted.length; i++) {
+            assertEquals(i, sorted[i], "Every slot should appear exactly once");
+        }
+        assertFalse(Arrays.equals(index, sorted), "Index should be shuffled");
+    }
+}
@@ -0,0 +1,65 @@
+package com.game.book;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.game.core.Game;
+import com.game.core.RandomSource;
+import com.game.model.GameConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+class TicketBookTest {
+    private GameConfig config;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        config = new ObjectMapper().readValue(Path.of("config.json").toFile(), GameConfig.class);
+    }
+
+    @Test
+    @DisplayName("Should read back every ticket as it was played")
+    void shouldRoundTripTickets(@TempDir Path tempDir) throws Exception {
+        var path = tempDir.resolve("tickets.book");
+        TicketBookWriter.generate(path, new Game(config, RandomSource.seeded(12)), 5.0, 2_000);
+
+        var replay = new Game(config, RandomSource.seeded(12)).newEngine();
+        try (var book = TicketBook.open(path)) {
+            assertEquals(2_000, book.size());
+            assertEquals(5.0, book.betAmount());
+            for (long ticket = 0; ticket < book.size(); ticket++) {
+                var expected = replay.spin(5.0).toGameResult();
+                var actual = book.toGameResult(ticket);
+                assertArrayEquals(expected.matrix(), actual.matrix());
+                assertEquals(expected.reward(), actual.reward());
+                assertEquals(expected.appliedWinningCombinations(), actual.appliedWinningCombinations());
+                assertEquals(expected.appliedBonusSymbol(), actual.appliedBonusSymbol());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject tickets outside the book")
+    void shouldRejectOutOfRangeTicket(@TempDir Path tempDir) throws Exception {
+        var path = tempDir.resolve("tickets.book");
+        TicketBookWriter.generate(path, new Game(config, RandomSource.seeded(1)), 1.0, 10);
+
+        try (var book = TicketBook.open(path)) {
+            assertThrows(IndexOutOfBoundsException.class, () -> book.reward(10));
+        }
+    }
+
+    @Test
+    @DisplayName("Should refuse files that are not ticket books")
+    void shouldRefuseForeignFile(@TempDir Path tempDir) throws Exception {
+        var path = tempDir.resolve("config.json");
+        Files.writeString(path, "{\"columns\": 3, \"rows\": 3, \"symbols\": {}, \"padding\": \"............\"}");
+
+        var exception = assertThrows(IOException.class, () -> TicketBook.open(path));
+        assertTrue(exception.getMessage().contains("Not a ticket book"));
+    }
+}
@@ -0,0 +1,92 @@
+package com.game.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.game.model.GameConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+class ConfigLoaderTest {
+    private static final Path SHIPPED = Path.of("config.json");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should parse the shipped config exactly like databinding does")
+    void shouldMatchDatabinding() throws Exception {
+        var expected = new ObjectMapper().readValue(SHIPPED.toFile(), GameConfig.class);
+        assertEquals(expected, ConfigLoader.read(SHIPPED), "Streaming and reflective parses should agree");
+    }
+
+    @Test
+    @DisplayName("Should round-trip a config through a binary snapshot")
+    void shouldRoundTripSnapshot() throws Exception {
+        var snapshot = directory.resolve("config.snapshot");
+        var config = ConfigLoader.read(SHIPPED);
+        ConfigSnapshot.write(config, snapshot);
+
+        assertTrue(ConfigSnapshot.isSnapshot(Files.readAllBytes(snapshot)), "Snapshot should carry its header");
+        assertEquals(config, ConfigLoader.read(snapshot), "Snapshot should decode to the same config");
+        assertEquals(ConfigLoader.load(SHIPPED).fingerprint(),
+                ConfigLoader.load(snapshot).fingerprint(), "JSON and snapshot should compile to the same plan");
+    }
+
+    @Test
+    @DisplayName("Should reject a snapshot whose payload was altered")
+    void shouldRejectCorruptSnapshot() throws Exception {
+        var snapshot = directory.resolve("config.snapshot");
+        ConfigSnapshot.write(ConfigLoader.read(SHIPPED), snapshot);
+        var bytes = Files.readAllBytes(snapshot);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(snapshot, bytes);
+
+        var error = assertThrows(IllegalArgumentException.class, () -> ConfigLoader.read(snapshot));
+        assertTrue(error.getMessage().contains("checksum"), error.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should name the field, line and column of a mistyped value")
+    void shouldLocateTypeErrors() {
+        var json = """
+                {
+                  "columns": 3,
+                  "symbols": {
+                    "A": {"reward_multiplier": "five", "type": "standard"}
+                  }
+                }
+                """;
+        var error = assertThrows(IllegalArgumentException.class, () -> parse(json));
+        assertEquals("Invalid config at symbols.A.reward_multiplier (line 4, column 32): expected a number",
+                error.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should reject unknown fields and malformed JSON")
+    void shouldRejectUnknownFieldsAndSyntax() {
+        var unknown = assertThrows(IllegalArgumentException.class,
+                () -> parse("{\"probabilities\": {\"standard_symbols\": [{\"colum\": 0}]}}"));
+        assertTrue(unknown.getMessage().contains("probabilities.standard_symbols[0].colum"), unknown.getMessage());
+        assertTrue(unknown.getMessage().contains("unknown field"), unknown.getMessage());
+
+        var malformed = assertThrows(IllegalArgumentException.class, () -> parse("{\"rows\": 3,"));
+        assertTrue(malformed.getMessage().startsWith("Invalid config"), malformed.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should validate what it loads")
+    void shouldValidateOnLoad() throws Exception {
+        var file = directory.resolve("config.json");
+        Files.writeString(file, "{\"rows\": 3, \"columns\": 3, \"symbols\": {}}");
+        var error = assertThrows(IllegalArgumentException.class, () -> ConfigLoader.load(file));
+        assertTrue(error.getMessage().contains("no symbols defined"), error.getMessage());
+    }
+
+    private static GameConfig parse(String json) throws Exception {
+        return ConfigLoader.parse(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
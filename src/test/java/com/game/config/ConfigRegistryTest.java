@@ -0,0 +1,114 @@
+package com.game.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.game.core.Game;
+import com.game.core.RandomSource;
+import com.game.model.GameConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+class ConfigRegistryTest {
+    private final ObjectMapper mapper = new ObjectMapper();
+    private ObjectNode config;
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        config = (ObjectNode) mapper.readTree(Path.of("config.json").toFile());
+    }
+
+    @Test
+    @DisplayName("Should swap in a reloaded config while old engines keep their plan")
+    void shouldSwapReloadedConfig() throws IOException {
+        var file = write(config);
+        try (var registry = new ConfigRegistry(RandomSource.seeded(3))) {
+            var game = registry.register("classic", file);
+            var engine = game.newEngine();
+            var before = game.plan();
+
+            ((ObjectNode) config.get("symbols").get("A")).put("reward_multiplier", 50);
+            write(config);
+            registry.reload("classic");
+
+            assertNotSame(before, game.plan(), "Reload should publish a new plan");
+            assertSame(game, registry.games().get("classic"), "Game identity should survive a reload");
+            assertEquals(50.0, game.plan().rewardMultiplier(game.plan().symbolId("A")));
+            assertSame(before, engine.spin(1.0).plan(), "Spins on an old engine should not see the new plan");
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep the current config when a reload fails validation")
+    void shouldRejectInvalidReload() throws IOException {
+        var file = write(config);
+        try (var registry = new ConfigRegistry(RandomSource.seeded(3))) {
+            var game = registry.register("classic", file);
+            var before = game.plan();
+
+            config.put("rows", 2);
+            write(config);
+
+            assertThrows(IllegalArgumentException.class, () -> registry.reload("classic"));
+            assertSame(before, game.plan(), "An invalid config must not replace the live one");
+        }
+    }
+
+    @Test
+    @DisplayName("Should reload a game when its file changes")
+    void shouldReloadOnFileChange() throws Exception {
+        var file = write(config);
+        try (var registry = new ConfigRegistry(RandomSource.seeded(3))) {
+            var game = registry.register("classic", file);
+            var reloaded = new CountDownLatch(1);
+            registry.watch(new ConfigRegistry.Listener() {
+                @Override
+                public void reloaded(String name, Game updated) {
+                    if (updated.plan().rewardMultiplier(updated.plan().symbolId("B")) == 30.0) {
+                        reloaded.countDown();
+                    }
+                }
+            });
+
+            ((ObjectNode) config.get("symbols").get("B")).put("reward_multiplier", 30);
+            write(config);
+
+            assertTrue(reloaded.await(30, TimeUnit.SECONDS), "Watcher should pick up the change");
+            assertEquals(30.0, game.plan().rewardMultiplier(game.plan().symbolId("B")));
+        }
+    }
+
+    @Test
+    @DisplayName("Should serve many variants while sharing their compiled tables")
+    void shouldShareStateAcrossVariants() throws IOException {
+        try (var registry = new ConfigRegistry(RandomSource.seeded(3))) {
+            for (int variant = 1; variant <= 20; variant++) {
+                ((ObjectNode) config.get("symbols").get("A")).put("reward_multiplier", variant);
+                registry.register("variant-" + variant, mapper.treeToValue(config, GameConfig.class));
+            }
+            var first = registry.games().get("variant-1").plan();
+            var last = registry.games().get("variant-20").plan();
+            assertEquals(20.0, last.rewardMultiplier(last.symbolId("A")), "Each variant keeps its own multipliers");
+            assertSame(first.cellSampler(0), last.cellSampler(0), "Variants should share identical samplers");
+            assertSame(first.coveredAreaMasks(0), last.coveredAreaMasks(0), "Variants should share area masks");
+            assertThrows(IllegalArgumentException.class, () -> registry.reload("variant-1"),
+                    "In-memory games have no file to reload");
+        }
+    }
+
+    private Path write(ObjectNode node) throws IOException {
+        var file = directory.resolve("config.json");
+        Files.write(file, mapper.writeValueAsBytes(node));
+        return file;
+    }
+}
@@ -0,0 +1,103 @@
+package com.game.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.game.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.nio.file.Path;
+import java.util.*;
+
+class ConfigValidatorTest {
+    private GameConfig config;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        config = new ObjectMapper().readValue(Path.of("config.json").toFile(), GameConfig.class);
+    }
+
+    @Test
+    @DisplayName("Should accept the shipped config")
+    void shouldAcceptShippedConfig() {
+        assertEquals(List.of(), ConfigValidator.validate(config, 4, 4));
+        assertEquals(4, ConfigValidator.compile(config).rows());
+    }
+
+    @Test
+    @DisplayName("Should reject covered areas outside the board")
+    void shouldRejectAreasOutsideBoard() {
+        var combinations = new HashMap<>(config.winCombinations());
+        combinations.put("outside", new WinCombination(2.0, "linear_symbols", null, "outside",
+                List.of(List.of("0:0", "0:4"))));
+        var invalid = new GameConfig(config.columns(), config.rows(), config.symbols(),
+                config.probabilities(), combinations);
+
+        var error = assertThrows(IllegalArgumentException.class, () -> ConfigValidator.compile(invalid));
+        assertTrue(error.getMessage().contains("combination outside covers 0:4 outside the board"), error.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should reject non-positive weights and unknown bonus impacts")
+    void shouldRejectWeightsAndImpacts() {
+        var symbols = new HashMap<>(config.symbols());
+        symbols.put("MISS", new Symbol(0, "bonus", "double_or_nothing", null));
+        var weights = new HashMap<>(config.probabilities().bonusSymbols().symbols());
+        weights.put("10x", 0);
+        var invalid = new GameConfig(config.columns(), config.rows(), symbols,
+                new Probabilities(config.probabilities().standardSymbols(), new BonusSymbolProbability(weights)),
+                config.winCombinations());
+
+        var problems = ConfigValidator.validate(invalid, 4, 4);
+
+        assertTrue(problems.contains("bonus symbol MISS has unknown impact double_or_nothing"), problems.toString());
+        assertTrue(problems.contains("bonus symbols has non-positive weight for 10x"), problems.toString());
+    }
+
+    @Test
+    @DisplayName("Should report empty symbols and combinations instead of failing to compile them")
+    void shouldRejectEmptySymbolsAndCombinations() {
+        var symbols = new HashMap<>(config.symbols());
+        symbols.put("G", null);
+        var combinations = new HashMap<>(config.winCombinations());
+        combinations.put("nothing", null);
+        var invalid = new GameConfig(config.columns(), config.rows(), symbols,
+                config.probabilities(), combinations);
+
+        var error = assertThrows(IllegalArgumentException.class, () -> ConfigValidator.compile(invalid));
+        assertTrue(error.getMessage().contains("symbol G is empty"), error.getMessage());
+        assertTrue(error.getMessage().contains("combination nothing is empty"), error.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should report malformed covered area cells instead of failing to compile them")
+    void shouldRejectMalformedAreaCells() {
+        for (var cell : List.of("0:x", "0")) {
+            var combinations = new HashMap<>(config.winCombinations());
+            combinations.put("malformed", new WinCombination(2.0, "linear_symbols", null, "malformed",
+                    List.of(List.of("0:0", cell))));
+            var invalid = new GameConfig(config.columns(), config.rows(), config.symbols(),
+                    config.probabilities(), combinations);
+
+            var error = assertThrows(IllegalArgumentException.class, () -> ConfigValidator.compile(invalid));
+            assertTrue(error.getMessage().contains("combination malformed covers " + cell + " outside the board"),
+                    error.getMessage());
+        }
+    }
+
+    @Test
+    @DisplayName("Should report a missing symbol type or rule")
+    void shouldRejectMissingTypeAndRule() {
+        var symbols = new HashMap<>(config.symbols());
+        symbols.put("G", new Symbol(1.0, null, null, null));
+        var combinations = new HashMap<>(config.winCombinations());
+        combinations.put("ruleless", new WinCombination(2.0, null, 3, "ruleless", null));
+        var invalid = new GameConfig(config.columns(), config.rows(), symbols,
+                config.probabilities(), combinations);
+
+        var problems = ConfigValidator.validate(invalid, 4, 4);
+
+        assertTrue(problems.contains("symbol G has unknown type null"), problems.toString());
+        assertTrue(problems.contains("combination ruleless has unknown rule null"), problems.toString());
+    }
+}
@@ -0,0 +1,190 @@
+package com.game.core;
+
+import com.game.model.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import java.util.*;
+
+class BoardEvaluatorTest {
+
+    @Test
+    @DisplayName("Should match lines on boards wider than one mask word")
+    void shouldMatchLinesOnLargeBoards() {
+        var plan = CompiledConfig.compile(withBottomRow(TestConfigs.standard(9, 9)));
+        var result = new SpinResult(plan);
+        var matrix = filled(9, 9, "B", "C");
+        Arrays.fill(matrix[8], "A");
+        result.load(matrix);
+
+        new BoardEvaluator(plan).evaluate(result);
+
+        var wins = result.toWinningCombinations();
+        assertEquals(List.of("same_symbol_9_times", "bottom_row"), wins.get("A"));
+    }
+
+    @Test
+    @DisplayName("Should not match a line with one cell missing")
+    void shouldNotMatchIncompleteLine() {
+        var plan = CompiledConfig.compile(withBottomRow(TestConfigs.standard(9, 9)));
+        var result = new SpinResult(plan);
+        var matrix = filled(9, 9, "B", "C");
+        Arrays.fill(matrix[8], "A");
+        matrix[8][4] = "D";
+        result.load(matrix);
+
+        new BoardEvaluator(plan).evaluate(result);
+
+        assertEquals(List.of("same_symbol_8_times"), result.toWinningCombinations().get("A"));
+    }
+
+    @Test
+    @DisplayName("Should apply one combination from each matching group")
+    void shouldApplyOneCombinationPerGroup() {
+        var plan = CompiledConfig.compile(TestConfigs.standard());
+        var result = new SpinResult(plan);
+        result.load(new String[][]{
+                {"A", "A", "A"},
+                {"B", "A", "C"},
+                {"A", "D", "A"}
+        });
+
+        new BoardEvaluator(plan).evaluate(result);
+
+        var wins = result.toWinningCombinations().get("A");
+        assertEquals(List.of("same_symbol_6_times", "same_symbols_horizontally",
+                "same_symbols_diagonally_left_to_right", "same_symbols_diagonally_right_to_left"), wins);
+    }
+
+    @Test
+    @DisplayName("Should keep only the best combination within a group")
+    void shouldKeepBestWithinGroup() {
+        var config = TestConfigs.standard();
+        var combinations = new HashMap<>(config.winCombinations());
+        combinations.put("top_row_bonus", new WinCombination(7.0, "linear_symbols", null,
+                "horizontally_linear_symbols", List.of(List.of("0:0", "0:1", "0:2"))));
+        var plan = CompiledConfig.compile(new GameConfig(config.columns(), config.rows(),
+                config.symbols(), config.probabilities(), combinations));
+        var result = new SpinResult(plan);
+        result.load(new String[][]{
+                {"A", "A", "A"},
+                {"B", "C", "D"},
+                {"E", "F", "B"}
+        });
+
+        new BoardEvaluator(plan).evaluate(result);
+
+        assertEquals(List.of("same_symbol_3_times", "top_row_bonus"), result.toWinningCombinations().get("A"));
+    }
+
+    @Test
+    @DisplayName("Should count with the Vector API exactly like the scalar loop")
+    void shouldMatchScalarWhenVectorized() {
+        for (int size : new int[]{3, 4, 5, 9}) {
+            var plan = CompiledConfig.compile(withBottomRow(TestConfigs.standard(size, size)));
+            var vector = BoardEvaluator.vectorized(plan);
+            assumeTrue(vector.isVectorized(), "Only built and run with -Pvector");
+            var scalar = new BoardEvaluator(plan);
+            var engine = new SpinEngine(plan, new SplittableRandom(size));
+            var expected = new SpinResult(plan);
+            var actual = new SpinResult(plan);
+            for (int spin = 0; spin < 2_000; spin++) {
+                var board = engine.generate().board();
+                System.arraycopy(board, 0, expected.board, 0, board.length);
+                System.arraycopy(board, 0, actual.board, 0, board.length);
+                scalar.evaluate(expected);
+                vector.evaluate(actual);
+
+                var where = size + "x" + size + " spin " + spin;
+                assertArrayEquals(expected.counts, actual.counts, "Counts of " + where);
+                assertArrayEquals(expected.masks, actual.masks, "Masks of " + where);
+                assertArrayEquals(expected.combinations, actual.combinations, "Combinations of " + where);
+                assertEquals(expected.bonusSymbol, actual.bonusSymbol, "Bonus symbol of " + where);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should evaluate boards packed into a shared array with the Vector API")
+    void shouldVectorizeBatchOffsets() {
+        var plan = CompiledConfig.compile(TestConfigs.standard(3, 3));
+        assumeTrue(BoardEvaluator.vectorized(plan).isVectorized(), "Only built and run with -Pvector");
+        var engine = new SpinEngine(plan, new SplittableRandom(4));
+        var boards = new int[plan.cellCount() * 3];
+        for (int i = 0; i < 3; i++) {
+            System.arraycopy(engine.generate().board(), 0, boards, i * plan.cellCount(), plan.cellCount());
+        }
+        var expected = new SpinResult(plan);
+        var actual = new SpinResult(plan);
+        for (int i = 0; i < 3; i++) {
+            new BoardEvaluator(plan).evaluate(expected, boards, i * plan.cellCount());
+            BoardEvaluator.vectorized(plan).evaluate(actual, boards, i * plan.cellCount());
+            assertArrayEquals(expected.counts, actual.counts, "Board " + i + " should count the same");
+            assertEquals(expected.bonusSymbol, actual.bonusSymbol, "Board " + i + " should find the same bonus");
+        }
+    }
+
+    @Test
+    @DisplayName("Should price any stake from one evaluation")
+    void shouldPriceStakesFromBaseMultiplier() {
+        var plan = CompiledConfig.compile(TestConfigs.standard());
+        var evaluator = new BoardEvaluator(plan);
+        var result = new SpinResult(plan);
+        for (var bonus : List.of("10x", "+1000", "MISS")) {
+            result.load(new String[][]{{"A", "A", "A"}, {"B", "C", "D"}, {"E", "F", bonus}});
+            evaluator.evaluate(result);
+            double base = result.baseMultiplier();
+            assertTrue(base > 0, "Three A's should win");
+
+            for (var bet : new double[]{1, 2.5, 100}) {
+                double expected = switch (bonus) {
+                    case "10x" -> bet * base * 10;
+                    case "+1000" -> bet * base + 1000;
+                    default -> bet * base;
+                };
+                assertEquals(expected, evaluator.reward(result, bet), "Reward at " + bet + " with " + bonus);
+            }
+            assertEquals(0, result.reward(), "Pricing a stake should not store its reward");
+        }
+    }
+
+    @Test
+    @DisplayName("Should carry the base multiplier through the outcome cache")
+    void shouldCacheBaseMultiplier() {
+        var plan = CompiledConfig.compile(TestConfigs.standard());
+        var plain = new BoardEvaluator(plan);
+        var cached = new BoardEvaluator(plan, OutcomeCache.of(plan, OutcomeCache.DEFAULT_CAPACITY));
+        var engine = new SpinEngine(plan, new SplittableRandom(9));
+        var expected = new SpinResult(plan);
+        var actual = new SpinResult(plan);
+        for (int board = 0; board < 5_000; board++) {
+            var boards = engine.generate().board();
+            plain.evaluate(expected, boards, 0);
+            // Twice, so the second evaluation is served from the cache
+            cached.evaluate(actual, boards, 0);
+            cached.evaluate(actual, boards, 0);
+            assertEquals(expected.baseMultiplier(), actual.baseMultiplier(), "Base multiplier of board " + board);
+        }
+    }
+
+    private static GameConfig withBottomRow(GameConfig config) {
+        var combinations = new HashMap<>(config.winCombinations());
+        var row = new ArrayList<String>();
+        for (int col = 0; col < config.columns(); col++) {
+            row.add((config.rows() - 1) + ":" + col);
+        }
+        combinations.put("bottom_row", new WinCombination(3.0, "linear_symbols", null, "bottom", List.of(row)));
+        return new GameConfig(config.columns(), config.rows(), config.symbols(), config.probabilities(), combinations);
+    }
+
+    private static String[][] filled(int rows, int columns, String even, String odd) {
+        var matrix = new String[rows][columns];
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < columns; col++) {
+                matrix[row][col] = (row + col) % 2 == 0 ? even : odd;
+            }
+        }
+        return matrix;
+    }
+}
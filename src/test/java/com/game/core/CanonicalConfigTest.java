@@ -0,0 +1,44 @@
+package com.game.core;
+
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.game.model.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.*;
+
+class CanonicalConfigTest {
+    // The mapper fingerprints were computed with before compiling stopped loading data binding
+    private static final ObjectMapper SORTED = JsonMapper.builder()
+            .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+            .build();
+
+    @Test
+    @DisplayName("Should write the same canonical JSON as a sorting data-binding mapper")
+    void shouldMatchSortedMapper() throws Exception {
+        var shipped = new ObjectMapper().readValue(Path.of("config.json").toFile(), GameConfig.class);
+        var config = TestConfigs.standard();
+        var combinations = new HashMap<>(config.winCombinations());
+        combinations.put("no_areas", new WinCombination(2.0, "linear_symbols", null, null, null));
+        combinations.put("holes", new WinCombination(1.0, "linear_symbols", null, "g",
+                Arrays.asList(List.of("0:0", "1:1"), null)));
+        var weights = new HashMap<String, Integer>();
+        weights.put("A", null);
+        var sparse = new GameConfig(0, 0, config.symbols(),
+                new Probabilities(Arrays.asList(new StandardSymbolProbability(0, 0, weights), null), null),
+                combinations);
+
+        for (var each : List.of(shipped, config, sparse, new GameConfig(3, 3, null, null, null))) {
+            var out = new ByteArrayOutputStream();
+            CanonicalConfig.write(each, out);
+            assertEquals(SORTED.writeValueAsString(each), out.toString(StandardCharsets.UTF_8));
+        }
+    }
+}
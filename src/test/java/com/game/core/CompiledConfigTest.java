@@ -0,0 +1,117 @@
+package com.game.core;
+
+import com.game.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.*;
+
+class CompiledConfigTest {
+    private CompiledConfig plan;
+
+    @BeforeEach
+    void setUp() {
+        plan = CompiledConfig.compile(TestConfigs.standard());
+    }
+
+    @Test
+    @DisplayName("Should intern standard symbols before bonus symbols")
+    void shouldInternStandardSymbolsFirst() {
+        assertEquals(6, plan.standardSymbolCount());
+        for (var name : List.of("A", "B", "C", "D", "E", "F")) {
+            assertTrue(plan.isStandard(plan.symbolId(name)), name + " should be standard");
+        }
+        for (var name : List.of("10x", "5x", "+1000", "+500", "MISS")) {
+            assertTrue(plan.isBonus(plan.symbolId(name)), name + " should be bonus");
+        }
+        assertEquals(CompiledConfig.NO_SYMBOL, plan.symbolId("G"));
+        assertEquals("A", plan.symbolName(plan.symbolId("A")));
+    }
+
+    @Test
+    @DisplayName("Should flatten covered areas to cell indices")
+    void shouldFlattenCoveredAreas() {
+        var id = plan.combinationId("same_symbols_diagonally_right_to_left");
+        assertArrayEquals(new int[][]{{2, 4, 6}}, plan.coveredAreas(id));
+    }
+
+    @Test
+    @DisplayName("Should order groups count-based first and members by descending multiplier")
+    void shouldOrderGroups() {
+        assertEquals(5, plan.groupCount());
+        assertEquals("same_symbols", plan.groupName(0));
+        assertTrue(plan.isCountGroup(0), "same_symbols should resolve through the count table");
+        for (int group = 0; group < plan.groupCount(); group++) {
+            var members = plan.groupCombinations(group);
+            for (int i = 1; i < members.length; i++) {
+                assertTrue(plan.combinationMultiplier(members[i - 1]) >= plan.combinationMultiplier(members[i]),
+                        plan.groupName(group) + " should be ordered by multiplier");
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should resolve the highest satisfied same symbol count")
+    void shouldResolveSameSymbolCombination() {
+        assertEquals(-1, plan.bestSameSymbolCombination(0, 2));
+        assertEquals("same_symbol_3_times", plan.combinationName(plan.bestSameSymbolCombination(0, 3)));
+        assertEquals("same_symbol_9_times", plan.combinationName(plan.bestSameSymbolCombination(0, 9)));
+    }
+
+    @Test
+    @DisplayName("Should key ungrouped combinations by their own name and skip unknown rules")
+    void shouldGroupUngroupedCombinations() {
+        var config = TestConfigs.standard();
+        var combinations = new HashMap<>(config.winCombinations());
+        combinations.put("corners", new WinCombination(4.0, "linear_symbols", null, null,
+                List.of(List.of("0:0", "0:2", "2:0", "2:2"))));
+        combinations.put("mystery", new WinCombination(9.0, "unknown_rule", null, "mystery", null));
+        var compiled = CompiledConfig.compile(new GameConfig(config.columns(), config.rows(),
+                config.symbols(), config.probabilities(), combinations));
+
+        assertEquals(6, compiled.groupCount());
+        var groups = new ArrayList<String>();
+        for (int group = 0; group < compiled.groupCount(); group++) {
+            groups.add(compiled.groupName(group));
+        }
+        assertTrue(groups.contains("corners"), "Ungrouped combination should form its own group");
+        assertFalse(groups.contains("mystery"), "Unknown rules should never be resolved");
+    }
+
+    @Test
+    @DisplayName("Should drop covered areas outside the board")
+    void shouldDropAreasOutsideBoard() {
+        var config = TestConfigs.standard();
+        var combinations = new HashMap<>(config.winCombinations());
+        combinations.put("outside", new WinCombination(50.0, "linear_symbols", null, "outside",
+                List.of(List.of("0:0", "0:1", "0:3"))));
+        var compiled = CompiledConfig.compile(new GameConfig(config.columns(), config.rows(),
+                config.symbols(), config.probabilities(), combinations));
+
+        assertEquals(0, compiled.coveredAreas(compiled.combinationId("outside")).length,
+                "Out of board areas should be dropped");
+    }
+
+    @Test
+    @DisplayName("Should honour configured board dimensions")
+    void shouldHonourConfiguredDimensions() {
+        var compiled = CompiledConfig.compile(TestConfigs.standard(5, 7));
+
+        assertEquals(5, compiled.rows());
+        assertEquals(7, compiled.columns());
+        assertEquals(1, compiled.maskWords());
+        assertEquals(2, CompiledConfig.compile(TestConfigs.standard(9, 9)).maskWords());
+    }
+
+    @Test
+    @DisplayName("Should fall back to the 0:0 probabilities for unconfigured cells")
+    void shouldFallBackForMissingCells() {
+        var config = TestConfigs.standard();
+        var compiled = CompiledConfig.compile(new GameConfig(4, 4, config.symbols(),
+                config.probabilities(), config.winCombinations()));
+
+        assertSame(compiled.cellSampler(compiled.cellIndex(3, 3)), compiled.cellSampler(compiled.cellIndex(2, 3)));
+        assertEquals(6, compiled.cellSampler(compiled.cellIndex(3, 3)).size());
+    }
+}
@@ -0,0 +1,99 @@
+package com.game.core;
+
+import com.game.model.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.*;
+
+class FixedPointRewardsTest {
+
+    @Test
+    @DisplayName("Should pay exact minor units where doubles drift")
+    void shouldPayExactAmounts() {
+        var plan = CompiledConfig.compile(TestConfigs.standard());
+        var rewards = FixedPointRewards.of(plan, 2);
+        var result = new SpinResult(plan);
+        result.load(new String[][]{{"B", "B", "B"}, {"A", "C", "D"}, {"E", "F", "A"}});
+        new BoardEvaluator(plan).evaluate(result);
+
+        // 0.10 * 3.0 (B) * 1.0 (3 times) * 2.0 (horizontal)
+        assertEquals(60, rewards.calculateReward(result, 10));
+        assertEquals(0.6, result.reward(), "Reward should be the double nearest to 0.6");
+        assertNotEquals(0.6, new BoardEvaluator(plan).calculateReward(result, 0.1), "Double path should drift");
+    }
+
+    @Test
+    @DisplayName("Should match a BigDecimal reference on random spins")
+    void shouldMatchBigDecimalReference() {
+        var plan = CompiledConfig.compile(TestConfigs.standard());
+        var rewards = FixedPointRewards.of(plan, 2);
+        var engine = new SpinEngine(plan, RandomSource.seeded(18).generator());
+
+        for (int spin = 0; spin < 20_000; spin++) {
+            long bet = 1 + spin % 997;
+            var result = engine.spin(bet, rewards);
+            assertEquals(reference(result, bet), result.rewardMinor(), "Reward of spin " + spin);
+        }
+    }
+
+    @Test
+    @DisplayName("Should fall back to BigDecimal when scaled amounts overflow")
+    void shouldHandleOverflow() {
+        var plan = CompiledConfig.compile(TestConfigs.standard());
+        var rewards = FixedPointRewards.of(plan, 2);
+        var result = new SpinResult(plan);
+        result.load(new String[][]{{"A", "A", "A"}, {"A", "A", "A"}, {"A", "A", "A"}});
+        new BoardEvaluator(plan).evaluate(result);
+
+        long bet = 10_000_000L;
+        assertEquals(reference(result, bet), rewards.calculateReward(result, bet));
+        assertEquals(10_000_000L * 5 * 20 * 2 * 2 * 5 * 5, result.rewardMinor());
+    }
+
+    @Test
+    @DisplayName("Should reject multipliers and extras finer than the scales")
+    void shouldRejectTooPreciseValues() {
+        var config = TestConfigs.standard();
+        var symbols = new HashMap<>(config.symbols());
+        symbols.put("+500", new Symbol(0.0, "bonus", "extra_bonus", 0.005));
+        var plan = CompiledConfig.compile(new GameConfig(config.columns(), config.rows(), symbols,
+                config.probabilities(), config.winCombinations()));
+
+        assertThrows(IllegalArgumentException.class, () -> FixedPointRewards.of(plan, 2));
+        assertDoesNotThrow(() -> FixedPointRewards.of(plan, 3));
+        assertThrows(IllegalArgumentException.class,
+                () -> FixedPointRewards.of(plan, 2).toMinor(new BigDecimal("1.005")));
+    }
+
+    private static long reference(SpinResult result, long betMinor) {
+        var plan = result.plan();
+        var total = BigDecimal.ZERO;
+        for (int symbol = 0; symbol < plan.standardSymbolCount(); symbol++) {
+            if (!result.hasWin(symbol)) {
+                continue;
+            }
+            var value = BigDecimal.valueOf(betMinor).multiply(BigDecimal.valueOf(plan.rewardMultiplier(symbol)));
+            for (int slot = 0; slot < result.slots(); slot++) {
+                int combination = result.combination(symbol, slot);
+                if (combination != SpinResult.NO_COMBINATION) {
+                    value = value.multiply(BigDecimal.valueOf(plan.combinationMultiplier(combination)));
+                }
+            }
+            total = total.add(value.setScale(0, RoundingMode.HALF_UP));
+        }
+        int bonus = result.bonusSymbol();
+        if (bonus != CompiledConfig.NO_SYMBOL && total.signum() > 0) {
+            switch (plan.impact(bonus)) {
+                case CompiledConfig.IMPACT_MULTIPLY -> total = total
+                        .multiply(BigDecimal.valueOf(plan.rewardMultiplier(bonus))).setScale(0, RoundingMode.HALF_UP);
+                case CompiledConfig.IMPACT_EXTRA -> total = total
+                        .add(BigDecimal.valueOf(plan.extra(bonus)).movePointRight(2));
+                default -> {}
+            }
+        }
+        return total.longValueExact();
+    }
+}
@@ -281,10 +281,41 @@ class GameTest {
         var winCombinations = game.findWinningCombinations(matrix);
         var reward = game.calculateReward(100.0, winCombinations, null);
 
-        // For 9 same symbols:
-        // Base reward = betAmount * symbolMultiplier * nine_symbols_multiplier
-        // Additional rewards for horizontal and vertical lines are also applied
-        // 100 * 5.0 * 20.0 = 50000
-        assertEquals(50000.0, reward, "Reward should be 50000 (100 * 5.0 * 20.0 for nine same symbols)");
+        // For 9 same symbols the best combination of every group applies:
+        // 100 * 5.0 * 20.0 (nine times) * 2.0 (horizontal) * 2.0 (vertical) * 5.0 * 5.0 (both diagonals)
+        assertEquals(1000000.0, reward, "Reward should apply the best combination of each of the five groups");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should play configs without bonus symbols")
+    void shouldPlayWithoutBonusSymbols() {
+        var standardOnly = new GameConfig(3, 3, config.symbols(),
+                new Probabilities(config.probabilities().standardSymbols(), new BonusSymbolProbability(Map.of())),
+                config.winCombinations());
+        var noBonus = new Game(standardOnly, RandomSource.seeded(3));
+
+        for (int spin = 0; spin < 1_000; spin++) {
+            var result = noBonus.play(1.0);
+            assertNull(result.appliedBonusSymbol(), "No bonus symbol should be drawn");
+        }
+    }
+
+    @Test
+    @DisplayName("Should reuse the thread's engine across plays until the game changes")
+    void shouldReuseEngineAcrossPlays() {
+        var engine = game.engine();
+        var stakes = game.playStakes(new double[]{1, 10});
+        game.playBatch(1.0, 10);
+        game.play(1.0);
+        assertSame(engine, game.engine(), "Plays should not build engines");
+        assertEquals(10 * stakes.get(0).reward(), stakes.get(1).reward(), 1e-9);
+        assertSame(stakes.get(0).matrix(), stakes.get(1).matrix(), "Stakes should share one board");
+
+        game.metrics(new SpinMetrics() {});
+        var instrumented = game.engine();
+        assertNotSame(engine, instrumented, "New metrics need a new engine");
+        game.reload(CompiledConfig.compile(config));
+        assertNotSame(instrumented, game.engine(), "A reload needs a new engine");
+        assertSame(game.plan(), game.engine().plan());
+    }
+}
@@ -0,0 +1,86 @@
+package com.game.core;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class OutcomeCacheTest {
+
+    @Test
+    @DisplayName("Should use a dense table when every board fits")
+    void shouldChooseDenseTable() {
+        var small = OutcomeCache.of(CompiledConfig.compile(TestConfigs.standard(2, 2)), OutcomeCache.DEFAULT_CAPACITY);
+        var large = OutcomeCache.of(CompiledConfig.compile(TestConfigs.standard()), 1000);
+
+        assertTrue(small.isDense());
+        assertEquals(7 * 7 * 7 * 7, small.capacity());
+        assertFalse(large.isDense());
+        assertEquals(512, large.capacity(), "Direct-mapped tables round down to a power of two");
+    }
+
+    @Test
+    @DisplayName("Should reject boards too large to key")
+    void shouldRejectLargeBoards() {
+        var plan = CompiledConfig.compile(TestConfigs.standard(9, 9));
+
+        assertFalse(OutcomeCache.supports(plan));
+        assertThrows(IllegalArgumentException.class, () -> OutcomeCache.of(plan, 1024));
+    }
+
+    @Test
+    @DisplayName("Should produce the same spins with and without the cache")
+    void shouldMatchUncachedSpins() {
+        for (var rows : new int[]{2, 3}) {
+            var plan = CompiledConfig.compile(TestConfigs.standard(rows, rows));
+            // A tiny table forces constant eviction on the 3x3 board
+            var cache = OutcomeCache.of(plan, 64);
+            var plain = new SpinEngine(plan, RandomSource.seeded(17).generator());
+            var cached = new SpinEngine(new BoardEvaluator(plan, cache), RandomSource.seeded(17).generator(),
+                    SpinMetrics.NOOP, SpinListener.NONE);
+
+            for (int spin = 0; spin < 20_000; spin++) {
+                var expected = plain.spin(3.0);
+                var actual = cached.spin(3.0);
+                assertEquals(expected.reward(), actual.reward(), "Reward of spin " + spin);
+                assertEquals(expected.toWinningCombinations(), actual.toWinningCombinations(), "Wins of spin " + spin);
+                assertEquals(expected.bonusSymbol(), actual.bonusSymbol());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should rebuild the cache on reload and ignore a stale one")
+    void shouldRebuildOnReload() {
+        var game = new Game(TestConfigs.standard(), RandomSource.seeded(2));
+        game.outcomeCache(OutcomeCache.DEFAULT_CAPACITY);
+        var before = game.outcomeCache();
+
+        game.reload(CompiledConfig.compile(TestConfigs.standard()));
+
+        assertNotSame(before, game.outcomeCache(), "Reload should rebuild the cache");
+        assertSame(game.plan(), game.outcomeCache().plan());
+        var result = new SpinResult(game.plan());
+        result.load(new String[][]{{"A", "A", "A"}, {"B", "C", "D"}, {"E", "F", "B"}});
+        new BoardEvaluator(game.plan(), before).evaluate(result);
+        assertTrue(result.hasWin(game.plan().symbolId("A")));
+    }
+
+    @Test
+    @DisplayName("Should keep the requested capacity across reloads and reject a plan it cannot key")
+    void shouldKeepCapacityOnReload() {
+        // Every 2x2 board fits, so the first cache is dense and smaller than requested
+        var game = new Game(TestConfigs.standard(2, 2), RandomSource.seeded(2));
+        game.outcomeCache(OutcomeCache.DEFAULT_CAPACITY);
+        assertTrue(game.outcomeCache().isDense());
+
+        game.reload(CompiledConfig.compile(TestConfigs.standard()));
+        assertEquals(OutcomeCache.DEFAULT_CAPACITY, game.outcomeCache().capacity());
+
+        var live = game.plan();
+        var cache = game.outcomeCache();
+        assertThrows(IllegalArgumentException.class,
+                () -> game.reload(CompiledConfig.compile(TestConfigs.standard(8, 8))));
+        assertSame(live, game.plan(), "A rejected reload should leave the old plan serving");
+        assertSame(cache, game.outcomeCache());
+    }
+}
@@ -0,0 +1,84 @@
+package com.game.core;
+
+import com.game.model.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.*;
+
+class PlanInternerTest {
+
+    @Test
+    @DisplayName("Should share dictionaries, area tables and samplers between variants")
+    void shouldShareStateBetweenVariants() {
+        var interner = new PlanInterner();
+        var base = CompiledConfig.compile(TestConfigs.standard(), interner);
+        var variant = CompiledConfig.compile(withMultiplier(TestConfigs.standard(), "A", 50.0), interner);
+
+        assertNotSame(base, variant);
+        int diagonal = base.combinationId("same_symbols_diagonally_left_to_right");
+        assertSame(base.coveredAreas(diagonal), variant.coveredAreas(diagonal), "Areas should be shared");
+        assertSame(base.coveredAreaMasks(diagonal), variant.coveredAreaMasks(diagonal), "Masks should be shared");
+        assertSame(base.cellSampler(0), variant.cellSampler(0), "Equal samplers should be shared");
+        assertSame(base.bonusSampler(), variant.bonusSampler(), "Equal bonus samplers should be shared");
+        assertSame(base.groupCombinations(0), variant.groupCombinations(0), "Group members should be shared");
+        assertEquals(5.0, base.rewardMultiplier(base.symbolId("A")));
+        assertEquals(50.0, variant.rewardMultiplier(variant.symbolId("A")), "Multipliers stay per variant");
+    }
+
+    @Test
+    @DisplayName("Should keep samplers apart when weights differ")
+    void shouldNotShareDifferentSamplers() {
+        var interner = new PlanInterner();
+        var base = CompiledConfig.compile(TestConfigs.standard(), interner);
+        var config = TestConfigs.standard();
+        var cells = new ArrayList<>(config.probabilities().standardSymbols());
+        cells.set(0, new StandardSymbolProbability(0, 0, Map.of("A", 10, "B", 1)));
+        var variant = CompiledConfig.compile(new GameConfig(config.columns(), config.rows(), config.symbols(),
+                new Probabilities(cells, config.probabilities().bonusSymbols()), config.winCombinations()), interner);
+
+        assertNotSame(base.cellSampler(0), variant.cellSampler(0), "Different weights need their own sampler");
+        assertSame(base.cellSampler(1), variant.cellSampler(1), "Untouched cells should still be shared");
+    }
+
+    @Test
+    @DisplayName("Should not grow when the same config is compiled again")
+    void shouldNotGrowOnRecompile() {
+        var interner = new PlanInterner();
+        var plan = CompiledConfig.compile(TestConfigs.standard(), interner);
+        int size = interner.size();
+        CompiledConfig.compile(TestConfigs.standard(), interner);
+        assertEquals(size, interner.size(), "A recompile should reuse every shared object");
+        assertNotNull(plan);
+    }
+
+    @Test
+    @DisplayName("Should drop shared objects once no plan uses them")
+    void shouldDropRetiredVariants() throws InterruptedException {
+        var interner = new PlanInterner();
+        var base = CompiledConfig.compile(TestConfigs.standard(), interner);
+        int size = interner.size();
+        var config = TestConfigs.standard();
+        var cells = new ArrayList<>(config.probabilities().standardSymbols());
+        cells.set(0, new StandardSymbolProbability(0, 0, Map.of("A", 10, "B", 1)));
+        var variant = CompiledConfig.compile(new GameConfig(config.columns(), config.rows(), config.symbols(),
+                new Probabilities(cells, config.probabilities().bonusSymbols()), config.winCombinations()), interner);
+        assertTrue(interner.size() > size, "The variant's own sampler should be held");
+
+        variant = null;
+        for (int attempt = 0; attempt < 50 && interner.size() > size; attempt++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        assertEquals(size, interner.size(), "Only the objects of live plans should be held");
+        assertSame(base.cellSampler(1), CompiledConfig.compile(TestConfigs.standard(), interner).cellSampler(1));
+    }
+
+    private static GameConfig withMultiplier(GameConfig config, String symbol, double multiplier) {
+        var symbols = new HashMap<>(config.symbols());
+        var current = symbols.get(symbol);
+        symbols.put(symbol, new Symbol(multiplier, current.type(), current.impact(), current.extra()));
+        return new GameConfig(config.columns(), config.rows(), symbols, config.probabilities(),
+                config.winCombinations());
+    }
+}
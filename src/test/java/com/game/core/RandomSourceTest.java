@@ -0,0 +1,50 @@
+package com.game.core;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.random.RandomGenerator;
+
+class RandomSourceTest {
+
+    @Test
+    @DisplayName("Should replay the same spins for the same seed")
+    void shouldReplaySeededSpins() {
+        var first = new Game(TestConfigs.standard(), RandomSource.seeded(2024));
+        var second = new Game(TestConfigs.standard(), RandomSource.seeded(2024));
+
+        for (int i = 0; i < 100; i++) {
+            var expected = first.play(10.0);
+            var actual = second.play(10.0);
+            assertArrayEquals(expected.matrix(), actual.matrix());
+            assertEquals(expected.reward(), actual.reward());
+        }
+    }
+
+    @Test
+    @DisplayName("Should give each thread its own stream")
+    void shouldGiveEachThreadItsOwnStream() throws Exception {
+        var source = RandomSource.perThread(99);
+        var local = source.generator();
+        var other = new AtomicReference<RandomGenerator>();
+
+        var thread = new Thread(() -> other.set(source.generator()));
+        thread.start();
+        thread.join();
+
+        assertSame(local, source.generator(), "Thread should keep its stream");
+        assertNotSame(local, other.get(), "Threads should not share a stream");
+    }
+
+    @Test
+    @DisplayName("Should split per-thread streams deterministically from the seed")
+    void shouldSplitDeterministically() {
+        var first = RandomSource.perThread(5).generator();
+        var second = RandomSource.perThread(5).generator();
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(first.nextLong(), second.nextLong());
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.game.core;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.List;
+import java.util.stream.IntStream;
+
+class SpinBatchTest {
+
+    @Test
+    @DisplayName("Should match spins played one at a time")
+    void shouldMatchSingleSpins() {
+        var batchGame = new Game(TestConfigs.standard(), RandomSource.seeded(8));
+        var singleGame = new Game(TestConfigs.standard(), RandomSource.seeded(8));
+
+        var batch = batchGame.playBatch(10.0, 500);
+        var engine = singleGame.newEngine();
+
+        assertEquals(500, batch.size());
+        for (int spin = 0; spin < batch.size(); spin++) {
+            var expected = engine.spin(10.0).toGameResult();
+            var actual = batch.toGameResult(spin);
+            assertArrayEquals(expected.matrix(), actual.matrix());
+            assertEquals(expected.reward(), actual.reward());
+            assertEquals(expected.appliedWinningCombinations(), actual.appliedWinningCombinations());
+            assertEquals(expected.appliedBonusSymbol(), actual.appliedBonusSymbol());
+        }
+    }
+
+    @Test
+    @DisplayName("Should reuse a batch across calls")
+    void shouldReuseBatch() {
+        var game = new Game(TestConfigs.standard(), RandomSource.seeded(3));
+        var batch = game.playBatch(1.0, 100);
+        var boards = batch.boards();
+
+        game.playBatch(1.0, 50, batch);
+
+        assertEquals(50, batch.size());
+        assertSame(boards, batch.boards(), "Smaller batch should reuse the board column");
+        assertEquals(batch.winOffset(50) - batch.winOffset(0),
+                IntStream.range(0, 50)
+                        .map(i -> batch.toGameResult(i).appliedWinningCombinations().values().stream()
+                                .mapToInt(List::size).sum())
+                        .sum());
+    }
+
+    @Test
+    @DisplayName("Should reject a batch built for another config")
+    void shouldRejectForeignBatch() {
+        var game = new Game(TestConfigs.standard());
+        var other = new SpinBatch(CompiledConfig.compile(TestConfigs.standard()));
+
+        assertThrows(IllegalArgumentException.class, () -> game.playBatch(1.0, 10, other));
+    }
+
+    @Test
+    @DisplayName("Should fail fast when a batch's boards would overflow an int array")
+    void shouldRejectOversizedBatch() {
+        var game = new Game(TestConfigs.standard());
+        var batch = new SpinBatch(game.plan());
+
+        assertThrows(ArithmeticException.class, () -> game.playBatch(1.0, Integer.MAX_VALUE / 4, batch));
+    }
+}
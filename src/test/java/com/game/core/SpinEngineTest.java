@@ -0,0 +1,108 @@
+package com.game.core;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.lang.management.ManagementFactory;
+import java.util.*;
+
+class SpinEngineTest {
+    private Game game;
+    private SpinEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        game = new Game(TestConfigs.standard());
+        engine = new SpinEngine(game.plan(), RandomSource.seeded(42).generator());
+    }
+
+    @Test
+    @DisplayName("Should reuse the same result holder across spins")
+    void shouldReuseResultHolder() {
+        var first = engine.spin(100.0);
+        var second = engine.spin(100.0);
+
+        assertSame(first, second, "Engine should overwrite its result holder");
+    }
+
+    @Test
+    @DisplayName("Should agree with the string based evaluation")
+    void shouldAgreeWithStringEvaluation() {
+        for (int i = 0; i < 1_000; i++) {
+            var result = engine.spin(100.0).toGameResult();
+            var winningCombinations = game.findWinningCombinations(result.matrix());
+            var bonus = game.findBonusSymbol(result.matrix());
+
+            assertEquals(winningCombinations, result.appliedWinningCombinations());
+            assertEquals(bonus, result.appliedBonusSymbol());
+            assertEquals(game.calculateReward(100.0, winningCombinations, bonus), result.reward(), 1e-9);
+        }
+    }
+
+    @Test
+    @DisplayName("Should draw the same spins whether or not a listener is attached")
+    void shouldNotChangeSpinsWhenListened() {
+        var seeds = new ArrayList<Long>();
+        var listened = new SpinEngine(game.plan(), RandomSource.seeded(42).generator(), SpinMetrics.NOOP,
+                (seed, bet, result) -> seeds.add(seed));
+        var replaying = new SpinEngine(game.plan(), new SplitMix64(0));
+        for (int spin = 0; spin < 1_000; spin++) {
+            var expected = engine.spin(100.0);
+            var board = expected.board().clone();
+            var reward = expected.reward();
+            var actual = listened.spin(100.0);
+
+            assertArrayEquals(board, actual.board(), "Spin " + spin + " should not depend on the listener");
+            assertEquals(reward, actual.reward());
+            assertArrayEquals(board, replaying.replay(seeds.get(spin), 100.0).board(), "Replay of spin " + spin);
+        }
+    }
+
+    @Test
+    @DisplayName("Should price one board at every stake")
+    void shouldPriceEveryStake() {
+        var stakes = new double[]{1, 5, 20};
+        var seeds = new ArrayList<Long>();
+        var multiBet = new SpinEngine(game.plan(), RandomSource.seeded(42).generator(), SpinMetrics.NOOP,
+                (seed, bet, result) -> seeds.add(seed));
+        var rewards = new double[stakes.length];
+        var replaying = new SpinEngine(game.plan(), new SplitMix64(0));
+        for (int spin = 0; spin < 1_000; spin++) {
+            var board = multiBet.spin(stakes, rewards).board().clone();
+
+            // Replaying the logged seed at each stake reproduces the board and its reward
+            for (int stake = 0; stake < stakes.length; stake++) {
+                var replayed = replaying.replay(seeds.get(stake), stakes[stake]);
+                assertArrayEquals(board, replayed.board(), "Every stake should see the same board");
+                assertEquals(replayed.reward(), rewards[stake], "Reward at stake " + stakes[stake]);
+            }
+            assertEquals(List.of(seeds.get(0), seeds.get(0), seeds.get(0)), seeds, "One seed per board");
+            seeds.clear();
+        }
+        assertThrows(IllegalArgumentException.class, () -> engine.spin(new double[]{1, -1}, new double[2]));
+        assertThrows(IllegalArgumentException.class, () -> engine.spin(new double[]{1, 2}, new double[1]));
+    }
+
+    @Test
+    @DisplayName("Should not allocate per spin after warm-up")
+    void shouldNotAllocatePerSpin() {
+        var threads = ManagementFactory.getThreadMXBean();
+        if (!(threads instanceof com.sun.management.ThreadMXBean allocations)
+                || !allocations.isThreadAllocatedMemorySupported()) {
+            return;
+        }
+        for (int i = 0; i < 50_000; i++) {
+            engine.spin(100.0);
+        }
+
+        var threadId = Thread.currentThread().getId();
+        var before = allocations.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 100_000; i++) {
+            engine.spin(100.0);
+        }
+        var allocated = allocations.getThreadAllocatedBytes(threadId) - before;
+
+        assertTrue(allocated < 64 * 1024, "Spins allocated " + allocated + " bytes");
+    }
+}
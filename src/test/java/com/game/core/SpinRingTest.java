@@ -0,0 +1,137 @@
+package com.game.core;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.lang.management.ManagementFactory;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+class SpinRingTest {
+
+    @Test
+    @DisplayName("Should hand every spin to every consumer in order")
+    void shouldHandEverySpinToEveryConsumer() throws Exception {
+        for (int size : new int[]{3, 9}) {
+            var plan = CompiledConfig.compile(TestConfigs.standard(size, size));
+            // A small ring, so the producer wraps around and waits on the consumers
+            var ring = new SpinRing(plan, 8, 2);
+            var published = new ArrayList<String>();
+            var engine = new SpinEngine(plan, RandomSource.seeded(42).generator(), SpinMetrics.NOOP,
+                    (seed, bet, result) -> {
+                        published.add(describe(seed, bet, result));
+                        ring.onSpin(seed, bet, result);
+                    });
+
+            var stages = Executors.newFixedThreadPool(2);
+            try {
+                var received = new ArrayList<Future<List<String>>>();
+                for (int i = 0; i < 2; i++) {
+                    var consumer = ring.consumer(i);
+                    received.add(stages.submit(() -> {
+                        var seen = new ArrayList<String>();
+                        consumer.drain((seed, bet, result) -> seen.add(describe(seed, bet, result)));
+                        return seen;
+                    }));
+                }
+                try (ring) {
+                    for (int spin = 0; spin < 5_000; spin++) {
+                        engine.spin(100.0);
+                    }
+                }
+                for (var stage : received) {
+                    assertEquals(published, stage.get(), "Consumer should decode every spin of a "
+                            + size + "x" + size + " board as published");
+                }
+            } finally {
+                stages.shutdownNow();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should report when nothing has been published")
+    void shouldPollOnlyPublishedSpins() {
+        var plan = CompiledConfig.compile(TestConfigs.standard());
+        var ring = new SpinRing(plan, 4, 1);
+        var engine = new SpinEngine(plan, RandomSource.seeded(7).generator(), SpinMetrics.NOOP, ring);
+        var seeds = new ArrayList<Long>();
+        SpinListener handler = (seed, bet, result) -> seeds.add(seed);
+
+        assertFalse(ring.consumer(0).poll(handler), "Empty ring should have nothing to poll");
+        engine.spin(10.0);
+        assertTrue(ring.consumer(0).poll(handler), "Published spin should be polled");
+        assertFalse(ring.consumer(0).poll(handler), "Spin should be polled only once");
+        assertEquals(1, seeds.size());
+    }
+
+    @Test
+    @DisplayName("Should fail the producer once a consumer fails")
+    void shouldFailProducerWhenConsumerFails() {
+        var plan = CompiledConfig.compile(TestConfigs.standard());
+        var ring = new SpinRing(plan, 4, 1);
+        var engine = new SpinEngine(plan, RandomSource.seeded(7).generator(), SpinMetrics.NOOP, ring);
+        engine.spin(10.0);
+
+        var failure = new IllegalStateException("disk full");
+        assertThrows(IllegalStateException.class,
+                () -> ring.consumer(0).poll((seed, bet, result) -> { throw failure; }));
+        var error = assertThrows(IllegalStateException.class, () -> engine.spin(10.0));
+        assertSame(failure, error.getCause(), "Producer should surface the consumer's failure");
+    }
+
+    @Test
+    @DisplayName("Should reject rings that are not a power of two or have no consumers")
+    void shouldRejectInvalidRings() {
+        var plan = CompiledConfig.compile(TestConfigs.standard());
+
+        assertThrows(IllegalArgumentException.class, () -> new SpinRing(plan, 100, 1));
+        assertThrows(IllegalArgumentException.class, () -> new SpinRing(plan, 64, 0));
+    }
+
+    @Test
+    @DisplayName("Should not allocate when handing spins off")
+    void shouldNotAllocatePerHandOff() {
+        var threads = ManagementFactory.getThreadMXBean();
+        if (!(threads instanceof com.sun.management.ThreadMXBean allocations)
+                || !allocations.isThreadAllocatedMemorySupported()) {
+            return;
+        }
+        var plan = CompiledConfig.compile(TestConfigs.standard());
+        var ring = new SpinRing(plan, SpinRing.DEFAULT_CAPACITY, 1);
+        var engine = new SpinEngine(plan, RandomSource.seeded(42).generator(), SpinMetrics.NOOP, ring);
+        var consumer = ring.consumer(0);
+        var rewards = new double[1];
+        SpinListener handler = (seed, bet, result) -> rewards[0] += result.reward();
+        for (int i = 0; i < 50_000; i++) {
+            engine.spin(100.0);
+            consumer.poll(handler);
+        }
+
+        var threadId = Thread.currentThread().getId();
+        var before = allocations.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 100_000; i++) {
+            engine.spin(100.0);
+            consumer.poll(handler);
+        }
+        var allocated = allocations.getThreadAllocatedBytes(threadId) - before;
+
+        assertTrue(allocated < 64 * 1024, "Hand-offs allocated " + allocated + " bytes");
+    }
+
+    private static String describe(long seed, double bet, SpinResult result) {
+        var plan = result.plan();
+        var counts = new int[plan.standardSymbolCount()];
+        var masks = new long[plan.standardSymbolCount() * plan.maskWords()];
+        for (int symbol = 0; symbol < counts.length; symbol++) {
+            counts[symbol] = result.count(symbol);
+            for (int word = 0; word < plan.maskWords(); word++) {
+                masks[symbol * plan.maskWords() + word] = result.mask(symbol, word);
+            }
+        }
+        return seed + " " + bet + " " + Arrays.toString(result.board()) + " " + result.reward() + " "
+                + new TreeMap<>(result.toWinningCombinations()) + " " + result.bonusSymbol() + " "
+                + Arrays.toString(counts) + " " + Arrays.toString(masks);
+    }
+}
@@ -0,0 +1,61 @@
+package com.game.core;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.*;
+
+class SymbolSamplerTest {
+    private CompiledConfig plan;
+
+    @BeforeEach
+    void setUp() {
+        plan = CompiledConfig.compile(TestConfigs.standard());
+    }
+
+    @Test
+    @DisplayName("Should reproduce configured weights exactly in the alias table")
+    void shouldReproduceWeightsExactly() {
+        var sampler = plan.cellSampler(0);
+        var weights = Map.of("A", 1, "B", 2, "C", 3, "D", 4, "E", 5, "F", 6);
+
+        weights.forEach((symbol, weight) ->
+                assertEquals(weight / 21.0, sampler.probability(plan.symbolId(symbol)), 1e-12, symbol));
+    }
+
+    @Test
+    @DisplayName("Should draw symbols close to their configured frequency")
+    void shouldDrawWithConfiguredFrequency() {
+        var sampler = plan.bonusSampler();
+        var random = new Random(7);
+        var counts = new int[plan.symbolCount()];
+        int draws = 300_000;
+        for (int i = 0; i < draws; i++) {
+            counts[sampler.sample(random)]++;
+        }
+
+        var weights = Map.of("10x", 1, "5x", 2, "+1000", 3, "+500", 4, "MISS", 5);
+        weights.forEach((symbol, weight) ->
+                assertEquals(weight / 15.0, counts[plan.symbolId(symbol)] / (double) draws, 0.005, symbol));
+    }
+
+    @Test
+    @DisplayName("Should draw the same sequence for the same seed")
+    void shouldBeDeterministicForSeed() {
+        var sampler = plan.cellSampler(0);
+        var first = new Random(11);
+        var second = new Random(11);
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(sampler.sample(first), sampler.sample(second));
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject draws without weights")
+    void shouldRejectDrawWithoutWeights() {
+        var sampler = SymbolSampler.of(Map.of(), plan);
+
+        assertThrows(IllegalStateException.class, () -> sampler.sample(new Random()));
+    }
+}
@@ -0,0 +1,64 @@
+package com.game.core;
+
+import com.game.model.*;
+import java.util.*;
+
+/** Shared fixtures mirroring the shipped 3x3 config. */
+final class TestConfigs {
+    private TestConfigs() {}
+
+    static GameConfig standard() {
+        return standard(3, 3);
+    }
+
+    static GameConfig standard(int rows, int columns) {
+        var symbols = new HashMap<String, Symbol>();
+        symbols.put("A", new Symbol(5.0, "standard", null, null));
+        symbols.put("B", new Symbol(3.0, "standard", null, null));
+        symbols.put("C", new Symbol(2.5, "standard", null, null));
+        symbols.put("D", new Symbol(2.0, "standard", null, null));
+        symbols.put("E", new Symbol(1.2, "standard", null, null));
+        symbols.put("F", new Symbol(1.0, "standard", null, null));
+        symbols.put("10x", new Symbol(10.0, "bonus", "multiply_reward", null));
+        symbols.put("5x", new Symbol(5.0, "bonus", "multiply_reward", null));
+        symbols.put("+1000", new Symbol(0.0, "bonus", "extra_bonus", 1000.0));
+        symbols.put("+500", new Symbol(0.0, "bonus", "extra_bonus", 500.0));
+        symbols.put("MISS", new Symbol(0.0, "bonus", "miss", null));
+
+        var symbolProbs = Map.of("A", 1, "B", 2, "C", 3, "D", 4, "E", 5, "F", 6);
+        var standardProbs = new ArrayList<StandardSymbolProbability>();
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < columns; col++) {
+                standardProbs.add(new StandardSymbolProbability(col, row, symbolProbs));
+            }
+        }
+        var bonusProbs = new BonusSymbolProbability(
+                Map.of("10x", 1, "5x", 2, "+1000", 3, "+500", 4, "MISS", 5));
+
+        var multipliers = new double[]{1.0, 1.5, 2.0, 3.0, 5.0, 10.0, 20.0};
+        var winCombinations = new HashMap<String, WinCombination>();
+        for (int count = 3; count <= 9; count++) {
+            winCombinations.put("same_symbol_" + count + "_times",
+                    new WinCombination(multipliers[count - 3], "same_symbols", count, "same_symbols", null));
+        }
+        winCombinations.put("same_symbols_horizontally",
+                new WinCombination(2.0, "linear_symbols", null, "horizontally_linear_symbols", List.of(
+                        List.of("0:0", "0:1", "0:2"),
+                        List.of("1:0", "1:1", "1:2"),
+                        List.of("2:0", "2:1", "2:2"))));
+        winCombinations.put("same_symbols_vertically",
+                new WinCombination(2.0, "linear_symbols", null, "vertically_linear_symbols", List.of(
+                        List.of("0:0", "1:0", "2:0"),
+                        List.of("0:1", "1:1", "2:1"),
+                        List.of("0:2", "1:2", "2:2"))));
+        winCombinations.put("same_symbols_diagonally_left_to_right",
+                new WinCombination(5.0, "linear_symbols", null, "ltr_diagonally_linear_symbols",
+                        List.of(List.of("0:0", "1:1", "2:2"))));
+        winCombinations.put("same_symbols_diagonally_right_to_left",
+                new WinCombination(5.0, "linear_symbols", null, "rtl_diagonally_linear_symbols",
+                        List.of(List.of("0:2", "1:1", "2:0"))));
+
+        return new GameConfig(columns, rows, symbols,
+                new Probabilities(standardProbs, bonusProbs), winCombinations);
+    }
+}
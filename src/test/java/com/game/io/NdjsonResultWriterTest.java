@@ -0,0 +1,65 @@
+package com.game.io;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.game.core.Game;
+import com.game.core.RandomSource;
+import com.game.model.GameConfig;
+import com.game.model.GameResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+class NdjsonResultWriterTest {
+    private final ObjectMapper mapper = new ObjectMapper();
+    private GameConfig config;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        config = mapper.readValue(Path.of("config.json").toFile(), GameConfig.class);
+    }
+
+    @Test
+    @DisplayName("Should write one JSON document per line")
+    void shouldWriteOneDocumentPerLine() throws Exception {
+        var engine = new Game(config, RandomSource.seeded(6)).newEngine();
+        var replay = new Game(config, RandomSource.seeded(6)).newEngine();
+        var out = new ByteArrayOutputStream();
+
+        try (var writer = new NdjsonResultWriter(out)) {
+            for (int i = 0; i < 200; i++) {
+                writer.write(engine.spin(10.0));
+            }
+        }
+
+        var lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(200, lines.length);
+        for (var line : lines) {
+            var expected = replay.spin(10.0).toGameResult();
+            var actual = mapper.readValue(line, GameResult.class);
+            assertArrayEquals(expected.matrix(), actual.matrix());
+            assertEquals(expected.reward(), actual.reward());
+            assertEquals(expected.appliedWinningCombinations(), actual.appliedWinningCombinations());
+            assertEquals(expected.appliedBonusSymbol(), actual.appliedBonusSymbol());
+        }
+    }
+
+    @Test
+    @DisplayName("Should serialise GameResult with the snake case field names")
+    void shouldSerialiseGameResult() throws Exception {
+        var result = new GameResult(new String[][]{{"A", "B"}, {"C", null}}, 12.5,
+                Map.of("A", new ArrayList<>(List.of("same_symbol_3_times"))), null);
+
+        var json = mapper.writeValueAsString(result);
+
+        assertEquals("{\"matrix\":[[\"A\",\"B\"],[\"C\",null]],\"reward\":12.5,"
+                + "\"applied_winning_combinations\":{\"A\":[\"same_symbol_3_times\"]},"
+                + "\"applied_bonus_symbol\":null}", json);
+    }
+}
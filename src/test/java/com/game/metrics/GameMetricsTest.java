@@ -0,0 +1,141 @@
+package com.game.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.game.core.CompiledConfig;
+import com.game.core.Game;
+import com.game.core.RandomSource;
+import com.game.core.SpinMetrics;
+import com.game.model.GameConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+
+class GameMetricsTest {
+    private GameConfig config;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        config = new ObjectMapper().readValue(Path.of("config.json").toFile(), GameConfig.class);
+    }
+
+    @Test
+    @DisplayName("Should count spins, hits and running RTP")
+    void shouldTrackOutcomes() {
+        var game = new Game(config, RandomSource.seeded(15));
+        var metrics = new GameMetrics();
+        game.metrics(metrics);
+
+        double reward = 0;
+        long wins = 0;
+        for (int spin = 0; spin < 2_000; spin++) {
+            var result = game.play(2.0);
+            reward += result.reward();
+            wins += result.reward() > 0 ? 1 : 0;
+        }
+
+        assertEquals(2_000, metrics.getSpins());
+        assertEquals(wins, metrics.getWinningSpins());
+        assertEquals(reward / 4_000.0, metrics.getRtp(), 1e-9);
+        long symbolHits = metrics.getSymbolHits().values().stream().mapToLong(Long::longValue).sum();
+        assertTrue(symbolHits >= wins, "Every winning spin should have at least one winning symbol");
+        assertTrue(metrics.getCombinationHits().get("same_symbol_3_times") > 0, "3 of a kind should be common");
+        assertTrue(metrics.getPlayP99Nanos() >= metrics.getPlayP50Nanos());
+        assertTrue(metrics.dump().contains("spins 2000\n"), metrics.dump());
+    }
+
+    @Test
+    @DisplayName("Should not change outcomes when instrumented")
+    void shouldNotChangeOutcomes() {
+        var plain = new Game(config, RandomSource.seeded(4)).newEngine();
+        var game = new Game(config, RandomSource.seeded(4));
+        game.metrics(new GameMetrics());
+        var instrumented = game.newEngine();
+
+        assertSame(SpinMetrics.NOOP, plain.metrics());
+        for (int spin = 0; spin < 500; spin++) {
+            var expected = plain.spin(1.0);
+            var actual = instrumented.spin(1.0);
+            assertArrayEquals(expected.toMatrix(), actual.toMatrix());
+            assertEquals(expected.reward(), actual.reward());
+        }
+    }
+
+    @Test
+    @DisplayName("Should expose metrics as an MXBean")
+    void shouldRegisterMxBean() throws Exception {
+        var metrics = new GameMetrics();
+        var name = metrics.register("metrics-test");
+        try {
+            var server = ManagementFactory.getPlatformMBeanServer();
+            assertEquals(0L, server.getAttribute(name, "Spins"));
+            assertEquals(0.0, server.getAttribute(name, "Rtp"));
+        } finally {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+        }
+    }
+
+    @Test
+    @DisplayName("Should register game names that are not valid object name values")
+    void shouldQuoteGameName() throws Exception {
+        var name = new GameMetrics().register("tier=gold,region:\"eu\"");
+        try {
+            assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(name), name.toString());
+        } finally {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+        }
+    }
+
+    @Test
+    @DisplayName("Should count bonus impacts on losing spins as well")
+    void shouldCountBonusImpactsOfEverySpin() {
+        // The shipped cells on a 3x3 board, where many boards hold no symbol three times
+        var sparse = new GameConfig(3, 3, config.symbols(), config.probabilities(), config.winCombinations());
+        var game = new Game(sparse, RandomSource.seeded(21));
+        var metrics = new GameMetrics();
+        game.metrics(metrics);
+
+        long bonuses = 0;
+        long losingBonuses = 0;
+        for (int spin = 0; spin < 2_000; spin++) {
+            var result = game.play(1.0);
+            if (result.appliedBonusSymbol() != null) {
+                bonuses++;
+                losingBonuses += result.reward() > 0 ? 0 : 1;
+            }
+        }
+
+        assertTrue(losingBonuses > 0, "Some bonus symbols should land on losing boards");
+        long impactHits = metrics.getBonusImpactHits().values().stream().mapToLong(Long::longValue).sum();
+        assertEquals(bonuses, impactHits, "Every drawn bonus symbol should be counted");
+    }
+
+    @Test
+    @DisplayName("Should keep the reloaded plan's hit counts while old-plan spins drain")
+    void shouldNotResetHitsOnInterleavedPlans() {
+        var game = new Game(config, RandomSource.seeded(9));
+        var metrics = new GameMetrics();
+        game.metrics(metrics);
+        var old = game.newEngine();
+        game.reload(CompiledConfig.compile(config));
+        var fresh = game.newEngine();
+
+        long expected = 0;
+        long spins = 0;
+        for (int spin = 0; spin < 1_000; spin++) {
+            old.spin(1.0);
+            spins++;
+            var result = fresh.spin(1.0);
+            spins++;
+            for (int symbol = 0; symbol < result.plan().standardSymbolCount(); symbol++) {
+                expected += result.reward() > 0 && result.count(symbol) > 0 && result.hasWin(symbol) ? 1 : 0;
+            }
+        }
+
+        assertEquals(spins, metrics.getSpins(), "Spin totals should cover both plans");
+        long symbolHits = metrics.getSymbolHits().values().stream().mapToLong(Long::longValue).sum();
+        assertEquals(expected, symbolHits, "Hits should count the live plan's spins only, never restarting");
+    }
+}
@@ -0,0 +1,34 @@
+package com.game.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("Should keep every bucket within an eighth of its values")
+    void shouldBoundBucketError() {
+        for (long value : new long[]{0, 7, 8, 15, 16, 17, 1_000, 123_456_789, Long.MAX_VALUE / 3}) {
+            long upper = LatencyHistogram.upperBound(LatencyHistogram.bucketOf(value));
+            assertTrue(upper >= value, "Bucket for " + value + " should not end below it");
+            assertTrue(upper - value <= Math.max(1, value / 8), "Bucket for " + value + " is too wide: " + upper);
+        }
+    }
+
+    @Test
+    @DisplayName("Should report percentiles of recorded values")
+    void shouldReportPercentiles() {
+        var histogram = new LatencyHistogram();
+        for (int value = 1; value <= 1_000; value++) {
+            histogram.record(value);
+        }
+
+        assertEquals(1_000, histogram.count());
+        assertEquals(1_000, histogram.max());
+        assertEquals(500.5, histogram.mean(), 1e-9);
+        assertEquals(500, histogram.percentile(50), 500 / 8.0);
+        assertEquals(990, histogram.percentile(99), 990 / 8.0);
+        assertEquals(1_000, histogram.percentile(100));
+    }
+}
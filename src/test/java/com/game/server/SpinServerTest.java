@@ -0,0 +1,89 @@
+package com.game.server;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.game.core.Game;
+import com.game.core.RandomSource;
+import com.game.model.GameConfig;
+import com.game.model.GameResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.Map;
+
+class SpinServerTest {
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newHttpClient();
+    private SpinServer server;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        var config = mapper.readValue(Path.of("config.json").toFile(), GameConfig.class);
+        server = new SpinServer(0, Map.of(
+                "classic", new Game(config, RandomSource.perThread(1)),
+                "other", new Game(config, RandomSource.perThread(2))), 2);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    @DisplayName("Should play a spin on the named game")
+    void shouldPlaySpin() throws Exception {
+        var response = post("/spin?game=classic", "{\"betting_amount\": 100}");
+
+        assertEquals(200, response.statusCode());
+        var result = mapper.readValue(response.body(), GameResult.class);
+        assertEquals(4, result.matrix().length);
+    }
+
+    @Test
+    @DisplayName("Should play a batch of spins")
+    void shouldPlayBatch() throws Exception {
+        var response = post("/spin/batch?game=other", "{\"betting_amount\": 10, \"count\": 25}");
+
+        assertEquals(200, response.statusCode());
+        assertEquals(25, mapper.readValue(response.body(), GameResult[].class).length);
+    }
+
+    @Test
+    @DisplayName("Should price one board at several stakes")
+    void shouldPlayStakes() throws Exception {
+        var response = post("/spin/stakes?game=classic", "{\"betting_amounts\": [1, 10, 100]}");
+
+        assertEquals(200, response.statusCode());
+        var results = mapper.readValue(response.body(), GameResult[].class);
+        assertEquals(3, results.length);
+        for (var result : results) {
+            assertArrayEquals(results[0].matrix(), result.matrix(), "Every stake should price the same board");
+            assertEquals(results[0].appliedWinningCombinations(), result.appliedWinningCombinations());
+        }
+        assertEquals(400, post("/spin/stakes?game=classic", "{\"betting_amounts\": []}").statusCode());
+    }
+
+    @Test
+    @DisplayName("Should reject unknown games and invalid bets")
+    void shouldRejectBadRequests() throws Exception {
+        assertEquals(404, post("/spin?game=missing", "{\"betting_amount\": 1}").statusCode());
+        assertEquals(404, post("/spin", "{\"betting_amount\": 1}").statusCode(), "Game is ambiguous");
+        assertEquals(400, post("/spin?game=classic", "{\"betting_amount\": -1}").statusCode());
+        assertEquals(400, post("/spin?game=classic", "not json").statusCode());
+        assertEquals(400, post("/spin/batch?game=classic", "{\"betting_amount\": 1, \"count\": 0}").statusCode());
+    }
+
+    private HttpResponse<String> post(String path, String body) throws Exception {
+        var request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.port() + path))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
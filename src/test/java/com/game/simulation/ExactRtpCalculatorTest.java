@@ -0,0 +1,121 @@
+package com.game.simulation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.game.core.BoardEvaluator;
+import com.game.core.CompiledConfig;
+import com.game.core.SpinEngine;
+import com.game.core.SpinResult;
+import com.game.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.nio.file.Path;
+import java.util.*;
+
+class ExactRtpCalculatorTest {
+    private GameConfig config;
+    private CompiledConfig plan;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        config = new ObjectMapper().readValue(Path.of("config.json").toFile(), GameConfig.class);
+        plan = CompiledConfig.compile(config);
+    }
+
+    @Test
+    @DisplayName("Should produce a distribution that sums to one")
+    void shouldProduceNormalisedDistribution() {
+        var report = new ExactRtpCalculator(plan).calculate(1.0);
+
+        var total = report.distribution().values().stream().mapToDouble(Double::doubleValue).sum();
+        assertEquals(1.0, total, 1e-9);
+        var hits = report.distribution().entrySet().stream()
+                .filter(e -> e.getKey() > 0)
+                .mapToDouble(e -> e.getValue())
+                .sum();
+        assertEquals(report.hitRate(), hits, 1e-12);
+    }
+
+    @Test
+    @DisplayName("Should agree with Monte Carlo simulation")
+    void shouldAgreeWithSimulation() {
+        var report = new ExactRtpCalculator(plan).calculate(1.0);
+        var simulator = new Simulator(plan, 4, 17);
+        var stats = simulator.run(400_000, 1.0);
+
+        // Four standard errors of the simulated mean
+        var tolerance = 4 * Math.sqrt(stats.variance() / stats.spins());
+        assertEquals(report.rtp(), stats.rtp(), tolerance);
+        assertEquals(report.hitRate(), stats.hitRate(), 0.005);
+    }
+
+    @Test
+    @DisplayName("Should match evaluating every board of a small config one by one")
+    void shouldMatchBoardByBoardEnumeration() {
+        // Two symbols on the shipped 4x4 board: 2^16 boards, each also with a bonus on every cell
+        var small = CompiledConfig.compile(new GameConfig(4, 4, config.symbols(),
+                new Probabilities(List.of(new StandardSymbolProbability(0, 0, Map.of("A", 1, "B", 3))),
+                        config.probabilities().bonusSymbols()),
+                config.winCombinations()));
+
+        var report = new ExactRtpCalculator(small).calculate(2.0);
+        var expected = enumerateBoards(small, 2.0);
+
+        assertEquals(expected.keySet(), report.distribution().keySet(), "Both should find the same rewards");
+        expected.forEach((reward, p) ->
+                assertEquals(p, report.distribution().get(reward), 1e-12, "Probability of reward " + reward));
+    }
+
+    @Test
+    @DisplayName("Should refuse boards beyond the enumeration limit")
+    void shouldRefuseLargeEnumerations() {
+        assertThrows(IllegalArgumentException.class, () -> new ExactRtpCalculator(plan, 1_000));
+    }
+
+    private static Map<Double, Double> enumerateBoards(CompiledConfig plan, double betAmount) {
+        var evaluator = new BoardEvaluator(plan);
+        var result = new SpinResult(plan);
+        var board = result.board();
+        int cells = plan.cellCount();
+        var sampler = plan.cellSampler(0);
+        var bonuses = plan.bonusSampler();
+        double bonusProbability = SpinEngine.BONUS_SYMBOL_PROBABILITY;
+        var distribution = new HashMap<Double, Double>();
+
+        for (int draw = 0; draw < 1 << cells; draw++) {
+            double p = 1;
+            for (int cell = 0; cell < cells; cell++) {
+                board[cell] = sampler.symbol((draw >> cell) & 1);
+                p *= sampler.probability(board[cell]);
+            }
+            evaluator.evaluate(result);
+            distribution.merge(evaluator.calculateReward(result, betAmount), p * (1 - bonusProbability),
+                    Double::sum);
+            for (int cell = 0; cell < cells; cell++) {
+                int drawn = board[cell];
+                for (int k = 0; k < bonuses.size(); k++) {
+                    board[cell] = bonuses.symbol(k);
+                    evaluator.evaluate(result);
+                    double q = bonusProbability / cells * bonuses.probability(bonuses.symbol(k));
+                    distribution.merge(evaluator.calculateReward(result, betAmount), p * q, Double::sum);
+                }
+                board[cell] = drawn;
+            }
+        }
+        return distribution;
+    }
+
+    @Test
+    @DisplayName("Should treat a config without bonus symbols as never drawing one")
+    void shouldHandleConfigWithoutBonusSymbols() {
+        var standardOnly = new GameConfig(3, 3, config.symbols(),
+                new Probabilities(config.probabilities().standardSymbols(), new BonusSymbolProbability(Map.of())),
+                config.winCombinations());
+        var report = new ExactRtpCalculator(CompiledConfig.compile(standardOnly)).calculate(1.0);
+
+        var total = report.distribution().values().stream().mapToDouble(Double::doubleValue).sum();
+        assertEquals(1.0, total, 1e-9);
+        assertTrue(report.rtp() > 0);
+    }
+}
@@ -0,0 +1,71 @@
+package com.game.simulation;
+
+import com.game.config.ConfigLoader;
+import com.game.core.BoardEvaluator;
+import com.game.core.CompiledConfig;
+import com.game.core.SpinResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.nio.file.Path;
+
+class NearMissStatsTest {
+    private CompiledConfig plan;
+    private NearMissStats stats;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        plan = ConfigLoader.load(Path.of("config.json"));
+        stats = new NearMissStats(plan);
+        stats.record(evaluate(new String[][]{
+                {"A", "A", "B", "C"},
+                {"D", "E", "F", "D"},
+                {"B", "C", "E", "F"},
+                {"C", "D", "E", "F"}}));
+    }
+
+    @Test
+    @DisplayName("Should count symbols one short of a same_symbols count")
+    void shouldCountSameSymbolNearMisses() {
+        int three = plan.combinationId("same_symbol_3_times");
+        assertEquals(1, stats.combinationMisses(three));
+        assertEquals(1, stats.symbolMisses(three, plan.symbolId("A")), "A shows twice");
+        assertEquals(1, stats.symbolMisses(three, plan.symbolId("B")), "B shows twice");
+        assertEquals(0, stats.symbolMisses(three, plan.symbolId("C")), "C already has three");
+        assertEquals(1, stats.symbolMisses(plan.combinationId("same_symbol_4_times"), plan.symbolId("C")));
+        assertEquals(0, stats.combinationMisses(plan.combinationId("same_symbol_5_times")));
+    }
+
+    @Test
+    @DisplayName("Should count areas covered in all but one cell")
+    void shouldCountLinearNearMisses() {
+        int horizontal = plan.combinationId("same_symbols_horizontally");
+        assertEquals(1, stats.symbolMisses(horizontal, plan.symbolId("A")), "Top row is A A B");
+        assertEquals(0, stats.combinationMisses(plan.combinationId("same_symbols_vertically")));
+        assertEquals(1, stats.symbolMisses(plan.combinationId("same_symbols_diagonally_left_to_right"),
+                plan.symbolId("E")), "Diagonal is A E E");
+        assertEquals(1, stats.symbolMisses(plan.combinationId("same_symbols_diagonally_right_to_left"),
+                plan.symbolId("B")), "Anti-diagonal is B E B");
+    }
+
+    @Test
+    @DisplayName("Should build the heatmap and merge like the other accumulators")
+    void shouldMergeHeatmap() {
+        var other = new NearMissStats(plan);
+        other.merge(stats);
+        other.merge(stats);
+
+        assertEquals(2, other.spins());
+        assertEquals(2, other.cellHits(0, plan.symbolId("A")));
+        assertEquals(0, other.cellHits(0, plan.symbolId("B")));
+        assertEquals(2, other.combinationMisses(plan.combinationId("same_symbol_3_times")));
+    }
+
+    private SpinResult evaluate(String[][] matrix) {
+        var result = new SpinResult(plan);
+        result.load(matrix);
+        new BoardEvaluator(plan).evaluate(result, result.board(), 0);
+        return result;
+    }
+}
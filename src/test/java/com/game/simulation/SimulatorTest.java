@@ -0,0 +1,94 @@
+package com.game.simulation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.game.core.CompiledConfig;
+import com.game.core.OutcomeCache;
+import com.game.model.GameConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.nio.file.Path;
+
+class SimulatorTest {
+    private CompiledConfig plan;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        plan = CompiledConfig.compile(new ObjectMapper().readValue(Path.of("config.json").toFile(), GameConfig.class));
+    }
+
+    @Test
+    @DisplayName("Should reproduce the same report for the same seed")
+    void shouldReproduceSeededReport() {
+        var first = new Simulator(plan, 4, 42);
+        var second = new Simulator(plan, 4, 42);
+
+        var expected = first.report(first.run(20_000, 1.0));
+        var actual = second.report(second.run(20_000, 1.0));
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    @DisplayName("Should report the same results with a shared outcome cache")
+    void shouldMatchWithOutcomeCache() {
+        var plain = new Simulator(plan, 4, 42);
+        var cached = new Simulator(plan, 4, 42);
+        cached.outcomeCache(OutcomeCache.of(plan, 1 << 12));
+
+        assertEquals(plain.report(plain.run(20_000, 1.0)), cached.report(cached.run(20_000, 1.0)));
+    }
+
+    @Test
+    @DisplayName("Should report near misses inline without changing the other figures")
+    void shouldReportNearMisses() {
+        var plain = new Simulator(plan, 2, 9);
+        var tracked = new Simulator(plan, 2, 9);
+        tracked.nearMisses(true);
+
+        var expected = plain.report(plain.run(10_000, 1.0));
+        var report = tracked.report(tracked.run(10_000, 1.0));
+        assertNull(expected.nearMisses(), "Near misses are off by default");
+        assertEquals(expected.rtp(), report.rtp());
+        assertEquals(expected.combinationFrequency(), report.combinationFrequency());
+
+        var nearMisses = report.nearMisses();
+        assertEquals(plan.combinationCount(), nearMisses.combinations().size());
+        assertEquals(plan.cellCount(), nearMisses.cellHeatmap().size());
+        double cell = nearMisses.cellHeatmap().get("0:0").values().stream().mapToDouble(Double::doubleValue).sum();
+        assertEquals(1.0, cell, 1e-9, "Every spin puts one symbol on each cell");
+    }
+
+    @Test
+    @DisplayName("Should account for every spin across threads")
+    void shouldAccountForEverySpin() {
+        var simulator = new Simulator(plan, 3, 7);
+        var stats = simulator.run(10_001, 2.0);
+
+        assertEquals(10_001, stats.spins());
+        assertEquals(20_002.0, stats.totalBet(), 1e-9);
+        assertEquals(stats.totalReward() / stats.totalBet(), stats.rtp(), 1e-12);
+        assertTrue(stats.hitRate() > 0 && stats.hitRate() <= 1, "Hit rate should be a probability");
+        assertTrue(stats.variance() > 0, "Variance should be positive");
+    }
+
+    @Test
+    @DisplayName("Should merge variance as if accumulated in one pass")
+    void shouldMergeVariance() {
+        var single = new Simulator(plan, 1, 3).run(5_000, 1.0);
+        var split = new SimulationStats(plan);
+        split.merge(new Simulator(plan, 1, 3).run(5_000, 1.0));
+
+        assertEquals(single.variance(), split.variance(), 1e-9);
+        assertEquals(single.rtp(), split.rtp(), 1e-12);
+    }
+
+    @Test
+    @DisplayName("Should reject non-positive spin counts")
+    void shouldRejectNonPositiveSpins() {
+        var simulator = new Simulator(plan, 2);
+
+        assertThrows(IllegalArgumentException.class, () -> simulator.run(0, 1.0));
+    }
+}
@@ -0,0 +1,166 @@
+package com.game.simulation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.game.core.BoardEvaluator;
+import com.game.core.CompiledConfig;
+import com.game.core.SpinEngine;
+import com.game.core.SpinResult;
+import com.game.model.*;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.random.RandomGeneratorFactory;
+
+class TierSamplerTest {
+    private static CompiledConfig small;
+    // reward -> board (with its bonus, if any) -> probability, board by board
+    private static Map<Double, Map<Long, Double>> outcomes;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        // Two symbols on the shipped 4x4 board: 7 free cells around the 3x3 covered by lines
+        var config = new ObjectMapper().readValue(Path.of("config.json").toFile(), GameConfig.class);
+        small = CompiledConfig.compile(new GameConfig(4, 4, config.symbols(),
+                new Probabilities(List.of(new StandardSymbolProbability(0, 0, Map.of("A", 1, "B", 3))),
+                        config.probabilities().bonusSymbols()),
+                config.winCombinations()));
+        outcomes = enumerateBoards(small, 1.0);
+    }
+
+    @Test
+    @DisplayName("Should give every tier its exact probability and none to amounts never paid")
+    void shouldMatchTierProbabilities() {
+        var rewards = outcomes.keySet().stream().sorted().limit(5).mapToDouble(Double::doubleValue).toArray();
+        var withUnpaid = Arrays.copyOf(rewards, rewards.length + 1);
+        withUnpaid[rewards.length] = rewards[rewards.length - 1] + 0.001;
+        var sampler = new TierSampler(small, 1.0, withUnpaid);
+
+        for (int tier = 0; tier < rewards.length; tier++) {
+            double expected = outcomes.get(rewards[tier]).values().stream().mapToDouble(Double::doubleValue).sum();
+            assertEquals(expected, sampler.probability(tier), 1e-12, "Probability of " + rewards[tier]);
+        }
+        assertEquals(0, sampler.probability(rewards.length));
+        assertThrows(IllegalArgumentException.class,
+                () -> sampler.sample(new long[]{0, 0, 0, 0, 0, 1}, new SplittableRandom(1), (tier, result) -> {}));
+    }
+
+    @Test
+    @DisplayName("Should draw each board of a tier as often as play would")
+    void shouldDrawBoardsInProportion() {
+        // A tier of a few dozen boards, so every board's frequency can be checked
+        var tier = outcomes.entrySet().stream()
+                .filter(entry -> entry.getValue().size() >= 10 && entry.getValue().size() <= 60)
+                .max(Comparator.comparingDouble(entry -> entry.getValue().values().stream()
+                        .mapToDouble(Double::doubleValue).sum()))
+                .orElseThrow();
+        double total = tier.getValue().values().stream().mapToDouble(Double::doubleValue).sum();
+        var sampler = new TierSampler(small, 1.0, new double[]{tier.getKey()});
+
+        int draws = 40_000;
+        var counts = new HashMap<Long, Integer>();
+        sampler.sample(new long[]{draws}, RandomGeneratorFactory.of("L64X128MixRandom").create(3), (drawn, result) -> {
+            assertEquals(tier.getKey(), result.reward());
+            counts.merge(describe(result.board()), 1, Integer::sum);
+        });
+
+        assertEquals(draws, counts.values().stream().mapToInt(Integer::intValue).sum());
+        double distance = 0;
+        for (var board : tier.getValue().entrySet()) {
+            distance += Math.abs(counts.getOrDefault(board.getKey(), 0) / (double) draws - board.getValue() / total);
+        }
+        assertTrue(tier.getValue().keySet().containsAll(counts.keySet()), "Only boards paying the tier");
+        assertTrue(distance / 2 < 0.03, "Total variation from the exact distribution: " + distance / 2);
+    }
+
+    @Test
+    @DisplayName("Should reproduce a draw from the same random stream")
+    void shouldReproduceDraws() {
+        var rewards = outcomes.keySet().stream().sorted().limit(3).mapToDouble(Double::doubleValue).toArray();
+        var sampler = new TierSampler(small, 1.0, rewards);
+        var first = new ArrayList<Long>();
+        var second = new ArrayList<Long>();
+        sampler.sample(new long[]{50, 50, 50}, new SplittableRandom(8),
+                (tier, result) -> first.add(describe(result.board())));
+        sampler.sample(new long[]{50, 50, 50}, new SplittableRandom(8),
+                (tier, result) -> second.add(describe(result.board())));
+
+        assertEquals(150, first.size());
+        assertEquals(first, second);
+    }
+
+    @Test
+    @DisplayName("Should fill every quota when drawing in chunks")
+    void shouldDrawInChunks() {
+        var rewards = outcomes.keySet().stream().sorted().limit(4).mapToDouble(Double::doubleValue).toArray();
+        var sampler = new TierSampler(small, 1.0, rewards);
+        var quota = new long[]{37, 0, 12, 25};
+        var whole = new long[rewards.length];
+        var chunked = new long[rewards.length];
+        sampler.sample(quota, new SplittableRandom(5), (tier, result) -> whole[tier]++);
+        sampler.sample(quota, new SplittableRandom(5), (tier, result) -> {
+            assertEquals(rewards[tier], result.reward());
+            chunked[tier]++;
+        }, 7);
+
+        assertArrayEquals(quota, whole);
+        assertArrayEquals(quota, chunked);
+    }
+
+    @Test
+    @DisplayName("Should match amounts within the tolerance and refuse tiers closer than it")
+    void shouldMatchWithinTolerance() {
+        var rewards = new double[]{0.3, 5.0, 10_000.0};
+
+        assertEquals(0, TierSampler.tierOf(rewards, 0.1 + 0.2));
+        assertEquals(2, TierSampler.tierOf(rewards, 10_000.000_000_001));
+        assertEquals(-1, TierSampler.tierOf(rewards, 5.01));
+        assertThrows(IllegalArgumentException.class,
+                () -> new TierSampler(small, 1.0, new double[]{0.3, 0.1 + 0.2}));
+    }
+
+    // One digit per cell, so every board of the small config has its own key
+    private static long describe(int[] board) {
+        long key = 0;
+        for (var symbol : board) {
+            key = key * (small.symbolCount() + 1) + symbol + 1;
+        }
+        return key;
+    }
+
+    private static Map<Double, Map<Long, Double>> enumerateBoards(CompiledConfig plan, double betAmount) {
+        var evaluator = new BoardEvaluator(plan);
+        var result = new SpinResult(plan);
+        var board = result.board();
+        int cells = plan.cellCount();
+        var sampler = plan.cellSampler(0);
+        var bonuses = plan.bonusSampler();
+        double bonusProbability = SpinEngine.BONUS_SYMBOL_PROBABILITY;
+        var outcomes = new HashMap<Double, Map<Long, Double>>();
+
+        for (int draw = 0; draw < 1 << cells; draw++) {
+            double p = 1;
+            for (int cell = 0; cell < cells; cell++) {
+                board[cell] = sampler.symbol((draw >> cell) & 1);
+                p *= sampler.probability(board[cell]);
+            }
+            evaluator.evaluate(result);
+            outcomes.computeIfAbsent(evaluator.calculateReward(result, betAmount), reward -> new HashMap<>())
+                    .merge(describe(board), p * (1 - bonusProbability), Double::sum);
+            for (int cell = 0; cell < cells; cell++) {
+                int drawn = board[cell];
+                for (int k = 0; k < bonuses.size(); k++) {
+                    board[cell] = bonuses.symbol(k);
+                    evaluator.evaluate(result);
+                    double q = bonusProbability / cells * bonuses.probability(bonuses.symbol(k));
+                    outcomes.computeIfAbsent(evaluator.calculateReward(result, betAmount), reward -> new HashMap<>())
+                            .merge(describe(board), p * q, Double::sum);
+                }
+                board[cell] = drawn;
+            }
+        }
+        return outcomes;
+    }
+}
@@ -0,0 +1,87 @@
+package com.game.core;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link BoardCounter} on the incubating Vector API. A lane-width slice of the board is loaded once and
+ * compared against each standard symbol id in a single operation; the comparison mask, as bits, is the
+ * slice's part of that symbol's occupancy mask and its population count the symbol's count. The lane bits
+ * are {@code int}s, so they cover at most 32 lanes; wider species (a 2048-bit SVE one has 64 int lanes)
+ * are not {@link #supported} and play stays scalar there. Lane counts are powers of two, so a slice of at
+ * most 32 cells never straddles two mask words.
+ *
+ * <p>Only instantiated through {@link BoardCounter#vector}, which checks that the module is present and
+ * the species supported.
+ */
+final class VectorBoardCounter implements BoardCounter {
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+    // 1 << lane in every lane; OR-reducing the lanes a comparison selected gives its bit mask. Only
+    // meaningful up to 32 lanes, see supported()
+    private static final IntVector LANE_BITS = IntVector.broadcast(SPECIES, 1)
+            .lanewise(VectorOperators.LSHL, IntVector.zero(SPECIES).addIndex(1));
+    private static final IntVector NONE = IntVector.zero(SPECIES);
+
+    private final CompiledConfig plan;
+    private final int cells;
+    private final int standard;
+    private final int words;
+
+    VectorBoardCounter(CompiledConfig plan) {
+        this.plan = plan;
+        this.cells = plan.cellCount();
+        this.standard = plan.standardSymbolCount();
+        this.words = plan.maskWords();
+    }
+
+    /** Whether the preferred species has few enough lanes for {@code int} lane bits. */
+    static boolean supported() {
+        return SPECIES.length() <= Integer.SIZE;
+    }
+
+    @Override
+    public int count(int[] boards, int offset, int[] counts, long[] masks) {
+        int bonusSymbol = CompiledConfig.NO_SYMBOL;
+        int lanes = SPECIES.length();
+        int cell = 0;
+        // Whole slices only: masked loads and compares are not intrinsified on every JDK
+        for (; cell + lanes <= cells; cell += lanes) {
+            var slice = IntVector.fromArray(SPECIES, boards, offset + cell);
+            int word = cell >>> 6;
+            int shift = cell & 63;
+            for (int symbol = 0; symbol < standard; symbol++) {
+                long bits = bits(slice.eq(symbol));
+                counts[symbol] += Long.bitCount(bits);
+                masks[symbol * words + word] |= bits << shift;
+            }
+            if (bonusSymbol == CompiledConfig.NO_SYMBOL) {
+                // Only non-standard cells can hold a bonus symbol; check those few in cell order
+                long others = bits(slice.compare(VectorOperators.GE, standard));
+                for (; others != 0; others &= others - 1) {
+                    int symbol = boards[offset + cell + Long.numberOfTrailingZeros(others)];
+                    if (plan.isBonus(symbol)) {
+                        bonusSymbol = symbol;
+                        break;
+                    }
+                }
+            }
+        }
+        for (; cell < cells; cell++) {
+            int symbol = boards[offset + cell];
+            if (plan.isStandard(symbol)) {
+                counts[symbol]++;
+                masks[symbol * words + (cell >>> 6)] |= 1L << cell;
+            } else if (bonusSymbol == CompiledConfig.NO_SYMBOL && plan.isBonus(symbol)) {
+                bonusSymbol = symbol;
+            }
+        }
+        return bonusSymbol;
+    }
+
+    // VectorMask.toLong is not an intrinsic on older JDKs; a blend and an OR reduction are
+    private static long bits(VectorMask<Integer> lanes) {
+        return Integer.toUnsignedLong(NONE.blend(LANE_BITS, lanes).reduceLanes(VectorOperators.OR));
+    }
+}